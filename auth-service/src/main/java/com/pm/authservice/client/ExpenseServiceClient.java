@@ -0,0 +1,16 @@
+package com.pm.authservice.client;
+
+import com.pm.authservice.dto.request.ProfileSyncEventDto;
+import com.pm.authservice.security.ServiceTokenAuthenticationFilter;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+@FeignClient(name = "expense-service", url = "${expense.service.url:http://localhost:8083}")
+public interface ExpenseServiceClient {
+
+    @PostMapping("/api/v1/internal/users/profile-sync")
+    void syncProfile(@RequestHeader(ServiceTokenAuthenticationFilter.HEADER) String serviceToken,
+                     @RequestBody ProfileSyncEventDto event);
+}
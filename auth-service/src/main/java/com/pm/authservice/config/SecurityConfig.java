@@ -2,6 +2,8 @@ package com.pm.authservice.config;
 
 import com.pm.authservice.security.JwtAuthenticationEntryPoint;
 import com.pm.authservice.security.JwtAuthenticationFilter;
+import com.pm.authservice.security.ServiceTokenAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,6 +35,7 @@ public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ServiceTokenAuthenticationFilter serviceTokenAuthenticationFilter;
 
 
     @Bean
@@ -76,8 +79,11 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth ->
-                        auth.requestMatchers("/api/v1/auth/register",
+                        // Async re-dispatch of streamed responses was already authorized on the original request
+                        auth.dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                                .requestMatchers("/api/v1/auth/register",
                                         "/api/v1/auth/login",
+                                        "/api/v1/auth/refresh",
                                         "/api/v1/auth/verify-email/**",
                                         "/api/v1/auth/resend-verification/**",
                                         "/api/v1/auth/forgot-password",
@@ -87,6 +93,7 @@ public class SecurityConfig {
                                         "/actuator/info",
                                         "/actuator/**"
                                 ).permitAll()
+                                .requestMatchers("/api/v1/auth/internal/**").hasRole("SERVICE")
                                 .requestMatchers("/api/v1/auth/profile",
                                         "/api/v1/auth/change-password"
                                 ).authenticated()
@@ -95,6 +102,7 @@ public class SecurityConfig {
 
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(serviceTokenAuthenticationFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
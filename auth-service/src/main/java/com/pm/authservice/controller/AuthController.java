@@ -1,5 +1,7 @@
 package com.pm.authservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pm.authservice.dto.request.*;
 import com.pm.authservice.dto.response.ApiResponseDto;
 import com.pm.authservice.dto.response.AuthResponseDto;
@@ -13,12 +15,17 @@ import org.springframework.security.core.Authentication;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -26,6 +33,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class AuthController {
 
     private final AuthService authService;
+    private final ObjectMapper objectMapper;
 
     @Value("${app.frontend.url}")
     private String frontendUrl;
@@ -47,6 +55,12 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDto> refresh(@Valid @RequestBody RefreshTokenRequestDto request) {
+        AuthResponseDto response = authService.refreshToken(request.getRefreshToken());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/verify-email/{token}")
     public ResponseEntity<?> verifyEmail(@PathVariable String token) {
         try {
@@ -486,4 +500,29 @@ public class AuthController {
                             .build());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Service-to-service batch lookup (X-Service-Token). Users are read through a database cursor
+     * and written to the response as they arrive, so a large batch is never held in memory.
+     */
+    @PostMapping(value = "/internal/users/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getUsersBatch(@Valid @RequestBody UserBatchRequestDto request) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                authService.forEachUserById(request.getUserIds(), user -> {
+                    try {
+                        generator.writeObject(user);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,33 @@
+package com.pm.authservice.controller;
+
+import com.pm.authservice.dto.request.ProfileSyncEventDto;
+import com.pm.authservice.dto.response.ApiResponseDto;
+import com.pm.authservice.service.AuthService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Service-to-service endpoints, authenticated with the X-Service-Token header.
+ */
+@RestController
+@RequestMapping("/api/v1/auth/internal/users")
+@RequiredArgsConstructor
+public class InternalUserController {
+
+    private final AuthService authService;
+
+    @PostMapping("/profile-sync")
+    public ResponseEntity<ApiResponseDto> syncProfile(@Valid @RequestBody ProfileSyncEventDto event) {
+        boolean applied = authService.applyProfileEvent(event);
+
+        return ResponseEntity.ok(ApiResponseDto.builder()
+                .success(true)
+                .message(applied ? "Profile applied" : "Stale profile ignored")
+                .build());
+    }
+}
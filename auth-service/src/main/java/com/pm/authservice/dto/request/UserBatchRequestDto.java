@@ -0,0 +1,15 @@
+package com.pm.authservice.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UserBatchRequestDto {
+
+    @NotEmpty(message = "User IDs are required")
+    @Size(max = 1000, message = "At most 1000 user IDs per request")
+    private List<Long> userIds;
+}
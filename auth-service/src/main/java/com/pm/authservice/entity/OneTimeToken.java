@@ -0,0 +1,54 @@
+package com.pm.authservice.entity;
+
+import com.pm.authservice.enums.TokenPurpose;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-use email verification / password reset token. Only the SHA-256 of the token is stored,
+ * so lookups go through the unique hash index and a database leak does not expose usable links.
+ */
+@Entity
+@Table(name = "one_time_tokens", indexes = {
+        @Index(name = "uk_one_time_tokens_token_hash", columnList = "tokenHash", unique = true),
+        @Index(name = "idx_one_time_tokens_expires_at", columnList = "expiresAt"),
+        @Index(name = "idx_one_time_tokens_user_purpose", columnList = "user_id, purpose")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OneTimeToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TokenPurpose purpose;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public boolean isExpired() {
+        return expiresAt.isBefore(LocalDateTime.now());
+    }
+}
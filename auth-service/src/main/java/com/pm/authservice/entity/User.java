@@ -11,10 +11,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users", indexes = {
-        @Index(name = "idx_email", columnList = "email"),
-        @Index(name = "idx_verification_token", columnList = "verificationToken")
-})
+// Named so SchemaMigrationService can tell it apart from the generated name older schemas carry
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = "uk_users_email", columnNames = "email"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,7 +29,7 @@ public class User {
     @Column(nullable = false, length = 100)
     private String lastName;
 
-    @Column(nullable = false, unique = true, length = 255)
+    @Column(nullable = false, length = 255)
     private String email;
 
     @Column(nullable = false)
@@ -53,20 +51,17 @@ public class User {
     @Builder.Default
     private Boolean isCredentialsNonExpired = true;
 
-    private String verificationToken;
-
-    private LocalDateTime verificationTokenExpiry;
-
-    private String passwordResetToken;
-
-    private LocalDateTime passwordResetTokenExpiry;
-
     @Column(nullable = false)
     @Builder.Default
     private Integer failedLoginAttempts = 0;
 
     private LocalDateTime lockTime;
 
+    // Version of the last profile change, shared with expense-service (see OutboxService.nextVersion)
+    @Column(columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Long profileVersion = 0L;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,6 @@
+package com.pm.authservice.enums;
+
+public enum TokenPurpose {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
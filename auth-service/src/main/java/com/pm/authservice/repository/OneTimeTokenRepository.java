@@ -0,0 +1,32 @@
+package com.pm.authservice.repository;
+
+import com.pm.authservice.entity.OneTimeToken;
+import com.pm.authservice.enums.TokenPurpose;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface OneTimeTokenRepository extends JpaRepository<OneTimeToken, Long> {
+
+    @Query("SELECT t FROM OneTimeToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash AND t.purpose = :purpose")
+    Optional<OneTimeToken> findByTokenHashAndPurpose(@Param("tokenHash") String tokenHash,
+                                                     @Param("purpose") TokenPurpose purpose);
+
+    @Modifying
+    @Query("DELETE FROM OneTimeToken t WHERE t.user.id = :userId AND t.purpose = :purpose")
+    int deleteByUserIdAndPurpose(@Param("userId") Long userId, @Param("purpose") TokenPurpose purpose);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM one_time_tokens WHERE id IN (" +
+            "SELECT id FROM one_time_tokens WHERE expires_at < :now ORDER BY expires_at LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
@@ -1,27 +1,41 @@
 package com.pm.authservice.repository;
 
 import com.pm.authservice.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Optional<User> findByEmailIgnoreCase(String email);
+    // Emails are stored lower-cased and trimmed, so normalising the argument keeps this an
+    // equality probe on the unique email index instead of upper(email) = upper(?) over every row.
+    @Query("SELECT u FROM User u WHERE u.email = lower(trim(:email))")
+    Optional<User> findByNormalizedEmail(@Param("email") String email);
 
-    Optional<User> findByVerificationToken(String verificationToken);
+    // Fetch size makes the driver read through a cursor instead of loading the whole result
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT u FROM User u WHERE u.id IN :ids")
+    Stream<User> streamByIdIn(@Param("ids") Collection<Long> ids);
 
-    Optional<User> findByPasswordResetToken(String passwordResetToken);
-
-    boolean existsByEmailIgnoreCase(String email);
-
-    
+    // Conditional on the version so a stale or duplicate event can never overwrite a newer profile
+    @Modifying
+    @Query("UPDATE User u SET u.firstName = :firstName, u.lastName = :lastName, u.profileVersion = :version, " +
+            "u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId AND u.profileVersion < :version")
+    int applyProfileIfNewer(@Param("userId") Long userId,
+                            @Param("firstName") String firstName,
+                            @Param("lastName") String lastName,
+                            @Param("version") long version);
 
     @Modifying
     @Query("UPDATE User u SET u.failedLoginAttempts = :attempts, u.lockTime = :lockTime WHERE u.email = :email")
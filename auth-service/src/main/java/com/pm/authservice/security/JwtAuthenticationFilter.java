@@ -34,7 +34,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
+            // Only access tokens are bearer credentials; refresh tokens are accepted by /refresh alone
+            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)
+                    && "ACCESS".equals(jwtUtil.getTokenType(jwt))) {
                 String email = jwtUtil.getEmailFromToken(jwt);
 
                 UserDetails userDetails = userDetailsService.loadUserByUsername(email);
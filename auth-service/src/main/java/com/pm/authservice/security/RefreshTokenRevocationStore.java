@@ -0,0 +1,48 @@
+package com.pm.authservice.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of consumed refresh token ids (the JWT "jti").
+ * Each entry is a UUID plus the token's expiry in epoch seconds, and is dropped once the
+ * token would have expired anyway, so the store only ever holds tokens still inside their 7-day window.
+ */
+@Slf4j
+@Component
+public class RefreshTokenRevocationStore {
+
+    private final Map<UUID, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Marks the token id as used. Returns false if it had already been revoked, which means the
+     * refresh token is being replayed.
+     */
+    public boolean revoke(String tokenId, long expiresAtEpochSecond) {
+        return revokedTokens.putIfAbsent(UUID.fromString(tokenId), expiresAtEpochSecond) == null;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return revokedTokens.containsKey(UUID.fromString(tokenId));
+    }
+
+    public int size() {
+        return revokedTokens.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis() / 1000;
+        int before = revokedTokens.size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        int purged = before - revokedTokens.size();
+        if (purged > 0) {
+            log.debug("Purged {} expired refresh token ids from revocation store", purged);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.pm.authservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+/**
+ * Authenticates service-to-service calls on /api/v1/auth/internal/** using a shared secret header.
+ */
+@Slf4j
+@Component
+public class ServiceTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Service-Token";
+    public static final String INTERNAL_PATH_PREFIX = "/api/v1/auth/internal/";
+
+    private final byte[] expectedToken;
+
+    public ServiceTokenAuthenticationFilter(@Value("${app.internal.service-token:}") String serviceToken) {
+        this.expectedToken = serviceToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(INTERNAL_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String token = request.getHeader(HEADER);
+
+        if (expectedToken.length > 0 && StringUtils.hasText(token)
+                && MessageDigest.isEqual(expectedToken, token.getBytes(StandardCharsets.UTF_8))) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    "internal-service", null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_SERVICE")));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        } else {
+            log.warn("Rejected internal call to {} without a valid service token", request.getRequestURI());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
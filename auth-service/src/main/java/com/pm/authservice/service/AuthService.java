@@ -1,22 +1,31 @@
 package com.pm.authservice.service;
 
 import com.pm.authservice.dto.request.ChangePasswordDto;
+import com.pm.authservice.dto.request.ProfileSyncEventDto;
 import com.pm.authservice.dto.request.UpdateUserProfileDto;
 import com.pm.authservice.repository.UserRepository;
 import com.pm.authservice.dto.request.LoginRequestDto;
 import com.pm.authservice.dto.request.RegisterRequestDto;
 import com.pm.authservice.dto.response.AuthResponseDto;
 import com.pm.authservice.dto.response.UserInfoDto;
+import com.pm.authservice.entity.OneTimeToken;
 import com.pm.authservice.entity.User;
+import com.pm.authservice.enums.TokenPurpose;
 import com.pm.authservice.exception.AccountLockedException;
 import com.pm.authservice.exception.AccountNotVerifiedException;
 import com.pm.authservice.exception.BadRequestException;
+import com.pm.authservice.exception.InvalidTokenException;
 import com.pm.authservice.exception.ResourceNotFoundException;
+import com.pm.authservice.security.RefreshTokenRevocationStore;
 import com.pm.authservice.security.UserPrincipal;
 import com.pm.authservice.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -26,9 +35,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -40,10 +54,15 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final RefreshTokenRevocationStore refreshTokenRevocationStore;
+    private final OneTimeTokenService oneTimeTokenService;
+    private final OutboxService outboxService;
 
     private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final int LOCK_TIME_DURATION = 30; // minutes
-    private static final int PASSWORD_RESET_TOKEN_EXPIRY_HOURS = 1; // 1 hour expiry
+    private static final Duration VERIFICATION_TOKEN_VALIDITY = Duration.ofHours(24);
+    private static final Duration PASSWORD_RESET_TOKEN_VALIDITY = Duration.ofHours(1);
+    private static final String UNIQUE_VIOLATION = "23505";
 
     @Transactional
     public void register(@Valid RegisterRequestDto request) {
@@ -54,15 +73,6 @@ public class AuthService {
             throw new BadRequestException("Password and confirm password do not match");
         }
 
-        // Check if user already exists
-        if (userRepository.existsByEmailIgnoreCase(request.getEmail())) {
-            throw new BadRequestException("User with this email already exists");
-        }
-
-        // Create verification token
-        String verificationToken = UUID.randomUUID().toString();
-        LocalDateTime tokenExpiry = LocalDateTime.now().plusHours(24);
-
         // Create user entity
         User user = User.builder()
                 .firstName(request.getFirstName().trim())
@@ -70,11 +80,22 @@ public class AuthService {
                 .email(request.getEmail().toLowerCase().trim())
                 .password(passwordEncoder.encode(request.getPassword()))
                 .isEnabled(false)
-                .verificationToken(verificationToken)
-                .verificationTokenExpiry(tokenExpiry)
                 .build();
 
-        User savedUser = userRepository.save(user);
+        // Single insert: the unique index on lower(email) is the duplicate check
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (isUniqueViolation(ex)) {
+                throw new BadRequestException("User with this email already exists");
+            }
+            throw ex;
+        }
+
+        // Create verification token
+        String verificationToken = oneTimeTokenService.issue(
+                savedUser, TokenPurpose.EMAIL_VERIFICATION, VERIFICATION_TOKEN_VALIDITY);
 
         // Send verification email
         emailService.sendVerificationEmail(
@@ -93,7 +114,7 @@ public class AuthService {
         String email = request.getEmail().toLowerCase().trim();
 
         // Check if user exists
-        User user = userRepository.findByEmailIgnoreCase(email)
+        User user = userRepository.findByNormalizedEmail(email)
                 .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
 
         // Check if account is locked
@@ -162,26 +183,78 @@ public class AuthService {
         }
     }
 
+    /**
+     * Exchanges a refresh token for a new access/refresh pair. The presented token is revoked
+     * (rotation), so a replayed refresh token is rejected. No password check is involved; the only
+     * database access is the primary-key lookup that confirms the account is still active.
+     */
+    @Transactional(readOnly = true)
+    public AuthResponseDto refreshToken(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Rejected refresh token: {}", e.getMessage());
+            throw new InvalidTokenException("Invalid or expired refresh token");
+        }
+
+        if (!"REFRESH".equals(claims.get("type", String.class)) || claims.getId() == null) {
+            throw new InvalidTokenException("Invalid or expired refresh token");
+        }
+
+        if (!refreshTokenRevocationStore.revoke(claims.getId(), claims.getExpiration().toInstant().getEpochSecond())) {
+            log.warn("Refresh token reuse detected for user: {}", claims.getSubject());
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+
+        Long userId = claims.get("userId", Long.class);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new InvalidTokenException("Invalid or expired refresh token"));
+
+        UserPrincipal userPrincipal = UserPrincipal.create(user);
+        if (!userPrincipal.isEnabled() || !userPrincipal.isAccountNonLocked()) {
+            throw new InvalidTokenException("Account is not active");
+        }
+
+        return AuthResponseDto.builder()
+                .accessToken(jwtUtil.generateAccessToken(userPrincipal))
+                .refreshToken(jwtUtil.generateRefreshToken(userPrincipal))
+                .tokenType("Bearer")
+                .expiresIn(jwtUtil.getAccessTokenExpirationMs())
+                .user(UserInfoDto.builder()
+                        .id(user.getId())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .email(user.getEmail())
+                        .isEnabled(user.getIsEnabled())
+                        .createdAt(user.getCreatedAt())
+                        .lastLoginAt(user.getLastLoginAt())
+                        .build())
+                .issuedAt(LocalDateTime.now())
+                .build();
+    }
+
     @Transactional
     public void verifyEmail(String token) {
         log.info("Attempting to verify email with token: {}", token);
 
-        User user = userRepository.findByVerificationToken(token)
+        OneTimeToken verificationToken = oneTimeTokenService.find(token, TokenPurpose.EMAIL_VERIFICATION)
                 .orElseThrow(() -> new BadRequestException("Invalid verification token"));
 
-        if (user.getVerificationTokenExpiry().isBefore(LocalDateTime.now())) {
+        if (verificationToken.isExpired()) {
             throw new BadRequestException("Verification token has expired");
         }
 
+        User user = verificationToken.getUser();
+
         if (user.getIsEnabled()) {
             throw new BadRequestException("Account is already verified");
         }
 
         user.setIsEnabled(true);
-        user.setVerificationToken(null);
-        user.setVerificationTokenExpiry(null);
 
         userRepository.save(user);
+        oneTimeTokenService.consume(verificationToken);
 
         // Send welcome email
         emailService.sendWelcomeEmail(user.getEmail(), user.getFirstName());
@@ -193,21 +266,16 @@ public class AuthService {
     public void resendVerificationEmail(String email) {
         log.info("Attempting to resend verification email to: {}", email);
 
-        User user = userRepository.findByEmailIgnoreCase(email)
+        User user = userRepository.findByNormalizedEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
 
         if (user.getIsEnabled()) {
             throw new BadRequestException("Account is already verified");
         }
 
-        // Generate new verification token
-        String verificationToken = UUID.randomUUID().toString();
-        LocalDateTime tokenExpiry = LocalDateTime.now().plusHours(24);
-
-        user.setVerificationToken(verificationToken);
-        user.setVerificationTokenExpiry(tokenExpiry);
-
-        userRepository.save(user);
+        // Generate new verification token (invalidates the previous one)
+        String verificationToken = oneTimeTokenService.issue(
+                user, TokenPurpose.EMAIL_VERIFICATION, VERIFICATION_TOKEN_VALIDITY);
 
         // Send verification email
         emailService.sendVerificationEmail(
@@ -224,7 +292,7 @@ public class AuthService {
     public void forgotPassword(String email) {
         log.info("Processing forgot password request for email: {}", email);
 
-        Optional<User> userOptional = userRepository.findByEmailIgnoreCase(email);
+        Optional<User> userOptional = userRepository.findByNormalizedEmail(email);
 
         if (userOptional.isEmpty()) {
             log.warn("Forgot password requested for non-existent email: {}", email);
@@ -242,14 +310,9 @@ public class AuthService {
             return;
         }
 
-        // Generate reset token
-        String resetToken = UUID.randomUUID().toString();
-        LocalDateTime expiryTime = LocalDateTime.now().plusHours(PASSWORD_RESET_TOKEN_EXPIRY_HOURS);
-
-        // Update user with reset token
-        user.setPasswordResetToken(resetToken);
-        user.setPasswordResetTokenExpiry(expiryTime);
-        userRepository.save(user);
+        // Generate reset token (invalidates any earlier reset link)
+        String resetToken = oneTimeTokenService.issue(
+                user, TokenPurpose.PASSWORD_RESET, PASSWORD_RESET_TOKEN_VALIDITY);
 
         // Send reset email
         emailService.sendPasswordResetEmail(user.getEmail(), user.getFirstName(), resetToken);
@@ -261,22 +324,22 @@ public class AuthService {
     public boolean validatePasswordResetToken(String token) {
         log.info("Validating password reset token: {}", token);
 
-        Optional<User> userOptional = userRepository.findByPasswordResetToken(token);
+        Optional<OneTimeToken> tokenOptional = oneTimeTokenService.find(token, TokenPurpose.PASSWORD_RESET);
 
-        if (userOptional.isEmpty()) {
+        if (tokenOptional.isEmpty()) {
             log.warn("Invalid password reset token: {}", token);
             return false;
         }
 
-        User user = userOptional.get();
+        OneTimeToken resetToken = tokenOptional.get();
 
         // Check if token is expired
-        if (user.getPasswordResetTokenExpiry().isBefore(LocalDateTime.now())) {
-            log.warn("Expired password reset token for user: {}", user.getEmail());
+        if (resetToken.isExpired()) {
+            log.warn("Expired password reset token for user: {}", resetToken.getUser().getEmail());
             return false;
         }
 
-        log.info("Valid password reset token for user: {}", user.getEmail());
+        log.info("Valid password reset token for user: {}", resetToken.getUser().getEmail());
         return true;
     }
 
@@ -285,26 +348,19 @@ public class AuthService {
     public void resetPassword(String token, String newPassword) {
         log.info("Attempting password reset with token: {}", token);
 
-        Optional<User> userOptional = userRepository.findByPasswordResetToken(token);
+        OneTimeToken resetToken = oneTimeTokenService.find(token, TokenPurpose.PASSWORD_RESET)
+                .orElseThrow(() -> new BadRequestException("Invalid reset token"));
 
-        if (userOptional.isEmpty()) {
-            throw new BadRequestException("Invalid reset token");
-        }
-
-        User user = userOptional.get();
+        User user = resetToken.getUser();
 
         // Check if token is expired
-        if (user.getPasswordResetTokenExpiry().isBefore(LocalDateTime.now())) {
+        if (resetToken.isExpired()) {
             throw new BadRequestException("Reset token has expired. Please request a new password reset.");
         }
 
         // Update password
         user.setPassword(passwordEncoder.encode(newPassword));
 
-        // Clear reset token
-        user.setPasswordResetToken(null);
-        user.setPasswordResetTokenExpiry(null);
-
         // Reset failed login attempts and unlock account
         user.setFailedLoginAttempts(0);
         user.setLockTime(null);
@@ -314,9 +370,20 @@ public class AuthService {
 
         userRepository.save(user);
 
+        // Reset links are single use
+        oneTimeTokenService.consume(resetToken);
+
         log.info("Password reset successful for user: {}", user.getEmail());
     }
 
+    // Only used around the users insert: email is the only unique column a new row can collide on
+    // (id is generated), so any unique violation there is a duplicate email, whatever the
+    // constraint is called in this particular schema.
+    private boolean isUniqueViolation(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException violation
+                && UNIQUE_VIOLATION.equals(violation.getSQLState());
+    }
+
     private boolean isAccountLocked(User user) {
         if (user.getLockTime() == null) {
             return false;
@@ -355,6 +422,9 @@ public class AuthService {
         user.setLastName(dto.getLastName().trim());
         user.setUpdatedAt(LocalDateTime.now());
 
+        // Replicated to expense-service by OutboxRelay after commit
+        outboxService.recordProfileChange(user);
+
         User updatedUser = userRepository.save(user);
 
         log.info("Profile updated successfully for user: {}", updatedUser.getEmail());
@@ -370,6 +440,50 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Batch lookup for other services: the distinct ids are read with one IN query through a
+     * cursor and passed to the consumer one by one inside the read-only transaction. Unknown ids
+     * are simply absent from the result.
+     */
+    @Transactional(readOnly = true)
+    public void forEachUserById(Collection<Long> userIds, Consumer<UserInfoDto> consumer) {
+        Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            return;
+        }
+
+        try (Stream<User> users = userRepository.streamByIdIn(distinctIds)) {
+            users.forEach(user -> consumer.accept(UserInfoDto.builder()
+                    .id(user.getId())
+                    .firstName(user.getFirstName())
+                    .lastName(user.getLastName())
+                    .email(user.getEmail())
+                    .isEnabled(user.getIsEnabled())
+                    .createdAt(user.getCreatedAt())
+                    .lastLoginAt(user.getLastLoginAt())
+                    .build()));
+        }
+    }
+
+    /**
+     * Applies a profile change made in expense-service if it is newer than the stored one.
+     * Email is owned by auth-service and is not taken from the event.
+     */
+    @Transactional
+    public boolean applyProfileEvent(ProfileSyncEventDto event) {
+        int updated = userRepository.applyProfileIfNewer(event.getUserId(),
+                event.getFirstName().trim(), event.getLastName().trim(), event.getVersion());
+
+        if (updated == 0) {
+            log.debug("Ignoring stale profile version {} for user {}", event.getVersion(), event.getUserId());
+            return false;
+        }
+
+        log.info("Applied profile version {} for user {}", event.getVersion(), event.getUserId());
+        return true;
+    }
+
     @Transactional
     public void changePassword(Long userId, ChangePasswordDto dto) {
         log.info("Changing password for user ID: {}", userId);
@@ -0,0 +1,79 @@
+package com.pm.authservice.service;
+
+import com.pm.authservice.entity.OneTimeToken;
+import com.pm.authservice.entity.User;
+import com.pm.authservice.enums.TokenPurpose;
+import com.pm.authservice.repository.OneTimeTokenRepository;
+import com.pm.authservice.util.TokenHasher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OneTimeTokenService {
+
+    private final OneTimeTokenRepository oneTimeTokenRepository;
+
+    @Value("${app.tokens.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
+    /**
+     * Issues a new token for the user and invalidates any earlier token with the same purpose.
+     * Returns the raw token for the email link; only its hash is persisted.
+     */
+    @Transactional
+    public String issue(User user, TokenPurpose purpose, Duration validity) {
+        oneTimeTokenRepository.deleteByUserIdAndPurpose(user.getId(), purpose);
+
+        String rawToken = UUID.randomUUID().toString();
+        oneTimeTokenRepository.save(OneTimeToken.builder()
+                .tokenHash(TokenHasher.sha256Hex(rawToken))
+                .purpose(purpose)
+                .user(user)
+                .expiresAt(LocalDateTime.now().plus(validity))
+                .build());
+
+        return rawToken;
+    }
+
+    /**
+     * Looks the token up by its hash (unique index) with the owning user fetched in the same query.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OneTimeToken> find(String rawToken, TokenPurpose purpose) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+        return oneTimeTokenRepository.findByTokenHashAndPurpose(TokenHasher.sha256Hex(rawToken), purpose);
+    }
+
+    @Transactional
+    public void consume(OneTimeToken token) {
+        oneTimeTokenRepository.delete(token);
+    }
+
+    @Scheduled(cron = "${app.tokens.purge-cron:0 15 * * * *}")
+    public void purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = oneTimeTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (total > 0) {
+            log.info("Purged {} expired one-time tokens", total);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.pm.authservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.authservice.dto.request.ProfileSyncEventDto;
+import com.pm.authservice.entity.OutboxEvent;
+import com.pm.authservice.entity.User;
+import com.pm.authservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String PROFILE_UPDATED = "USER_PROFILE_UPDATED";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Bumps the user's profile version and records the change for the relay. Must run in the
+     * transaction that saves the user so the event and the change commit (or roll back) together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProfileChange(User user) {
+        user.setProfileVersion(nextVersion(user.getProfileVersion()));
+
+        ProfileSyncEventDto event = ProfileSyncEventDto.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .version(user.getProfileVersion())
+                .build();
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(PROFILE_UPDATED)
+                .aggregateId(user.getId())
+                .payload(toJson(event))
+                .build());
+    }
+
+    /**
+     * Versions are wall-clock millis, bumped past the current value if the clock is behind, so
+     * writes made in either service are comparable and the latest one wins.
+     */
+    static long nextVersion(Long current) {
+        long base = current != null ? current : 0L;
+        return Math.max(base + 1, System.currentTimeMillis());
+    }
+
+    private String toJson(ProfileSyncEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize profile event", e);
+        }
+    }
+}
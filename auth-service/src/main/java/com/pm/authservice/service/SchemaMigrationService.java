@@ -0,0 +1,142 @@
+package com.pm.authservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Schema changes that ddl-auto cannot make: it adds tables, columns and declared indexes, but
+ * never rewrites data, drops what the entities no longer map, or creates expression indexes.
+ * Liquibase is disabled in this service, so these run here, on every start of every instance.
+ * Each step is idempotent and logs instead of failing startup.
+ *
+ * Turn it off with app.schema.migrate-on-startup=false (tests running on H2 do).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchemaMigrationService {
+
+    static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.schema.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        run("drop legacy email constraints", this::dropLegacyEmailConstraints);
+        run("case-insensitive email index", this::indexLowerEmail);
+        run("move tokens to one_time_tokens", this::migrateLegacyTokens);
+        run("pending outbox index", this::indexPendingOutboxEvents);
+    }
+
+    /**
+     * Schemas created before the entity named its constraint carry a Hibernate-generated one on
+     * users.email; ddl-auto adds uk_users_email next to it, leaving two unique indexes. Keeps the
+     * named one (renaming the legacy one if it is missing) and drops the rest.
+     */
+    void dropLegacyEmailConstraints() {
+        List<String> legacy = jdbcTemplate.queryForList("SELECT c.conname FROM pg_constraint c "
+                        + "JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1] "
+                        + "WHERE c.conrelid = 'users'::regclass AND c.contype = 'u' "
+                        + "AND cardinality(c.conkey) = 1 AND a.attname = 'email' AND c.conname <> ?",
+                String.class, EMAIL_CONSTRAINT);
+        if (legacy.isEmpty()) {
+            return;
+        }
+
+        Boolean named = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_constraint "
+                + "WHERE conrelid = 'users'::regclass AND conname = ?)", Boolean.class, EMAIL_CONSTRAINT);
+        int first = 0;
+        if (!Boolean.TRUE.equals(named)) {
+            jdbcTemplate.execute("ALTER TABLE users RENAME CONSTRAINT \"" + legacy.get(0) + "\" TO " + EMAIL_CONSTRAINT);
+            log.info("Renamed constraint {} on users.email to {}", legacy.get(0), EMAIL_CONSTRAINT);
+            first = 1;
+        }
+        for (String constraint : legacy.subList(first, legacy.size())) {
+            jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT \"" + constraint + "\"");
+            log.info("Dropped constraint {} on users.email, superseded by {}", constraint, EMAIL_CONSTRAINT);
+        }
+    }
+
+    /**
+     * Stores emails lower-cased and trimmed and makes them unique regardless of case. If two
+     * accounts differ only by case the update fails and is logged; merge them by hand and restart.
+     */
+    void indexLowerEmail() {
+        int normalized = jdbcTemplate.update("UPDATE users SET email = lower(trim(email)) WHERE email <> lower(trim(email))");
+        if (normalized > 0) {
+            log.info("Normalised {} stored emails to lower case", normalized);
+        }
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email_lower ON users (lower(email))");
+        // Older entity versions declared a plain index on email; the unique constraint's index covers it
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_email");
+    }
+
+    /**
+     * Tokens used to sit in plain text on users. Outstanding ones are copied into one_time_tokens
+     * as SHA-256 hashes (same encoding as TokenHasher) so links already emailed keep working, then
+     * the old columns are dropped. Expired tokens are not carried over.
+     */
+    void migrateLegacyTokens() {
+        if (!columnExists("users", "verification_token")) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            int verification = jdbcTemplate.update("INSERT INTO one_time_tokens (token_hash, purpose, user_id, expires_at, created_at) "
+                    + "SELECT encode(sha256(convert_to(verification_token, 'UTF8')), 'hex'), 'EMAIL_VERIFICATION', id, "
+                    + "verification_token_expiry, now() FROM users "
+                    + "WHERE verification_token IS NOT NULL AND verification_token_expiry > now() "
+                    + "ON CONFLICT (token_hash) DO NOTHING");
+            int reset = jdbcTemplate.update("INSERT INTO one_time_tokens (token_hash, purpose, user_id, expires_at, created_at) "
+                    + "SELECT encode(sha256(convert_to(password_reset_token, 'UTF8')), 'hex'), 'PASSWORD_RESET', id, "
+                    + "password_reset_token_expiry, now() FROM users "
+                    + "WHERE password_reset_token IS NOT NULL AND password_reset_token_expiry > now() "
+                    + "ON CONFLICT (token_hash) DO NOTHING");
+
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_verification_token");
+            jdbcTemplate.execute("ALTER TABLE users DROP COLUMN verification_token, "
+                    + "DROP COLUMN IF EXISTS verification_token_expiry, "
+                    + "DROP COLUMN IF EXISTS password_reset_token, "
+                    + "DROP COLUMN IF EXISTS password_reset_token_expiry");
+            log.info("Moved {} verification and {} password reset tokens to one_time_tokens", verification, reset);
+        });
+    }
+
+    /**
+     * The relay polls for events that are neither published nor failed, in id order; a partial
+     * index keeps that scan to the handful of live rows however many published ones are retained.
+     */
+    void indexPendingOutboxEvents() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events (id) "
+                + "WHERE published_at IS NULL AND failed_at IS NULL");
+    }
+
+    private boolean columnExists(String table, String column) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM information_schema.columns "
+                + "WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?)",
+                Boolean.class, table, column);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private void run(String step, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.error("Schema migration step '{}' failed: {}", step, e.getMessage());
+        }
+    }
+}
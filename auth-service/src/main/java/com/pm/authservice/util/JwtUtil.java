@@ -3,6 +3,10 @@ package com.pm.authservice.util;
 import com.pm.authservice.security.UserPrincipal;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -13,11 +17,17 @@ import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.UUID;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
+    private static final String VERIFICATION_TIMER = "jwt.verification";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
@@ -27,19 +37,52 @@ public class JwtUtil {
     @Value("${app.jwt.refresh-token-expiration-days:7}")
     private int refreshTokenExpirationDays;
 
-    private SecretKey getSigningKey() {
+    private SecretKey signingKey;
+
+    @PostConstruct
+    void initSigningKey() {
         // Ensure the secret key is properly sized for HS256 (minimum 256 bits / 32 bytes)
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < 32) {
             // If secret is too short, pad it or throw an error
             throw new IllegalArgumentException("JWT secret key must be at least 32 characters long for HS256");
         }
-        return Keys.hmacShaKeyFor(keyBytes);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+    }
+
+    private SecretKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Single timed signature/expiry check behind every verification path.
+     */
+    private Jws<Claims> verify(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            Jws<Claims> jws = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token);
+            outcome = "valid";
+            return jws;
+        } catch (ExpiredJwtException ex) {
+            outcome = "expired";
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(VERIFICATION_TIMER)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
     }
 
     public String generateAccessToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return generateAccessToken((UserPrincipal) authentication.getPrincipal());
+    }
 
+    public String generateAccessToken(UserPrincipal userPrincipal) {
         Instant now = Instant.now();
         Instant expiry = now.plus(accessTokenExpirationMinutes, ChronoUnit.MINUTES);
 
@@ -50,18 +93,23 @@ public class JwtUtil {
                 .claim("userId", userPrincipal.getId())
                 .claim("email", userPrincipal.getEmail())
                 .claim("fullName", userPrincipal.getFullName())
+                .claim("firstName", userPrincipal.getFirstName())
+                .claim("lastName", userPrincipal.getLastName())
                 .claim("type", "ACCESS")
                 .signWith(getSigningKey(), Jwts.SIG.HS256)
                 .compact();
     }
 
     public String generateRefreshToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return generateRefreshToken((UserPrincipal) authentication.getPrincipal());
+    }
 
+    public String generateRefreshToken(UserPrincipal userPrincipal) {
         Instant now = Instant.now();
         Instant expiry = now.plus(refreshTokenExpirationDays, ChronoUnit.DAYS);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userPrincipal.getEmail())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiry))
@@ -71,6 +119,13 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry and returns the claims in a single parse.
+     */
+    public Claims parseClaims(String token) {
+        return verify(token).getPayload();
+    }
+
     public String getEmailFromToken(String token) {
         try {
             Claims claims = Jwts.parser()
@@ -103,10 +158,7 @@ public class JwtUtil {
 
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
+            verify(authToken);
             return true;
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature: {}", ex.getMessage());
@@ -0,0 +1,47 @@
+package com.pm.authservice.util;
+
+/**
+ * Per-thread tally of JDBC statements and their total execution time, opened for the
+ * duration of one HTTP request by {@code SqlStatementFilter}. Statements executed on
+ * other threads (async work, schedulers) are not attributed to the request.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statementCount;
+    private long elapsedMillis;
+
+    private SqlStatementStats() {
+    }
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    static void record(long elapsedMillis) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statementCount++;
+            stats.elapsedMillis += elapsedMillis;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,78 @@
+package com.pm.authservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-message render cost of the email templates used by EmailService.
+ * The engine is configured like Spring Boot's default (SpEL expressions, classpath templates/, cache on),
+ * so each invocation only evaluates the per-user variables against the cached template.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.mainClass=com.pm.authservice.benchmark.EmailTemplateBenchmark
+ * -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private TemplateEngine templateEngine;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+    }
+
+    @Benchmark
+    public String verificationEmail() {
+        return render("email/verification", "http://localhost:8084/api/v1/auth/verify-email/3f1c2a9e-7b4d-4e0a-9c1f-2d6b8e5a7c30");
+    }
+
+    @Benchmark
+    public String passwordResetEmail() {
+        return render("email/password-reset", "http://localhost:3000/reset-password?token=3f1c2a9e-7b4d-4e0a-9c1f-2d6b8e5a7c30");
+    }
+
+    @Benchmark
+    public String welcomeEmail() {
+        return render("email/welcome", "http://localhost:3000/login");
+    }
+
+    private String render(String templateName, String actionUrl) {
+        Context context = new Context(Locale.ENGLISH);
+        context.setVariable("firstName", "Jane");
+        context.setVariable("actionUrl", actionUrl);
+        context.setVariable("supportEmail", "noreply@pm-system.com");
+        return templateEngine.process(templateName, context);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,144 @@
+package com.pm.authservice.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.authservice.entity.User;
+import com.pm.authservice.repository.UserRepository;
+import com.pm.authservice.service.EmailService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static com.pm.authservice.util.SqlStatementAssertions.maxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private EmailService emailService;
+
+    @Test
+    void registeringTheSameEmailTwiceIsRejected() throws Exception {
+        mockMvc.perform(register("duplicate@example.com")).andExpect(status().isCreated());
+
+        mockMvc.perform(register("Duplicate@Example.com"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("User with this email already exists"));
+    }
+
+    @Test
+    void refreshRotatesTheTokenPairAndRejectsReplay() throws Exception {
+        JsonNode login = login("rotation@example.com");
+        String refreshToken = login.get("refreshToken").asText();
+
+        JsonNode rotated = readJson(mockMvc.perform(refresh(refreshToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertThat(rotated.get("refreshToken").asText()).isNotEqualTo(refreshToken);
+
+        mockMvc.perform(refresh(refreshToken)).andExpect(status().isUnauthorized());
+        mockMvc.perform(refresh(rotated.get("refreshToken").asText())).andExpect(status().isOk());
+    }
+
+    @Test
+    void tokensAreOnlyAcceptedForTheirOwnPurpose() throws Exception {
+        JsonNode login = login("purpose@example.com");
+
+        mockMvc.perform(refresh(login.get("accessToken").asText())).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/auth/profile")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.get("refreshToken").asText()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/auth/profile")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.get("accessToken").asText()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void loginAndProfileStayWithinTheirStatementBudgets() throws Exception {
+        createUser("budget@example.com");
+
+        JsonNode login = readJson(mockMvc.perform(loginRequest("budget@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(3))
+                .andReturn().getResponse().getContentAsString());
+
+        mockMvc.perform(get("/api/v1/auth/profile")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.get("accessToken").asText()))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(2));
+    }
+
+    private JsonNode login(String email) throws Exception {
+        createUser(email);
+
+        return readJson(mockMvc.perform(loginRequest(email))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private void createUser(String email) {
+        userRepository.save(User.builder()
+                .firstName("Test")
+                .lastName("User")
+                .email(email)
+                .password(passwordEncoder.encode("Passw0rd!"))
+                .isEnabled(true)
+                .build());
+    }
+
+    private JsonNode readJson(String body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+
+    private static RequestBuilder loginRequest(String email) {
+        return post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "%s", "password": "Passw0rd!"}
+                        """.formatted(email));
+    }
+
+    private static RequestBuilder refresh(String refreshToken) {
+        return post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"refreshToken": "%s"}
+                        """.formatted(refreshToken));
+    }
+
+    private static RequestBuilder register(String email) {
+        return post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"firstName": "Test", "lastName": "User", "email": "%s",
+                         "password": "Passw0rd!", "confirmPassword": "Passw0rd!"}
+                        """.formatted(email));
+    }
+}
@@ -0,0 +1,91 @@
+package com.pm.authservice.service;
+
+import com.pm.authservice.entity.OneTimeToken;
+import com.pm.authservice.entity.User;
+import com.pm.authservice.enums.TokenPurpose;
+import com.pm.authservice.repository.OneTimeTokenRepository;
+import com.pm.authservice.repository.UserRepository;
+import com.pm.authservice.util.TokenHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OneTimeTokenServiceTest {
+
+    @Autowired
+    private OneTimeTokenService oneTimeTokenService;
+
+    @Autowired
+    private OneTimeTokenRepository oneTimeTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private EmailService emailService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .firstName("Token")
+                .lastName("User")
+                .email("token-" + UUID.randomUUID() + "@example.com")
+                .password("hash")
+                .build());
+    }
+
+    @Test
+    void issuedTokenIsStoredHashedAndFoundByRawValue() {
+        String raw = oneTimeTokenService.issue(user, TokenPurpose.EMAIL_VERIFICATION, Duration.ofHours(1));
+
+        Optional<OneTimeToken> found = oneTimeTokenService.find(raw, TokenPurpose.EMAIL_VERIFICATION);
+
+        assertThat(found).isPresent();
+        assertThat(found.get().getTokenHash()).isEqualTo(TokenHasher.sha256Hex(raw)).isNotEqualTo(raw);
+        assertThat(found.get().getUser().getId()).isEqualTo(user.getId());
+        assertThat(oneTimeTokenService.find(raw, TokenPurpose.PASSWORD_RESET)).isEmpty();
+    }
+
+    @Test
+    void issuingAgainInvalidatesTheEarlierToken() {
+        String first = oneTimeTokenService.issue(user, TokenPurpose.PASSWORD_RESET, Duration.ofHours(1));
+        String second = oneTimeTokenService.issue(user, TokenPurpose.PASSWORD_RESET, Duration.ofHours(1));
+
+        assertThat(oneTimeTokenService.find(first, TokenPurpose.PASSWORD_RESET)).isEmpty();
+        assertThat(oneTimeTokenService.find(second, TokenPurpose.PASSWORD_RESET)).isPresent();
+    }
+
+    @Test
+    void consumedTokenCannotBeUsedAgain() {
+        String raw = oneTimeTokenService.issue(user, TokenPurpose.EMAIL_VERIFICATION, Duration.ofHours(1));
+
+        oneTimeTokenService.consume(oneTimeTokenService.find(raw, TokenPurpose.EMAIL_VERIFICATION).orElseThrow());
+
+        assertThat(oneTimeTokenService.find(raw, TokenPurpose.EMAIL_VERIFICATION)).isEmpty();
+    }
+
+    @Test
+    void purgeRemovesOnlyExpiredTokens() {
+        String expired = oneTimeTokenService.issue(user, TokenPurpose.PASSWORD_RESET, Duration.ofMinutes(-1));
+        String valid = oneTimeTokenService.issue(user, TokenPurpose.EMAIL_VERIFICATION, Duration.ofHours(1));
+
+        oneTimeTokenService.purgeExpiredTokens();
+
+        assertThat(oneTimeTokenRepository.findByTokenHashAndPurpose(TokenHasher.sha256Hex(expired), TokenPurpose.PASSWORD_RESET))
+                .isEmpty();
+        assertThat(oneTimeTokenService.find(valid, TokenPurpose.EMAIL_VERIFICATION)).isPresent();
+    }
+}
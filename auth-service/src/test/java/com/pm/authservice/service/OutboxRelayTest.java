@@ -0,0 +1,87 @@
+package com.pm.authservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.authservice.client.ExpenseServiceClient;
+import com.pm.authservice.entity.OutboxEvent;
+import com.pm.authservice.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final ExpenseServiceClient client = mock(ExpenseServiceClient.class);
+    private final OutboxRelay relay = new OutboxRelay(repository, client, new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "serviceToken", "token");
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+        ReflectionTestUtils.setField(relay, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxBackoffMs", 3000L);
+    }
+
+    @Test
+    void failedEventBacksOffWithoutBlockingLaterEvents() {
+        OutboxEvent poison = event(1L, 101L, 0);
+        OutboxEvent healthy = event(2L, 102L, 0);
+        when(repository.findPending(any(), any())).thenReturn(List.of(poison, healthy));
+        doThrow(new IllegalStateException("rejected")).when(client)
+                .syncProfile(anyString(), argThat(payload -> payload != null && payload.getUserId() == 101L));
+
+        LocalDateTime before = LocalDateTime.now();
+        relay.relayPendingEvents();
+
+        assertThat(poison.getPublishedAt()).isNull();
+        assertThat(poison.getAttempts()).isEqualTo(1);
+        assertThat(poison.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(1));
+        assertThat(poison.getFailedAt()).isNull();
+        assertThat(healthy.getPublishedAt()).isNotNull();
+    }
+
+    @Test
+    void eventIsMarkedFailedAfterMaxAttempts() {
+        OutboxEvent poison = event(1L, 101L, 2);
+        when(repository.findPending(any(), any())).thenReturn(List.of(poison));
+        doThrow(new IllegalStateException("rejected")).when(client).syncProfile(anyString(), any());
+
+        relay.relayPendingEvents();
+
+        assertThat(poison.getAttempts()).isEqualTo(3);
+        assertThat(poison.getFailedAt()).isNotNull();
+        assertThat(poison.getNextAttemptAt()).isNull();
+        assertThat(poison.getLastError()).isEqualTo("rejected");
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertThat(relay.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(relay.backoff(2)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(relay.backoff(3)).isEqualTo(Duration.ofSeconds(3));
+        assertThat(relay.backoff(40)).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    private static OutboxEvent event(long id, long userId, int attempts) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(OutboxService.PROFILE_UPDATED)
+                .aggregateId(userId)
+                .payload("{\"userId\":" + userId + "}")
+                .attempts(attempts)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.pm.authservice.util;
+
+import com.pm.authservice.filter.SqlStatementFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement-count budgets for tests, to catch N+1 regressions before they ship.
+ *
+ * <pre>
+ * mockMvc.perform(get("/api/v1/auth/profile")).andExpect(maxStatements(3));
+ * </pre>
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Fails when the endpoint issued more statements than {@code max}, based on the X-SQL-Count header.
+     */
+    public static ResultMatcher maxStatements(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementFilter.COUNT_HEADER);
+            assertThat(header)
+                    .as("%s header on %s", SqlStatementFilter.COUNT_HEADER, result.getRequest().getRequestURI())
+                    .isNotNull();
+            assertThat(Integer.parseInt(header))
+                    .as("SQL statements issued by %s %s",
+                            result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                    .isLessThanOrEqualTo(max);
+        };
+    }
+
+    /**
+     * Runs the action in its own statement scope and fails when it issued more than {@code max} statements.
+     */
+    public static <T> T assertMaxStatements(int max, Supplier<T> action) {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            T result = action.get();
+            assertThat(stats.getStatementCount()).as("SQL statements issued").isLessThanOrEqualTo(max);
+            return result;
+        } finally {
+            SqlStatementStats.clear();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.pm.expensebenchmarks;
+
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.util.CategoryMatcher;
+import com.pm.expenseservice.util.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword matching as run once per imported Excel cell, including its timer overhead.
+ *
+ * Run with: java -jar expense-benchmarks/target/benchmarks.jar CategoryMatcher -rf json -rff jmh-result.json
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryMatcherBenchmark {
+
+    private static final String[] EXPENSE_DESCRIPTIONS = {
+            "Monthly rent payment",
+            "Grocery shopping at Walmart",
+            "Uber ride to the airport",
+            "Netflix subscription",
+            "Birthday present for Sam"
+    };
+
+    private static final String[] INCOME_DESCRIPTIONS = {
+            "Monthly salary",
+            "Freelance consulting project",
+            "Quarterly stock dividend",
+            "Gift from parents"
+    };
+
+    private CategoryMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        matcher = new CategoryMatcher(new MetricsRecorder(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public void expenseDescriptions(Blackhole blackhole) {
+        for (String description : EXPENSE_DESCRIPTIONS) {
+            blackhole.consume(matcher.matchCategory(description, TransactionType.EXPENSE));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void incomeDescriptions(Blackhole blackhole) {
+        for (String description : INCOME_DESCRIPTIONS) {
+            blackhole.consume(matcher.matchCategory(description, TransactionType.INCOME));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.pm.expensebenchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pm.expenseservice.dto.response.CategorySummaryDto;
+import com.pm.expenseservice.dto.response.DashboardResponseDto;
+import com.pm.expenseservice.dto.response.MonthlyTrendDto;
+import com.pm.expenseservice.dto.response.TransactionResponseDto;
+import com.pm.expenseservice.entity.Category;
+import com.pm.expenseservice.entity.Transaction;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.service.TransactionService;
+import com.pm.expenseservice.util.MetricsRecorder;
+import com.pm.expenseservice.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory part of a dashboard request: entity-to-DTO mapping of the recent transactions,
+ * category totals and percentage math and JSON serialization of the full response. Sizes match
+ * what DashboardService builds (10 recent transactions, 6 trend months). The BigDecimal variants
+ * are the pre-Money aggregation kept as a baseline; compare allocation with -prof gc.
+ *
+ * Run with: java -jar expense-benchmarks/target/benchmarks.jar Dashboard -rf json -rff jmh-result.json
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardBenchmark {
+
+    @Param({"12"})
+    private int categories;
+
+    private TransactionService transactionService;
+    private ObjectMapper objectMapper;
+    private List<Transaction> recentTransactions;
+    private List<BigDecimal> categoryAmounts;
+    private List<Money> categoryTotals;
+    private BigDecimal decimalTotal;
+    private Money total;
+    private DashboardResponseDto dashboard;
+
+    @Setup
+    public void setUp() {
+        // Repositories, the ledger and budgets are not touched by mapToResponseDto
+        transactionService = new TransactionService(null, null, null, null, new MetricsRecorder(new SimpleMeterRegistry()));
+
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+
+        recentTransactions = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            Category category = Category.builder()
+                    .id(i % 4)
+                    .name("Category " + (i % 4))
+                    .type(TransactionType.EXPENSE)
+                    .icon("shopping-cart")
+                    .color("#4CAF50")
+                    .build();
+            recentTransactions.add(Transaction.builder()
+                    .id(i)
+                    .userId(42L)
+                    .category(category)
+                    .amount(new BigDecimal("123.45").multiply(BigDecimal.valueOf(i)))
+                    .type(TransactionType.EXPENSE)
+                    .description("Transaction number " + i)
+                    .transactionDate(LocalDate.of(2024, 3, (int) i))
+                    .createdAt(LocalDateTime.of(2024, 3, (int) i, 12, 0))
+                    .build());
+        }
+
+        categoryAmounts = new ArrayList<>();
+        categoryTotals = new ArrayList<>();
+        decimalTotal = BigDecimal.ZERO;
+        total = Money.ZERO;
+        for (int i = 1; i <= categories; i++) {
+            BigDecimal amount = new BigDecimal("987.65").multiply(BigDecimal.valueOf(i));
+            categoryAmounts.add(amount);
+            categoryTotals.add(Money.of(amount));
+            decimalTotal = decimalTotal.add(amount);
+            total = total.plus(Money.of(amount));
+        }
+
+        dashboard = buildDashboard();
+    }
+
+    @Benchmark
+    public List<TransactionResponseDto> mapRecentTransactions() {
+        List<TransactionResponseDto> result = new ArrayList<>(recentTransactions.size());
+        for (Transaction transaction : recentTransactions) {
+            result.add(transactionService.mapToResponseDto(transaction));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void categoryPercentages(Blackhole blackhole) {
+        for (Money amount : categoryTotals) {
+            blackhole.consume(Money.percentageValueOf(amount, total));
+        }
+    }
+
+    @Benchmark
+    public void categoryPercentagesBigDecimal(Blackhole blackhole) {
+        for (BigDecimal amount : categoryAmounts) {
+            blackhole.consume(amount.divide(decimalTotal, 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100)).doubleValue());
+        }
+    }
+
+    @Benchmark
+    public Money sumCategoryTotals() {
+        Money sum = Money.ZERO;
+        for (Money amount : categoryTotals) {
+            sum = sum.plus(amount);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BigDecimal sumCategoryTotalsBigDecimal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal amount : categoryAmounts) {
+            sum = sum.add(amount);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public byte[] serializeDashboard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dashboard);
+    }
+
+    private DashboardResponseDto buildDashboard() {
+        List<CategorySummaryDto> summaries = new ArrayList<>();
+        for (int i = 0; i < categoryTotals.size(); i++) {
+            summaries.add(CategorySummaryDto.builder()
+                    .categoryId((long) i)
+                    .categoryName("Category " + i)
+                    .categoryIcon("shopping-cart")
+                    .categoryColor("#4CAF50")
+                    .amount(categoryAmounts.get(i))
+                    .percentage(Money.percentageValueOf(categoryTotals.get(i), total))
+                    .build());
+        }
+
+        List<MonthlyTrendDto> trends = new ArrayList<>();
+        for (int month = 1; month <= 6; month++) {
+            trends.add(MonthlyTrendDto.builder()
+                    .year(2024)
+                    .month(month)
+                    .monthName(Month.of(month).getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
+                    .income(new BigDecimal("5000.00"))
+                    .expense(new BigDecimal("3210.55"))
+                    .net(new BigDecimal("1789.45"))
+                    .build());
+        }
+
+        return DashboardResponseDto.builder()
+                .totalIncome(new BigDecimal("5000.00"))
+                .totalExpense(decimalTotal)
+                .netAmount(new BigDecimal("5000.00").subtract(decimalTotal))
+                .savingsRate(Money.percentageOf(Money.ofCents(500_000).minus(total), Money.ofCents(500_000)))
+                .expensesByCategory(summaries)
+                .incomeBySource(summaries.subList(0, 3))
+                .recentTransactions(mapRecentTransactions())
+                .monthlyTrends(trends)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.pm.expensebenchmarks;
+
+import com.pm.expenseservice.util.ExcelHelper;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cell conversions applied to every row of an import, against cells of the types users upload.
+ *
+ * Run with: java -jar expense-benchmarks/target/benchmarks.jar ExcelHelper -rf json -rff jmh-result.json
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExcelHelperBenchmark {
+
+    private final ExcelHelper excelHelper = new ExcelHelper();
+
+    private Workbook workbook;
+    private Cell descriptionCell;
+    private Cell numericAmountCell;
+    private Cell textAmountCell;
+    private Cell dateCell;
+
+    @Setup
+    public void setUp() {
+        workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        Row row = sheet.createRow(0);
+
+        descriptionCell = row.createCell(0);
+        descriptionCell.setCellValue("  Grocery shopping at Walmart ");
+        numericAmountCell = row.createCell(1);
+        numericAmountCell.setCellValue(1234.56);
+        textAmountCell = row.createCell(2);
+        textAmountCell.setCellValue("$1,234.56");
+        dateCell = row.createCell(3);
+        dateCell.setCellValue(LocalDate.of(2024, 3, 15));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public String stringCell() {
+        return excelHelper.getCellValueAsString(descriptionCell);
+    }
+
+    @Benchmark
+    public BigDecimal numericCellAsDecimal() {
+        return excelHelper.getCellValueAsDecimal(numericAmountCell);
+    }
+
+    @Benchmark
+    public BigDecimal formattedTextCellAsDecimal() {
+        return excelHelper.getCellValueAsDecimal(textAmountCell);
+    }
+
+    @Benchmark
+    public LocalDate dateCell() {
+        return excelHelper.getCellValueAsDate(dateCell);
+    }
+}
@@ -0,0 +1,80 @@
+package com.pm.expensebenchmarks;
+
+import com.pm.expenseservice.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import javax.crypto.SecretKey;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signature and expiry verification done by JwtAuthenticationFilter on every authenticated request.
+ *
+ * Run with: java -jar expense-benchmarks/target/benchmarks.jar JwtUtil -rf json -rff jmh-result.json
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET =
+            "MyVerySecureSecretKeyThatIsAtLeast64CharactersLongForHS512AlgorithmSecurity123456789";
+
+    private JwtUtil jwtUtil;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+
+        // Same wiring Spring does: inject app.jwt.secret, then run the @PostConstruct key setup
+        Field secret = ReflectionUtils.findField(JwtUtil.class, "jwtSecret");
+        ReflectionUtils.makeAccessible(secret);
+        ReflectionUtils.setField(secret, jwtUtil, SECRET);
+        Method init = ReflectionUtils.findMethod(JwtUtil.class, "initSigningKey");
+        ReflectionUtils.makeAccessible(init);
+        ReflectionUtils.invokeMethod(init, jwtUtil);
+
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Instant now = Instant.now();
+        validToken = Jwts.builder()
+                .subject("jane.doe@example.com")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(1, ChronoUnit.DAYS)))
+                .claim("userId", 42L)
+                .claim("email", "jane.doe@example.com")
+                .claim("fullName", "Jane Doe")
+                .claim("firstName", "Jane")
+                .claim("lastName", "Doe")
+                .claim("type", "ACCESS")
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+
+        char last = validToken.charAt(validToken.length() - 1);
+        tamperedToken = validToken.substring(0, validToken.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public Claims parseValidToken() {
+        return jwtUtil.parseClaims(validToken);
+    }
+
+    @Benchmark
+    public boolean rejectTamperedToken() {
+        return jwtUtil.validateToken(tamperedToken);
+    }
+}
@@ -0,0 +1,175 @@
+package com.pm.expensebenchmarks.dataset;
+
+import com.pm.expensebenchmarks.CliArgs;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads N synthetic users with multi-year histories into the expense (and optionally auth)
+ * database with COPY, and writes matching XLSX files for the import endpoint.
+ *
+ * Users are {@code loadtest+<id>@example.com} with ids from --first-user-id, so a rerun
+ * replaces the previous dataset without touching real accounts. Both schemas must already
+ * exist (start each service once). Example:
+ *
+ * <pre>
+ * java -cp expense-benchmarks/target/benchmarks.jar com.pm.expensebenchmarks.dataset.DatasetGenerator \
+ *   --users=5000 --years=3 \
+ *   --expense-jdbc=jdbc:postgresql://localhost:5432/pm_expense_db \
+ *   --auth-jdbc=jdbc:postgresql://localhost:5432/pm_auth_db \
+ *   --db-user=postgres --db-password=... --xlsx-dir=target/xlsx
+ * </pre>
+ */
+public class DatasetGenerator {
+
+    static final String EMAIL_PATTERN = "loadtest+%d@example.com";
+    private static final String EMAIL_LIKE = "loadtest+%@example.com";
+
+    private final int users;
+    private final long firstUserId;
+    private final TransactionHistoryModel model;
+
+    public DatasetGenerator(int users, long firstUserId, TransactionHistoryModel model) {
+        this.users = users;
+        this.firstUserId = firstUserId;
+        this.model = model;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        CliArgs args = new CliArgs(argv);
+        TransactionHistoryModel model =
+                new TransactionHistoryModel(args.getLong("seed", 42), args.getInt("years", 3), LocalDate.now());
+        new DatasetGenerator(args.getInt("users", 1000), args.getLong("first-user-id", 100_000), model).run(args);
+    }
+
+    void run(CliArgs args) throws Exception {
+        String dbUser = args.get("db-user", "postgres");
+        String dbPassword = args.get("db-password", "");
+
+        String authJdbc = args.get("auth-jdbc", null);
+        if (authJdbc != null) {
+            try (Connection connection = DriverManager.getConnection(authJdbc, dbUser, dbPassword)) {
+                loadAuthUsers(connection, args.get("password", "LoadTest123!"));
+            }
+        }
+
+        try (Connection connection = DriverManager.getConnection(args.require("expense-jdbc"), dbUser, dbPassword)) {
+            loadExpenseData(connection);
+        }
+
+        String xlsxDir = args.get("xlsx-dir", null);
+        if (xlsxDir != null) {
+            writeImportFiles(Path.of(xlsxDir), args.getInt("xlsx-files", 10), args.getInt("xlsx-rows", 500));
+        }
+    }
+
+    public void loadAuthUsers(Connection connection, String password) throws SQLException {
+        connection.setAutoCommit(false);
+        String passwordHash = new BCryptPasswordEncoder(12).encode(password);
+        LocalDateTime now = LocalDateTime.now();
+
+        try (PreparedStatement delete = connection.prepareStatement("DELETE FROM users WHERE email LIKE ?")) {
+            delete.setString(1, EMAIL_LIKE);
+            delete.executeUpdate();
+        }
+
+        try (PgCopyWriter copy = new PgCopyWriter(connection, "users",
+                "id, first_name, last_name, email, password, is_enabled, is_account_non_expired, "
+                        + "is_account_non_locked, is_credentials_non_expired, failed_login_attempts, "
+                        + "profile_version, created_at, updated_at")) {
+            for (long id = firstUserId; id < firstUserId + users; id++) {
+                copy.writeRow(id, "Load", "User " + id, EMAIL_PATTERN.formatted(id), passwordHash,
+                        true, true, true, true, 0, 0, now, now);
+            }
+        }
+
+        // Rows were inserted with explicit ids, so move the identity past them
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval(pg_get_serial_sequence('users', 'id'), (SELECT max(id) FROM users))");
+        }
+        connection.commit();
+        System.out.printf("auth: %d users%n", users);
+    }
+
+    /**
+     * Replaces any previous load-test users and their transactions, commits, analyzes, and
+     * returns the number of transactions loaded.
+     */
+    public long loadExpenseData(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        LocalDateTime now = LocalDateTime.now();
+
+        try (PreparedStatement deleteTransactions = connection.prepareStatement(
+                "DELETE FROM transactions WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)");
+             PreparedStatement deleteUsers = connection.prepareStatement("DELETE FROM users WHERE email LIKE ?")) {
+            deleteTransactions.setString(1, EMAIL_LIKE);
+            deleteTransactions.executeUpdate();
+            deleteUsers.setString(1, EMAIL_LIKE);
+            deleteUsers.executeUpdate();
+        }
+
+        try (PgCopyWriter copy = new PgCopyWriter(connection, "users",
+                "id, email, first_name, last_name, is_active, profile_version, created_at, updated_at")) {
+            for (long id = firstUserId; id < firstUserId + users; id++) {
+                copy.writeRow(id, EMAIL_PATTERN.formatted(id), "Load", "User " + id, true, 0, now, now);
+            }
+        }
+
+        long started = System.nanoTime();
+        long rows;
+        try (PgCopyWriter copy = new PgCopyWriter(connection, "transactions",
+                "user_id, category_id, amount, type, description, transaction_date, created_at, updated_at")) {
+            for (long id = firstUserId; id < firstUserId + users; id++) {
+                model.generate(id, t -> {
+                    try {
+                        copy.writeRow(t.userId(), t.categoryId(), t.amount(), t.type().name(),
+                                t.description(), t.date(), t.createdAt(), t.createdAt());
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+            rows = copy.getRows();
+        }
+        connection.commit();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE transactions");
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("expense: %d users, %d transactions in %.1fs (%.0f rows/s)%n",
+                users, rows, seconds, rows / seconds);
+        return rows;
+    }
+
+    /**
+     * One file per sampled user, drawn from the same model so imported rows look like the loaded ones.
+     */
+    public void writeImportFiles(Path dir, int files, int rowsPerFile) throws Exception {
+        Files.createDirectories(dir);
+        XlsxImportFileWriter writer = new XlsxImportFileWriter();
+
+        for (int i = 0; i < files; i++) {
+            long userId = firstUserId + (long) i * Math.max(1, users / files);
+            List<SyntheticTransaction> rows = new ArrayList<>(rowsPerFile);
+            model.generate(userId, t -> {
+                if (rows.size() < rowsPerFile) {
+                    rows.add(t);
+                }
+            });
+            writer.write(dir.resolve("import-%02d.xlsx".formatted(i)), rows);
+        }
+        System.out.printf("xlsx: %d files of up to %d rows in %s%n", files, rowsPerFile, dir.toAbsolutePath());
+    }
+}
@@ -0,0 +1,16 @@
+package com.pm.expensebenchmarks.dataset;
+
+import com.pm.expenseservice.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record SyntheticTransaction(long userId,
+                                   long categoryId,
+                                   TransactionType type,
+                                   BigDecimal amount,
+                                   String description,
+                                   LocalDate date,
+                                   LocalDateTime createdAt) {
+}
@@ -0,0 +1,149 @@
+package com.pm.expensebenchmarks.dataset;
+
+import com.pm.expenseservice.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Generates a deterministic multi-year transaction history for one user.
+ *
+ * Activity per user follows a Pareto distribution (most users log a few dozen transactions a
+ * month, a long tail logs hundreds), scaled by a seasonal curve with a December peak. Rent,
+ * utilities, insurance and salary recur monthly; everything else is drawn per category with
+ * log-normal amounts. Descriptions reuse CategoryMatcher keywords, so generated import files
+ * are categorized the same way as the rows loaded directly.
+ */
+public class TransactionHistoryModel {
+
+    private static final double PARETO_ALPHA = 1.6;
+    private static final int MIN_MONTHLY_TRANSACTIONS = 8;
+    private static final int MAX_MONTHLY_TRANSACTIONS = 1500;
+
+    private record VariableCategory(long id, double weight, double medianAmount, double sigma, List<String> descriptions) {
+    }
+
+    // Ids follow data.sql
+    private static final List<VariableCategory> VARIABLE_EXPENSES = List.of(
+            new VariableCategory(2, 0.16, 18, 0.7, List.of("Uber ride", "Fuel refill", "Parking downtown", "Train ticket", "Taxi home")),
+            new VariableCategory(3, 0.34, 24, 0.8, List.of("Grocery run", "Restaurant dinner", "Lunch with team", "Breakfast cafe", "Food delivery")),
+            new VariableCategory(5, 0.04, 45, 0.9, List.of("Pharmacy", "Doctor visit", "Medicine refill")),
+            new VariableCategory(6, 0.20, 40, 1.0, List.of("Amazon order", "Walmart shopping", "New shoes", "Clothes shopping", "Target run")),
+            new VariableCategory(7, 0.14, 16, 0.8, List.of("Movie tickets", "Concert tickets", "Game purchase", "Sports event")),
+            new VariableCategory(8, 0.04, 60, 1.0, List.of("Online course", "Book order", "Training workshop")),
+            new VariableCategory(10, 0.08, 20, 1.1, List.of("Gift for friend", "Misc purchase", "Donation")));
+
+    private static final double VARIABLE_WEIGHT_TOTAL =
+            VARIABLE_EXPENSES.stream().mapToDouble(VariableCategory::weight).sum();
+
+    private static final long HOUSING = 1;
+    private static final long UTILITIES = 4;
+    private static final long INSURANCE = 9;
+    private static final long SALARY = 11;
+    private static final long FREELANCE = 12;
+    private static final long INVESTMENT = 13;
+
+    private final long seed;
+    private final YearMonth firstMonth;
+    private final LocalDate today;
+
+    public TransactionHistoryModel(long seed, int years, LocalDate today) {
+        this.seed = seed;
+        this.today = today;
+        this.firstMonth = YearMonth.from(today).minusYears(years).plusMonths(1);
+    }
+
+    /**
+     * Streams the user's history month by month; the same seed and user id always yield the same rows.
+     */
+    public void generate(long userId, Consumer<SyntheticTransaction> sink) {
+        SplittableRandom random = new SplittableRandom(seed ^ (userId * 0x9E3779B97F4A7C15L));
+
+        double activity = pareto(random);
+        BigDecimal salary = logNormal(random, 4200, 0.45);
+        BigDecimal rent = logNormal(random, 1300, 0.35);
+        boolean freelancer = random.nextDouble() < 0.2;
+        boolean investor = random.nextDouble() < 0.35;
+
+        for (YearMonth month = firstMonth; !month.isAfter(YearMonth.from(today)); month = month.plusMonths(1)) {
+            emit(userId, month, 1, HOUSING, TransactionType.EXPENSE, rent, "Monthly rent", random, sink);
+            emit(userId, month, 8, UTILITIES, TransactionType.EXPENSE,
+                    logNormal(random, 140 * seasonalFactor(month), 0.2), "Electricity and internet", random, sink);
+            emit(userId, month, 15, INSURANCE, TransactionType.EXPENSE,
+                    logNormal(random, 180, 0.05), "Insurance premium", random, sink);
+            emit(userId, month, 25, SALARY, TransactionType.INCOME, salary, "Monthly salary", random, sink);
+
+            if (freelancer && random.nextDouble() < 0.6) {
+                emit(userId, month, 1 + random.nextInt(28), FREELANCE, TransactionType.INCOME,
+                        logNormal(random, 900, 0.7), "Freelance consulting project", random, sink);
+            }
+            if (investor && month.getMonthValue() % 3 == 0) {
+                emit(userId, month, 20, INVESTMENT, TransactionType.INCOME,
+                        logNormal(random, 150, 0.9), "Stock dividend", random, sink);
+            }
+
+            int variableCount = (int) Math.round(activity * seasonalFactor(month));
+            for (int i = 0; i < variableCount; i++) {
+                VariableCategory category = pickCategory(random);
+                BigDecimal amount = logNormal(random, category.medianAmount() * seasonalFactor(month), category.sigma());
+                String description = category.descriptions().get(random.nextInt(category.descriptions().size()));
+                emit(userId, month, 1 + random.nextInt(month.lengthOfMonth()), category.id(),
+                        TransactionType.EXPENSE, amount, description, random, sink);
+            }
+        }
+    }
+
+    private void emit(long userId, YearMonth month, int day, long categoryId, TransactionType type,
+                           BigDecimal amount, String description, SplittableRandom random,
+                           Consumer<SyntheticTransaction> sink) {
+        LocalDate date = month.atDay(Math.min(day, month.lengthOfMonth()));
+        if (date.isAfter(today)) {
+            return;
+        }
+        sink.accept(new SyntheticTransaction(userId, categoryId, type, amount, description, date,
+                date.atTime(7 + random.nextInt(15), random.nextInt(60), random.nextInt(60))));
+    }
+
+    private VariableCategory pickCategory(SplittableRandom random) {
+        double r = random.nextDouble() * VARIABLE_WEIGHT_TOTAL;
+        for (VariableCategory category : VARIABLE_EXPENSES) {
+            r -= category.weight();
+            if (r <= 0) {
+                return category;
+            }
+        }
+        return VARIABLE_EXPENSES.get(VARIABLE_EXPENSES.size() - 1);
+    }
+
+    // Mild summer bump, January dip and a holiday peak in November/December
+    static double seasonalFactor(YearMonth month) {
+        double factor = 1 + 0.1 * Math.sin(2 * Math.PI * (month.getMonthValue() - 4) / 12.0);
+        return switch (month.getMonthValue()) {
+            case 1 -> factor * 0.85;
+            case 11 -> factor * 1.15;
+            case 12 -> factor * 1.4;
+            default -> factor;
+        };
+    }
+
+    private static double pareto(SplittableRandom random) {
+        double value = MIN_MONTHLY_TRANSACTIONS / Math.pow(1 - random.nextDouble(), 1 / PARETO_ALPHA);
+        return Math.min(value, MAX_MONTHLY_TRANSACTIONS);
+    }
+
+    private static BigDecimal logNormal(SplittableRandom random, double median, double sigma) {
+        double value = median * Math.exp(sigma * gaussian(random));
+        return BigDecimal.valueOf(Math.max(value, 0.5)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,54 @@
+package com.pm.expensebenchmarks.dataset;
+
+import com.pm.expenseservice.enums.TransactionType;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes import files in the layout ExcelImportService expects: a header row with
+ * Date / Expense Description / Expense Amount / Income Description / Income Amount,
+ * then one transaction per row. SXSSF keeps only a window of rows in memory.
+ */
+public class XlsxImportFileWriter {
+
+    private static final String[] HEADERS = {
+            "Date", "Expense Description", "Expense Amount", "Income Description", "Income Amount"
+    };
+
+    public void write(Path file, List<SyntheticTransaction> transactions) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(500)) {
+            Sheet sheet = workbook.createSheet("Transactions");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+            }
+
+            int rowNum = 1;
+            for (SyntheticTransaction transaction : transactions) {
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(transaction.date());
+                row.getCell(0).setCellStyle(dateStyle);
+
+                int descCol = transaction.type() == TransactionType.EXPENSE ? 1 : 3;
+                row.createCell(descCol).setCellValue(transaction.description());
+                row.createCell(descCol + 1).setCellValue(transaction.amount().doubleValue());
+            }
+
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+            workbook.dispose();
+        }
+    }
+}
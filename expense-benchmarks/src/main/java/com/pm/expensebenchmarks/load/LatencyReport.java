@@ -0,0 +1,93 @@
+package com.pm.expensebenchmarks.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microsecond resolution, up to 60 s) and error counts.
+ */
+public class LatencyReport {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+            totals.put(operation, new Histogram(MAX_TRACKABLE_MICROS, 3));
+        }
+    }
+
+    public void record(Operation operation, long elapsedNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKABLE_MICROS);
+        recorders.get(operation).recordValue(Math.max(micros, 1));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Drops everything recorded so far, used at the end of warmup.
+     */
+    public void reset() {
+        for (Operation operation : Operation.values()) {
+            recorders.get(operation).reset();
+            errors.get(operation).reset();
+            totals.get(operation).reset();
+        }
+    }
+
+    /**
+     * Rows for operations that ran, in enum order, with throughput over the measured window.
+     */
+    public Map<String, Map<String, Object>> summarize(Duration measured) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        double seconds = measured.toMillis() / 1000.0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = totals.get(operation);
+            histogram.add(recorders.get(operation).getIntervalHistogram());
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", histogram.getTotalCount());
+            row.put("errors", errors.get(operation).sum());
+            row.put("throughputPerSec", round(histogram.getTotalCount() / seconds));
+            row.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            row.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+            row.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            row.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            row.put("maxMs", millis(histogram.getMaxValue()));
+            result.put(operation.name().toLowerCase(), row);
+        }
+        return result;
+    }
+
+    public static String format(Map<String, Map<String, Object>> summary) {
+        StringBuilder out = new StringBuilder(String.format("%-10s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        summary.forEach((name, row) -> out.append(String.format("%-10s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, row.get("count"), row.get("errors"), row.get("throughputPerSec"), row.get("p50Ms"),
+                row.get("p90Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs"))));
+        return out.toString();
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
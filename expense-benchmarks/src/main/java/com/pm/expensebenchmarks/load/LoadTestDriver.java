@@ -0,0 +1,277 @@
+package com.pm.expensebenchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pm.expensebenchmarks.CliArgs;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * Closed-loop HTTP load test against a running auth-service and expense-service.
+ *
+ * Each worker logs in as one generated user (see DatasetGenerator), then issues requests picked
+ * from the weighted --mix until the deadline. Latencies after warmup go into HdrHistograms; the
+ * report lists throughput and p50/p90/p99/p99.9/max per operation, and is also written as JSON
+ * when --report is given. With --server-metrics the service's heap, thread count and CPU are
+ * sampled from /actuator/prometheus over the same window. Example:
+ *
+ * <pre>
+ * java -cp expense-benchmarks/target/benchmarks.jar com.pm.expensebenchmarks.load.LoadTestDriver \
+ *   --users=5000 --concurrency=64 --duration=120s --warmup=20s \
+ *   --mix=dashboard=40,list=30,create=20,import=5,export=5 --xlsx-dir=target/xlsx --report=target/load.json
+ * </pre>
+ *
+ * To compare execution modes, run expense-service on Java 21 once as-is and once with
+ * VIRTUAL_THREADS_ENABLED=true, then drive both with the same arguments at 1000+ workers:
+ *
+ * <pre>
+ * ... LoadTestDriver --users=5000 --concurrency=1500 --duration=180s --warmup=30s \
+ *   --mix=dashboard=50,list=35,create=15 --server-metrics --report=target/load-virtual.json
+ * </pre>
+ *
+ * No comparison results are checked in. The virtual-thread mode needs a Java 21 runtime, and the
+ * project builds on Java 17, so attach both reports to the change that switches the mode on.
+ */
+public class LoadTestDriver {
+
+    private final String authUrl;
+    private final String expenseUrl;
+    private final int users;
+    private final long firstUserId;
+    private final String password;
+    private final OperationMix mix;
+    private final List<byte[]> importFiles;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyReport report = new LatencyReport();
+    private final boolean sampleServerMetrics;
+
+    private volatile boolean measuring;
+
+    LoadTestDriver(CliArgs args) throws IOException {
+        this.authUrl = args.get("auth-url", "http://localhost:8084");
+        this.expenseUrl = args.get("expense-url", "http://localhost:8083");
+        this.users = args.getInt("users", 1000);
+        this.firstUserId = args.getLong("first-user-id", 100_000);
+        this.password = args.get("password", "LoadTest123!");
+        this.sampleServerMetrics = args.getBoolean("server-metrics");
+        this.mix = new OperationMix(args.get("mix", "dashboard=40,list=30,create=20,import=5,export=5"));
+        this.importFiles = loadImportFiles(args.get("xlsx-dir", null));
+        if (mix.includes(Operation.IMPORT) && importFiles.isEmpty()) {
+            throw new IllegalArgumentException("--mix includes import but --xlsx-dir has no .xlsx files");
+        }
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] argv) throws Exception {
+        CliArgs args = new CliArgs(argv);
+        new LoadTestDriver(args).run(
+                args.getInt("concurrency", 32),
+                args.getDuration("warmup", Duration.ofSeconds(10)),
+                args.getDuration("duration", Duration.ofSeconds(60)),
+                args.get("report", null));
+    }
+
+    void run(int concurrency, Duration warmup, Duration duration, String reportPath) throws Exception {
+        long deadline = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            long userId = firstUserId + (i % users);
+            long seed = i;
+            Thread worker = new Thread(() -> {
+                try {
+                    new Worker(userId, new SplittableRandom(seed)).runUntil(deadline);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        Thread.sleep(warmup.toMillis());
+        report.reset();
+        measuring = true;
+        ServerMetricsSampler sampler = null;
+        if (sampleServerMetrics) {
+            sampler = new ServerMetricsSampler(httpClient, expenseUrl);
+            Thread samplerThread = new Thread(sampler, "server-metrics");
+            samplerThread.setDaemon(true);
+            samplerThread.start();
+        }
+        long measuredFrom = System.nanoTime();
+        done.await();
+        Duration measured = Duration.ofNanos(System.nanoTime() - measuredFrom);
+        Map<String, Object> server = null;
+        if (sampler != null) {
+            sampler.stop();
+            server = sampler.summarize();
+        }
+
+        Map<String, Map<String, Object>> summary = report.summarize(measured);
+        System.out.printf("%d workers, %d users, measured %ds after %ds warmup%n",
+                concurrency, users, measured.toSeconds(), warmup.toSeconds());
+        System.out.print(LatencyReport.format(summary));
+        if (server != null) {
+            System.out.println("server: " + server);
+        }
+
+        if (reportPath != null) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("concurrency", concurrency);
+            json.put("users", users);
+            json.put("measuredSeconds", measured.toSeconds());
+            json.put("operations", summary);
+            if (server != null) {
+                json.put("server", server);
+            }
+            objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(Path.of(reportPath).toFile(), json);
+        }
+    }
+
+    private static List<byte[]> loadImportFiles(String dir) throws IOException {
+        List<byte[]> files = new ArrayList<>();
+        if (dir == null) {
+            return files;
+        }
+        try (Stream<Path> paths = Files.list(Path.of(dir))) {
+            for (Path path : paths.filter(p -> p.toString().endsWith(".xlsx")).sorted().toList()) {
+                files.add(Files.readAllBytes(path));
+            }
+        }
+        return files;
+    }
+
+    private class Worker {
+
+        private final long userId;
+        private final SplittableRandom random;
+        private String accessToken;
+
+        Worker(long userId, SplittableRandom random) {
+            this.userId = userId;
+            this.random = random;
+        }
+
+        void runUntil(long deadline) {
+            while (System.nanoTime() < deadline) {
+                Operation operation = accessToken == null ? Operation.LOGIN : mix.next(random);
+                long started = System.nanoTime();
+                int status;
+                try {
+                    status = execute(operation);
+                } catch (Exception e) {
+                    status = -1;
+                }
+                long elapsed = System.nanoTime() - started;
+
+                if (status == 401) {
+                    accessToken = null; // token expired mid-run; next iteration logs in again
+                }
+                if (measuring) {
+                    report.record(operation, elapsed, status >= 200 && status < 300);
+                }
+                if (status == -1) {
+                    pause();
+                }
+            }
+        }
+
+        private int execute(Operation operation) throws Exception {
+            return switch (operation) {
+                case LOGIN -> login();
+                case DASHBOARD -> send(get("/api/v1/dashboard"));
+                case LIST -> send(get("/api/v1/transactions?page=" + random.nextInt(5) + "&size=20"));
+                case CREATE -> send(createTransaction());
+                case IMPORT -> send(importFile());
+                case EXPORT -> send(get("/api/v1/files/export"));
+            };
+        }
+
+        private int login() throws Exception {
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "email", "loadtest+%d@example.com".formatted(userId), "password", password));
+            HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(URI.create(authUrl + "/api/v1/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                JsonNode json = objectMapper.readTree(response.body());
+                accessToken = json.path("accessToken").asText(null);
+            }
+            return response.statusCode();
+        }
+
+        private HttpRequest get(String path) {
+            return authorized(path).GET().build();
+        }
+
+        private HttpRequest createTransaction() throws Exception {
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "categoryId", 2 + random.nextInt(2),
+                    "amount", 5 + random.nextInt(9500) / 100.0,
+                    "type", "EXPENSE",
+                    "description", "Load test purchase",
+                    "transactionDate", LocalDate.now().minusDays(random.nextInt(30)).toString()));
+            return authorized("/api/v1/transactions")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private HttpRequest importFile() {
+            String boundary = "----load-" + UUID.randomUUID();
+            byte[] file = importFiles.get(random.nextInt(importFiles.size()));
+            byte[] head = ("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"import.xlsx\"\r\n"
+                    + "Content-Type: application/vnd.openxmlformats-officedocument.spreadsheetml.sheet\r\n\r\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+            return authorized("/api/v1/files/import")
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(HttpRequest.BodyPublishers.ofByteArrays(List.of(head, file, tail)))
+                    .build();
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(URI.create(expenseUrl + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Authorization", "Bearer " + accessToken);
+        }
+
+        private int send(HttpRequest request) throws Exception {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+
+        // Back off briefly on connection errors so a down service doesn't turn into a busy loop
+        private void pause() {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.pm.expensebenchmarks.load;
+
+/**
+ * Request types the load driver can mix; weights come from --mix.
+ */
+public enum Operation {
+    LOGIN,
+    DASHBOARD,
+    LIST,
+    CREATE,
+    IMPORT,
+    EXPORT
+}
@@ -0,0 +1,57 @@
+package com.pm.expensebenchmarks.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted choice over operations, parsed from e.g. {@code dashboard=45,list=30,create=15,import=5,export=5}.
+ */
+public class OperationMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public OperationMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            weights.put(Operation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+
+        operations = new Operation[weights.size()];
+        cumulativeWeights = new int[weights.size()];
+        int sum = 0;
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            sum += entry.getValue();
+            operations[i] = entry.getKey();
+            cumulativeWeights[i] = sum;
+            i++;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("Operation mix has no positive weights: " + spec);
+        }
+        totalWeight = sum;
+    }
+
+    public Operation next(SplittableRandom random) {
+        int r = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public boolean includes(Operation operation) {
+        for (Operation candidate : operations) {
+            if (candidate == operation) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
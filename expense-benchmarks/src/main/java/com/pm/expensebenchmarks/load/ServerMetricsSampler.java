@@ -0,0 +1,111 @@
+package com.pm.expensebenchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Polls the service's Prometheus endpoint once a second during the measured window and keeps
+ * the peaks and averages of heap, non-heap, live threads and process CPU. Used to compare
+ * platform and virtual-thread runs under the same load.
+ */
+class ServerMetricsSampler implements Runnable {
+
+    private static final long MB = 1024 * 1024;
+
+    private final HttpClient httpClient;
+    private final URI prometheusUri;
+
+    private volatile boolean running = true;
+    private int samples;
+    private double heapSum;
+    private double heapMax;
+    private double nonHeapMax;
+    private double threadsSum;
+    private double threadsMax;
+    private double cpuSum;
+
+    ServerMetricsSampler(HttpClient httpClient, String serviceUrl) {
+        this.httpClient = httpClient;
+        this.prometheusUri = URI.create(serviceUrl + "/actuator/prometheus");
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                sample();
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                // A missed sample is fine; the service may be momentarily saturated
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    private void sample() throws Exception {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(prometheusUri)
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return;
+        }
+
+        double heap = 0;
+        double nonHeap = 0;
+        double threads = 0;
+        double cpu = 0;
+        for (String line : response.body().split("\n")) {
+            if (line.startsWith("jvm_memory_used_bytes{")) {
+                if (line.contains("area=\"heap\"")) {
+                    heap += value(line);
+                } else {
+                    nonHeap += value(line);
+                }
+            } else if (line.startsWith("jvm_threads_live_threads")) {
+                threads = value(line);
+            } else if (line.startsWith("process_cpu_usage")) {
+                cpu = value(line);
+            }
+        }
+
+        synchronized (this) {
+            samples++;
+            heapSum += heap;
+            heapMax = Math.max(heapMax, heap);
+            nonHeapMax = Math.max(nonHeapMax, nonHeap);
+            threadsSum += threads;
+            threadsMax = Math.max(threadsMax, threads);
+            cpuSum += cpu;
+        }
+    }
+
+    synchronized Map<String, Object> summarize() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("samples", samples);
+        if (samples == 0) {
+            return summary;
+        }
+        summary.put("heapAvgMb", Math.round(heapSum / samples / MB));
+        summary.put("heapMaxMb", Math.round(heapMax / MB));
+        summary.put("nonHeapMaxMb", Math.round(nonHeapMax / MB));
+        summary.put("liveThreadsAvg", Math.round(threadsSum / samples));
+        summary.put("liveThreadsMax", Math.round(threadsMax));
+        summary.put("processCpuAvg", Math.round(cpuSum / samples * 100) / 100.0);
+        return summary;
+    }
+
+    private static double value(String line) {
+        return Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+    }
+}
@@ -0,0 +1,170 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import com.pm.expensebenchmarks.dataset.TransactionHistoryModel;
+import com.pm.expensebenchmarks.dbperf.QueryPlanInspector.PlanBudget;
+import com.pm.expenseservice.ExpenseServiceApplication;
+import com.pm.expenseservice.dto.request.BudgetDto;
+import com.pm.expenseservice.dto.request.CreateTransactionDto;
+import com.pm.expenseservice.dto.response.BudgetStatusDto;
+import com.pm.expenseservice.dto.response.TransactionResponseDto;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.repository.TransactionRepository;
+import com.pm.expenseservice.repository.TransactionRepository.CategorySummaryProjection;
+import com.pm.expenseservice.service.BudgetService;
+import com.pm.expenseservice.service.DailyLedgerService;
+import com.pm.expenseservice.service.OutboxService;
+import com.pm.expenseservice.service.TransactionService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rebuilds the budget counters over a one-year dataset, checks them against raw sums, checks that
+ * a threshold alerts once when crossed, and that the status endpoint never reads transactions.
+ */
+@SpringBootTest(classes = {ExpenseServiceApplication.class, QueryPlanCaptureConfig.class},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BudgetTest extends EmbeddedPostgresTest {
+
+    private static final int USERS = 10;
+    private static final long FIRST_USER_ID = 400_000;
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final double TIME_BUDGET_MS = 20;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private DailyLedgerService dailyLedgerService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private QueryPlanCapture capture;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private List<Long> expenseCategories;
+
+    @BeforeAll
+    void seedAndRebuild() throws Exception {
+        loadDataset(USERS, FIRST_USER_ID, new TransactionHistoryModel(17, 1, TODAY));
+        dailyLedgerService.rebuild();
+        assertThat(budgetService.rebuild()).isPositive();
+        userId = jdbcTemplate.queryForObject("SELECT min(user_id) FROM transactions", Long.class);
+        expenseCategories = jdbcTemplate.queryForList("SELECT id FROM categories WHERE is_system = true "
+                + "AND type = 'EXPENSE' ORDER BY id LIMIT 3", Long.class);
+    }
+
+    @Test
+    void countersMatchRawSums() {
+        YearMonth month = YearMonth.from(TODAY.minusMonths(1));
+        for (CategorySummaryProjection summary : transactionRepository.sumLiveByCategory(userId, TransactionType.EXPENSE,
+                month.atDay(1), month.atEndOfMonth())) {
+            BigDecimal counter = jdbcTemplate.queryForObject("SELECT spent_amount FROM budget_spend "
+                    + "WHERE user_id = ? AND category_id = ? AND month = ?", BigDecimal.class,
+                    userId, summary.getCategoryId(), month.atDay(1));
+            assertThat(counter).as("category %d", summary.getCategoryId()).isEqualByComparingTo(summary.getTotal());
+        }
+    }
+
+    @Test
+    void thresholdAlertsOnceWhenCrossed() {
+        long categoryId = expenseCategories.get(0);
+        BigDecimal spent = currentSpend(categoryId);
+        budgetService.createBudget(userId, BudgetDto.builder()
+                .categoryId(categoryId)
+                .monthlyAmount(spent.add(new BigDecimal("100.00")))
+                .alertThresholds(List.of(100))
+                .build());
+
+        expense(categoryId, "60.00");
+        assertThat(alertCount()).isZero();
+
+        TransactionResponseDto crossing = expense(categoryId, "50.00");
+        assertThat(alertCount()).isEqualTo(1);
+
+        // Dropping back under and crossing again in the same month does not repeat the alert
+        transactionService.deleteTransaction(userId, crossing.getId());
+        expense(categoryId, "45.00");
+        assertThat(alertCount()).isEqualTo(1);
+
+        BudgetStatusDto status = statusFor(categoryId);
+        assertThat(status.getSpentAmount()).isEqualByComparingTo(spent.add(new BigDecimal("105.00")));
+        assertThat(status.getRemainingAmount()).isEqualByComparingTo("-5.00");
+        assertThat(status.getThresholdReached()).isEqualTo(100);
+    }
+
+    @Test
+    @Tag("db-perf")
+    void statusReadsCountersNotTransactions() throws Exception {
+        for (Long categoryId : expenseCategories.subList(1, 3)) {
+            budgetService.createBudget(userId, BudgetDto.builder()
+                    .categoryId(categoryId)
+                    .monthlyAmount(new BigDecimal("500.00"))
+                    .build());
+        }
+
+        QueryPlanInspector inspector = new QueryPlanInspector(dataSource, Path.of("target", "query-plans", "budgets"));
+        List<QueryPlanCapture.CapturedQuery> queries = capture.capture(
+                () -> budgetService.getStatus(userId, YearMonth.from(TODAY)));
+
+        assertThat(queries).hasSize(2);
+        assertThat(inspector.inspect("budget-status", queries, PlanBudget.of(0, TIME_BUDGET_MS))).isEmpty();
+        assertThat(statusFor(expenseCategories.get(1)).getSpentAmount())
+                .isEqualByComparingTo(currentSpend(expenseCategories.get(1)));
+    }
+
+    private TransactionResponseDto expense(long categoryId, String amount) {
+        return transactionService.createTransaction(userId, CreateTransactionDto.builder()
+                .categoryId(categoryId)
+                .amount(new BigDecimal(amount))
+                .type(TransactionType.EXPENSE)
+                .description("Budget test")
+                .transactionDate(TODAY)
+                .build());
+    }
+
+    private BigDecimal currentSpend(long categoryId) {
+        YearMonth month = YearMonth.from(TODAY);
+        return transactionRepository.sumLiveByCategory(userId, TransactionType.EXPENSE, month.atDay(1), month.atEndOfMonth())
+                .stream()
+                .filter(summary -> summary.getCategoryId() == categoryId)
+                .map(CategorySummaryProjection::getTotal)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+    }
+
+    private BudgetStatusDto statusFor(long categoryId) {
+        return budgetService.getStatus(userId, YearMonth.from(TODAY)).stream()
+                .filter(status -> status.getCategoryId() == categoryId)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private int alertCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events WHERE event_type = ? AND aggregate_id = ?",
+                Integer.class, OutboxService.BUDGET_ALERT, userId);
+    }
+}
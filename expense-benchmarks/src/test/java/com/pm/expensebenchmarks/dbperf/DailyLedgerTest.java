@@ -0,0 +1,164 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import com.pm.expensebenchmarks.dataset.TransactionHistoryModel;
+import com.pm.expensebenchmarks.dbperf.QueryPlanInspector.PlanBudget;
+import com.pm.expenseservice.ExpenseServiceApplication;
+import com.pm.expenseservice.dto.request.CreateTransactionDto;
+import com.pm.expenseservice.dto.request.UpdateTransactionDto;
+import com.pm.expenseservice.dto.response.PeriodAnalyticsDto;
+import com.pm.expenseservice.dto.response.PeriodBucketDto;
+import com.pm.expenseservice.dto.response.TransactionResponseDto;
+import com.pm.expenseservice.enums.Granularity;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.repository.TransactionRepository;
+import com.pm.expenseservice.repository.TransactionRepository.CategorySummaryProjection;
+import com.pm.expenseservice.service.AnalyticsService;
+import com.pm.expenseservice.service.DailyLedgerService;
+import com.pm.expenseservice.service.TransactionService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rebuilds the daily ledger over a three-year dataset, checks range totals against raw sums before
+ * and after transaction mutations, and checks that a range lookup never reads transactions.
+ */
+@SpringBootTest(classes = {ExpenseServiceApplication.class, QueryPlanCaptureConfig.class},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class DailyLedgerTest extends EmbeddedPostgresTest {
+
+    private static final int USERS = 40;
+    private static final long FIRST_USER_ID = 300_000;
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final double TIME_BUDGET_MS = 20;
+
+    @Autowired
+    private DailyLedgerService dailyLedgerService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private QueryPlanCapture capture;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeAll
+    void seedAndRebuild() throws Exception {
+        loadDataset(USERS, FIRST_USER_ID, new TransactionHistoryModel(13, 3, TODAY));
+        assertThat(dailyLedgerService.rebuild()).isPositive();
+        userId = jdbcTemplate.queryForObject("SELECT user_id FROM (SELECT user_id, count(*) c FROM transactions "
+                + "GROUP BY user_id ORDER BY c OFFSET " + USERS / 2 + " LIMIT 1) t", Long.class);
+    }
+
+    @Test
+    void rangeTotalsMatchRawSums() {
+        assertMatchesRawSums(TODAY.minusDays(89), TODAY);
+        assertMatchesRawSums(TODAY.withDayOfYear(1), TODAY);
+        assertMatchesRawSums(TODAY.minusYears(3), TODAY);
+        assertMatchesRawSums(TODAY.minusYears(2).withDayOfMonth(1), TODAY.minusYears(1).withDayOfMonth(1).minusDays(1));
+    }
+
+    @Test
+    void mutationsKeepLedgerInStep() {
+        LocalDate backdated = TODAY.minusYears(1).withDayOfMonth(10);
+        TransactionResponseDto created = transactionService.createTransaction(userId, CreateTransactionDto.builder()
+                .categoryId(3L)
+                .amount(new BigDecimal("42.10"))
+                .type(TransactionType.EXPENSE)
+                .description("Backdated")
+                .transactionDate(backdated)
+                .build());
+        assertMatchesRawSums(backdated.minusMonths(1), TODAY);
+
+        transactionService.updateTransaction(userId, created.getId(), UpdateTransactionDto.builder()
+                .categoryId(4L)
+                .amount(new BigDecimal("17.35"))
+                .transactionDate(backdated.minusMonths(2))
+                .build());
+        assertMatchesRawSums(backdated.minusMonths(3), TODAY);
+        assertMatchesRawSums(backdated.minusMonths(2), backdated.minusMonths(2));
+
+        transactionService.deleteTransaction(userId, created.getId());
+        assertMatchesRawSums(backdated.minusMonths(3), TODAY);
+    }
+
+    @Test
+    @Tag("db-perf")
+    void rangeLookupDoesNotReadTransactions() throws Exception {
+        QueryPlanInspector inspector = new QueryPlanInspector(dataSource, Path.of("target", "query-plans", "ledger"));
+        assertThat(inspector.inspect("rangeTotals-3y",
+                capture.capture(() -> dailyLedgerService.rangeTotals(userId, TODAY.minusYears(3), TODAY)),
+                PlanBudget.of(0, TIME_BUDGET_MS))).isEmpty();
+    }
+
+    @Test
+    void periodBucketsAddUpToRawSums() {
+        LocalDate start = TODAY.minusMonths(5).withDayOfMonth(1);
+        PeriodAnalyticsDto monthly = analyticsService.getPeriods(userId, Granularity.MONTH, start, TODAY);
+
+        assertThat(monthly.getPeriods()).hasSize(6);
+        for (PeriodBucketDto bucket : monthly.getPeriods()) {
+            assertThat(bucket.getTotalExpense()).as(bucket.getLabel()).isEqualByComparingTo(transactionRepository
+                    .sumLiveByUserAndTypeAndDateRange(userId, TransactionType.EXPENSE, bucket.getStartDate(), bucket.getEndDate()));
+            assertThat(bucket.getTotalIncome()).as(bucket.getLabel()).isEqualByComparingTo(transactionRepository
+                    .sumLiveByUserAndTypeAndDateRange(userId, TransactionType.INCOME, bucket.getStartDate(), bucket.getEndDate()));
+        }
+    }
+
+    @Test
+    @Tag("db-perf")
+    void decadeChartCostsAboutTheSameAsSixMonths() throws Exception {
+        QueryPlanInspector inspector = new QueryPlanInspector(dataSource, Path.of("target", "query-plans", "ledger"));
+        LocalDate sixMonths = TODAY.minusMonths(5).withDayOfMonth(1);
+        LocalDate tenYears = TODAY.minusYears(9).withDayOfYear(1);
+
+        List<QueryPlanCapture.CapturedQuery> monthly = capture.capture(
+                () -> analyticsService.getPeriods(userId, Granularity.MONTH, sixMonths, TODAY));
+        List<QueryPlanCapture.CapturedQuery> yearly = capture.capture(
+                () -> analyticsService.getPeriods(userId, Granularity.YEAR, tenYears, TODAY));
+
+        assertThat(yearly).hasSameSizeAs(monthly);
+        assertThat(inspector.inspect("periods-6-months", monthly, PlanBudget.of(0, TIME_BUDGET_MS))).isEmpty();
+        assertThat(inspector.inspect("periods-10-years", yearly, PlanBudget.of(0, TIME_BUDGET_MS))).isEmpty();
+    }
+
+    private void assertMatchesRawSums(LocalDate startDate, LocalDate endDate) {
+        Map<Long, BigDecimal> expected = new TreeMap<>();
+        for (TransactionType type : TransactionType.values()) {
+            for (CategorySummaryProjection summary : transactionRepository.sumLiveByCategory(userId, type, startDate, endDate)) {
+                expected.put(summary.getCategoryId(), summary.getTotal().stripTrailingZeros());
+            }
+        }
+        Map<Long, BigDecimal> actual = dailyLedgerService.rangeTotals(userId, startDate, endDate).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().toBigDecimal().stripTrailingZeros(),
+                        (a, b) -> a, TreeMap::new));
+        assertThat(actual).as("%s..%s", startDate, endDate).isEqualTo(expected);
+    }
+}
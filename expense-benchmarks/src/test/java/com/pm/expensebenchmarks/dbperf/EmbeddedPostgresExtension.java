@@ -0,0 +1,51 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestInstanceFactoryContext;
+import org.junit.jupiter.api.extension.TestInstancePreConstructCallback;
+import org.opentest4j.TestAbortedException;
+
+import java.io.IOException;
+
+/**
+ * Starts a fresh embedded PostgreSQL for each test class, before the test instance (and so the
+ * Spring context) is created, and stops it after the class. PostgreSQL refuses to run as root, so
+ * under root the class is skipped rather than failed.
+ */
+public class EmbeddedPostgresExtension implements TestInstancePreConstructCallback, AfterAllCallback {
+
+    private static volatile EmbeddedPostgres current;
+
+    /**
+     * The server of the test class currently running.
+     */
+    public static EmbeddedPostgres current() {
+        EmbeddedPostgres postgres = current;
+        if (postgres == null) {
+            throw new IllegalStateException("No embedded PostgreSQL running; extend EmbeddedPostgresTest");
+        }
+        return postgres;
+    }
+
+    @Override
+    public void preConstructTestInstance(TestInstanceFactoryContext factoryContext, ExtensionContext context) throws IOException {
+        if (current != null) {
+            return;
+        }
+        if ("root".equals(System.getProperty("user.name"))) {
+            throw new TestAbortedException("PostgreSQL cannot run as root; run the build as an unprivileged user");
+        }
+        current = EmbeddedPostgres.builder().start();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) throws IOException {
+        EmbeddedPostgres postgres = current;
+        current = null;
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import com.pm.expensebenchmarks.dataset.DatasetGenerator;
+import com.pm.expensebenchmarks.dataset.TransactionHistoryModel;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Base for tests that run expense-service against its own embedded PostgreSQL (see
+ * {@link EmbeddedPostgresExtension}). The context is closed after the class, since its database
+ * goes away with it. Subclasses add {@code @SpringBootTest} and seed in a {@code @BeforeAll}.
+ *
+ * Untagged tests run in every build. Query plan and timing checks, which need a larger dataset
+ * and a quiet machine, are tagged db-perf and run with -Pdb-perf.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(EmbeddedPostgresExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+abstract class EmbeddedPostgresTest {
+
+    @DynamicPropertySource
+    static void embeddedDatasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> EmbeddedPostgresExtension.current().getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    /**
+     * The embedded database itself, bypassing the application's proxied pool.
+     */
+    protected static DataSource rawDataSource() {
+        return EmbeddedPostgresExtension.current().getPostgresDatabase();
+    }
+
+    /**
+     * Loads a generated dataset; the schema already exists because the context is up.
+     */
+    protected static void loadDataset(int users, long firstUserId, TransactionHistoryModel model) throws SQLException {
+        try (Connection connection = rawDataSource().getConnection()) {
+            new DatasetGenerator(users, firstUserId, model).loadExpenseData(connection);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import com.pm.expensebenchmarks.dataset.TransactionHistoryModel;
+import com.pm.expenseservice.ExpenseServiceApplication;
+import com.pm.expenseservice.entity.MonthlyReportRun;
+import com.pm.expenseservice.repository.MonthlyReportRunRepository;
+import com.pm.expenseservice.service.DailyLedgerService;
+import com.pm.expenseservice.service.MonthlyReportService;
+import com.pm.expenseservice.service.OutboxService;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the monthly report job over a small dataset in chunks smaller than the user count, checks
+ * that opted-out users are skipped, that a run resumes after its checkpoint, that failed users and
+ * months requested during a run are picked up later, and that the stored workbooks carry the
+ * rollup sheets.
+ */
+@SpringBootTest(classes = ExpenseServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class MonthlyReportTest extends EmbeddedPostgresTest {
+
+    private static final int USERS = 8;
+    private static final long FIRST_USER_ID = 500_000;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private MonthlyReportService monthlyReportService;
+
+    @Autowired
+    private MonthlyReportRunRepository monthlyReportRunRepository;
+
+    @Autowired
+    private DailyLedgerService dailyLedgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> userIds;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("app.reports.enabled", () -> "false");
+        registry.add("app.reports.chunk-size", () -> "3");
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        loadDataset(USERS, FIRST_USER_ID, new TransactionHistoryModel(23, 1, TODAY));
+        dailyLedgerService.rebuild();
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        jdbcTemplate.update("INSERT INTO user_preferences (user_id, monthly_reports) VALUES (?, false)", userIds.get(4));
+    }
+
+    @Test
+    void reportsEveryOptedInUserFromRollups() throws Exception {
+        YearMonth month = YearMonth.from(TODAY.minusMonths(1));
+
+        MonthlyReportRun run = monthlyReportService.run(month);
+
+        assertThat(run.getCompletedAt()).isNotNull();
+        assertThat(run.getUsersReported()).isEqualTo(userIds.size() - 1);
+        assertThat(reportedUsers(month)).doesNotContain(userIds.get(4)).hasSize(userIds.size() - 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events WHERE event_type = ?",
+                Integer.class, OutboxService.MONTHLY_REPORT_READY)).isGreaterThanOrEqualTo(userIds.size() - 1);
+
+        byte[] content = jdbcTemplate.queryForObject("SELECT content FROM monthly_reports "
+                + "WHERE user_id = ? AND report_month = ?", byte[].class, userIds.get(0), Date.valueOf(month.atDay(1)));
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(content))) {
+            assertThat(workbook.getSheet("Summary")).isNotNull();
+            Sheet trend = workbook.getSheet("Trend");
+            assertThat(trend.getLastRowNum()).isEqualTo(6);
+            assertThat(trend.getRow(6).getCell(0).getStringCellValue()).isEqualTo(month.toString());
+        }
+
+        // A completed month is not generated again
+        assertThat(monthlyReportService.run(month).getUsersReported()).isEqualTo(userIds.size() - 1);
+        assertThat(reportedUsers(month)).hasSize(userIds.size() - 1);
+    }
+
+    @Test
+    void resumesAfterCheckpoint() {
+        YearMonth month = YearMonth.from(TODAY.minusMonths(2));
+        // As left by a run stopped after its first chunk
+        monthlyReportRunRepository.save(MonthlyReportRun.builder()
+                .reportMonth(month.atDay(1))
+                .lastUserId(userIds.get(2))
+                .usersReported(3)
+                .startedAt(LocalDateTime.now())
+                .build());
+
+        MonthlyReportRun run = monthlyReportService.run(month);
+
+        assertThat(run.getCompletedAt()).isNotNull();
+        assertThat(run.getLastUserId()).isEqualTo(userIds.get(userIds.size() - 1));
+        assertThat(run.getUsersReported()).isEqualTo(3 + userIds.size() - 4);
+        assertThat(reportedUsers(month)).allMatch(id -> id > userIds.get(2)).doesNotContain(userIds.get(4));
+    }
+
+    @Test
+    void failedUsersAreRetriedUntilReported() {
+        YearMonth month = YearMonth.from(TODAY.minusMonths(3));
+        long failing = userIds.get(1);
+        jdbcTemplate.execute("CREATE FUNCTION fail_report() RETURNS trigger AS $$ BEGIN "
+                + "IF NEW.user_id = " + failing + " THEN RAISE EXCEPTION 'storage unavailable'; END IF; "
+                + "RETURN NEW; END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE TRIGGER fail_report BEFORE INSERT ON monthly_reports "
+                + "FOR EACH ROW EXECUTE FUNCTION fail_report()");
+        MonthlyReportRun run;
+        try {
+            run = monthlyReportService.run(month);
+        } finally {
+            jdbcTemplate.execute("DROP TRIGGER fail_report ON monthly_reports");
+            jdbcTemplate.execute("DROP FUNCTION fail_report()");
+        }
+
+        // The main pass and its immediate retry both failed for that user
+        assertThat(run.getCompletedAt()).isNotNull();
+        assertThat(run.getFailedUserIds()).containsExactly(failing);
+        assertThat(run.getUsersFailed()).isEqualTo(1);
+        assertThat(run.getRetryPasses()).isEqualTo(1);
+        assertThat(reportedUsers(month)).doesNotContain(failing);
+
+        monthlyReportService.runPending();
+
+        run = monthlyReportRunRepository.findByReportMonth(month.atDay(1)).orElseThrow();
+        assertThat(run.getFailedUserIds()).isEmpty();
+        assertThat(run.getUsersFailed()).isZero();
+        assertThat(run.getUsersReported()).isEqualTo(userIds.size() - 1);
+        assertThat(reportedUsers(month)).contains(failing).hasSize(userIds.size() - 1);
+    }
+
+    @Test
+    void monthRequestedDuringARunIsQueued() throws Exception {
+        YearMonth busyMonth = YearMonth.from(TODAY.minusMonths(4));
+        YearMonth queuedMonth = YearMonth.from(TODAY.minusMonths(5));
+        // Slows every insert so the first run is still going when the second month is requested
+        jdbcTemplate.execute("CREATE FUNCTION slow_report() RETURNS trigger AS $$ BEGIN "
+                + "PERFORM pg_sleep(0.2); RETURN NEW; END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE TRIGGER slow_report BEFORE INSERT ON monthly_reports "
+                + "FOR EACH ROW EXECUTE FUNCTION slow_report()");
+        try {
+            Future<MonthlyReportRun> busy = Executors.newSingleThreadExecutor()
+                    .submit(() -> monthlyReportService.run(busyMonth));
+            while (monthlyReportRunRepository.findByReportMonth(busyMonth.atDay(1)).isEmpty()) {
+                Thread.sleep(20);
+            }
+
+            assertThat(monthlyReportService.run(queuedMonth)).isNull();
+            MonthlyReportRun queued = monthlyReportRunRepository.findByReportMonth(queuedMonth.atDay(1)).orElseThrow();
+            assertThat(queued.getCompletedAt()).isNull();
+            assertThat(busy.get(30, TimeUnit.SECONDS).getCompletedAt()).isNotNull();
+        } finally {
+            jdbcTemplate.execute("DROP TRIGGER slow_report ON monthly_reports");
+            jdbcTemplate.execute("DROP FUNCTION slow_report()");
+        }
+
+        monthlyReportService.runPending();
+
+        assertThat(monthlyReportRunRepository.findByReportMonth(queuedMonth.atDay(1)).orElseThrow().getCompletedAt())
+                .isNotNull();
+        assertThat(reportedUsers(queuedMonth)).hasSize(userIds.size() - 1);
+    }
+
+    private List<Long> reportedUsers(YearMonth month) {
+        return jdbcTemplate.queryForList("SELECT user_id FROM monthly_reports WHERE report_month = ? ORDER BY user_id",
+                Long.class, Date.valueOf(month.atDay(1)));
+    }
+}
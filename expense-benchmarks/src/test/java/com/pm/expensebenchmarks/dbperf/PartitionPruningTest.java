@@ -0,0 +1,179 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import com.pm.expensebenchmarks.dataset.TransactionHistoryModel;
+import com.pm.expensebenchmarks.dbperf.QueryPlanCapture.CapturedQuery;
+import com.pm.expensebenchmarks.dbperf.QueryPlanInspector.PlanBudget;
+import com.pm.expenseservice.ExpenseServiceApplication;
+import com.pm.expenseservice.dto.response.TransactionResponseDto;
+import com.pm.expenseservice.entity.Transaction;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.repository.CategoryRepository;
+import com.pm.expenseservice.repository.TransactionRepository;
+import com.pm.expenseservice.service.DashboardService;
+import com.pm.expenseservice.service.TransactionPartitionService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a seeded transactions table to monthly partitions and checks that the dashboard and
+ * month-filtered list queries only touch the partitions for their date range.
+ *
+ * The dataset ends today so the partitions created ahead of the current month are part of the
+ * picture, as they would be in production.
+ */
+@Tag("db-perf")
+@SpringBootTest(classes = {ExpenseServiceApplication.class, QueryPlanCaptureConfig.class},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class PartitionPruningTest extends EmbeddedPostgresTest {
+
+    private static final int USERS = 200;
+    private static final long FIRST_USER_ID = 100_000;
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final YearMonth LAST_MONTH = YearMonth.from(TODAY).minusMonths(1);
+    private static final double TIME_BUDGET_MS = 50;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionPartitionService partitionService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private QueryPlanCapture capture;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private QueryPlanInspector inspector;
+    private long userId;
+    private long rowsBefore;
+
+    @BeforeAll
+    void seedAndMigrate() throws Exception {
+        loadDataset(USERS, FIRST_USER_ID, new TransactionHistoryModel(7, 3, TODAY));
+        rowsBefore = count("transactions");
+
+        partitionService.migrateToPartitioned();
+
+        userId = jdbcTemplate.queryForObject("SELECT user_id FROM (SELECT user_id, count(*) c FROM transactions "
+                + "GROUP BY user_id ORDER BY c OFFSET " + USERS / 2 + " LIMIT 1) t", Long.class);
+        inspector = new QueryPlanInspector(dataSource, Path.of("target", "query-plans", "partitioned"));
+    }
+
+    @Test
+    void migrationKeepsRowsAndAcceptsInserts() {
+        assertThat(partitionService.isPartitioned("transactions")).isTrue();
+        assertThat(count("transactions")).isEqualTo(rowsBefore);
+        assertThat(count("transactions_unpartitioned")).isEqualTo(rowsBefore);
+
+        Transaction saved = transactionRepository.save(Transaction.builder()
+                .userId(userId)
+                .category(categoryRepository.findById(3L).orElseThrow())
+                .amount(new BigDecimal("12.50"))
+                .type(TransactionType.EXPENSE)
+                .description("After partitioning")
+                .transactionDate(TODAY)
+                .build());
+
+        Long maxBefore = jdbcTemplate.queryForObject("SELECT max(id) FROM transactions_unpartitioned", Long.class);
+        assertThat(saved.getId()).isGreaterThan(maxBefore);
+        assertThat(jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM transactions WHERE id = ?",
+                String.class, saved.getId())).isEqualTo("transactions_p%d_%02d".formatted(TODAY.getYear(), TODAY.getMonthValue()));
+        transactionRepository.delete(saved);
+    }
+
+    @Test
+    void monthQueriesTouchOnePartition() throws Exception {
+        LocalDate start = LAST_MONTH.atDay(1);
+        LocalDate end = LAST_MONTH.atEndOfMonth();
+        PlanBudget onePartition = PlanBudget.of(Long.MAX_VALUE, TIME_BUDGET_MS).partitions(1);
+
+        assertWithinBudget("sumByUserAndTypeAndDateRange",
+                () -> transactionRepository.sumByUserAndTypeAndDateRange(userId, TransactionType.EXPENSE, start, end),
+                onePartition);
+        assertWithinBudget("sumByCategory",
+                () -> transactionRepository.sumByCategory(userId, TransactionType.EXPENSE, start, end),
+                onePartition);
+        assertWithinBudget("findByUserIdAndTypeAndDateRange",
+                () -> transactionRepository.findByUserIdAndTypeAndDateRange(userId, TransactionType.EXPENSE, start, end),
+                onePartition);
+        assertWithinBudget("findUserTransactionsWithFilters-month",
+                () -> transactionRepository.findUserTransactionsWithFilters(userId, null, null, start, end,
+                        PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "transactionDate"))),
+                onePartition);
+    }
+
+    @Test
+    void monthlyTrendsTouchSixPartitions() throws Exception {
+        LocalDate trendStart = YearMonth.from(TODAY).minusMonths(5).atDay(1);
+        assertWithinBudget("getMonthlyTrends",
+                () -> transactionRepository.getMonthlyTrends(userId, trendStart, trendStart.plusMonths(6)),
+                PlanBudget.of(Long.MAX_VALUE, TIME_BUDGET_MS).partitions(6));
+    }
+
+    @Test
+    void recentTransactionsReadOnlyTheNewestEntries() throws Exception {
+        // Entry time does not prune partitions; the (user_id, created_at) index bounds each one to the limit
+        long partitions = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_inherits "
+                + "WHERE inhparent = 'transactions'::regclass", Long.class);
+        assertWithinBudget("findTop10ByUserIdAndCreatedAtGreaterThanEqual",
+                () -> transactionRepository.findTop10ByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                        userId, LocalDateTime.now().minusDays(90)),
+                PlanBudget.of(10 * partitions, TIME_BUDGET_MS));
+    }
+
+    @Test
+    void backdatedEntryIsRecent() {
+        // Entered now for a date a year back, behind ten or more newer-dated transactions
+        Transaction backdated = transactionRepository.save(Transaction.builder()
+                .userId(userId)
+                .category(categoryRepository.findById(3L).orElseThrow())
+                .amount(new BigDecimal("42.00"))
+                .type(TransactionType.EXPENSE)
+                .description("Backdated entry")
+                .transactionDate(TODAY.minusYears(1))
+                .build());
+        try {
+            List<TransactionResponseDto> recent = dashboardService.getDashboard(userId, TODAY.getYear(),
+                    TODAY.getMonthValue()).getRecentTransactions();
+            assertThat(recent).hasSize(10);
+            assertThat(recent.get(0).getId()).isEqualTo(backdated.getId());
+        } finally {
+            transactionRepository.delete(backdated);
+        }
+    }
+
+    private void assertWithinBudget(String name, Runnable call, PlanBudget budget) throws Exception {
+        List<CapturedQuery> queries = capture.capture(call);
+        assertThat(inspector.inspect(name, queries, budget)).isEmpty();
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Records the SQL and bound parameters of every SELECT executed on the calling thread while
+ * {@link #capture(Runnable)} runs, so the exact statements Hibernate produced can be re-run
+ * under EXPLAIN.
+ */
+public class QueryPlanCapture implements QueryExecutionListener {
+
+    private final ThreadLocal<List<CapturedQuery>> current = new ThreadLocal<>();
+
+    public List<CapturedQuery> capture(Runnable action) {
+        List<CapturedQuery> queries = new ArrayList<>();
+        current.set(queries);
+        try {
+            action.run();
+        } finally {
+            current.remove();
+        }
+        return queries;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<CapturedQuery> queries = current.get();
+        if (queries == null) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (!queryInfo.getQuery().trim().regionMatches(true, 0, "select", 0, 6)) {
+                continue;
+            }
+            List<BoundParameter> parameters = new ArrayList<>();
+            if (!queryInfo.getParametersList().isEmpty()) {
+                TreeMap<Integer, BoundParameter> byIndex = new TreeMap<>();
+                for (ParameterSetOperation operation : queryInfo.getParametersList().get(0)) {
+                    Object[] args = operation.getArgs();
+                    if (!(args[0] instanceof Integer index)) {
+                        continue; // named parameters are not used by Hibernate
+                    }
+                    boolean isNull = "setNull".equals(operation.getMethod().getName());
+                    byIndex.put(index, isNull
+                            ? BoundParameter.nullOf((Integer) args[1])
+                            : BoundParameter.of(args[1]));
+                }
+                parameters.addAll(byIndex.values());
+            }
+            queries.add(new CapturedQuery(queryInfo.getQuery(), parameters));
+        }
+    }
+
+    public record CapturedQuery(String sql, List<BoundParameter> parameters) {
+    }
+
+    public record BoundParameter(Object value, Integer nullSqlType) {
+
+        static BoundParameter of(Object value) {
+            return new BoundParameter(value, null);
+        }
+
+        static BoundParameter nullOf(int sqlType) {
+            return new BoundParameter(null, sqlType);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers {@link QueryPlanCapture} as a datasource-proxy listener for tests that inspect plans.
+ */
+@TestConfiguration
+class QueryPlanCaptureConfig {
+
+    @Bean
+    QueryPlanCapture queryPlanCapture() {
+        return new QueryPlanCapture();
+    }
+}
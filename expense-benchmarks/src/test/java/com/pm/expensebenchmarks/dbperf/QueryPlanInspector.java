@@ -0,0 +1,174 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pm.expensebenchmarks.dbperf.QueryPlanCapture.BoundParameter;
+import com.pm.expensebenchmarks.dbperf.QueryPlanCapture.CapturedQuery;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Re-runs captured statements under {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)}, writes each
+ * plan to target/query-plans for diffing, and checks it against a {@link PlanBudget}.
+ */
+public class QueryPlanInspector {
+
+    private static final String TRANSACTIONS = "transactions";
+
+    private final DataSource dataSource;
+    private final Path outputDir;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public QueryPlanInspector(DataSource dataSource, Path outputDir) {
+        this.dataSource = dataSource;
+        this.outputDir = outputDir;
+    }
+
+    /**
+     * Returns one violation message per budget breach across all captured statements; empty when all pass.
+     */
+    public List<String> inspect(String name, List<CapturedQuery> queries, PlanBudget budget) throws Exception {
+        if (queries.isEmpty()) {
+            return List.of(name + ": no SELECT statements were captured");
+        }
+        List<String> violations = new ArrayList<>();
+        for (int i = 0; i < queries.size(); i++) {
+            CapturedQuery query = queries.get(i);
+            JsonNode explain = explain(query);
+            write(queries.size() == 1 ? name : name + "-" + (i + 1), query, explain);
+
+            JsonNode plan = explain.get(0).get("Plan");
+            double executionMs = explain.get(0).get("Execution Time").asDouble();
+            long rowsExamined = rowsExamined(plan);
+            String label = name + " [" + query.sql().replaceAll("\\s+", " ") + "]";
+
+            if (budget.maxPartitions() > 0 && partitionsScanned(plan) > budget.maxPartitions()) {
+                violations.add(label + ": scanned " + partitionsScanned(plan) + " " + TRANSACTIONS
+                        + " partitions, budget " + budget.maxPartitions());
+            }
+            if (containsSeqScan(plan)) {
+                violations.add(label + ": sequential scan on " + TRANSACTIONS);
+            }
+            if (rowsExamined > budget.maxRowsExamined()) {
+                violations.add(label + ": examined " + rowsExamined + " " + TRANSACTIONS
+                        + " rows, budget " + budget.maxRowsExamined());
+            }
+            if (executionMs > budget.maxExecutionMs()) {
+                violations.add(label + ": took " + executionMs + " ms, budget " + budget.maxExecutionMs() + " ms");
+            }
+        }
+        return violations;
+    }
+
+    private JsonNode explain(CapturedQuery query) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + query.sql())) {
+            int index = 1;
+            for (BoundParameter parameter : query.parameters()) {
+                if (parameter.nullSqlType() != null) {
+                    statement.setNull(index++, parameter.nullSqlType());
+                } else {
+                    statement.setObject(index++, parameter.value());
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return objectMapper.readTree(resultSet.getString(1));
+            }
+        }
+    }
+
+    private void write(String name, CapturedQuery query, JsonNode explain) throws IOException {
+        Files.createDirectories(outputDir);
+        objectMapper.writeValue(outputDir.resolve(name + ".json").toFile(),
+                objectMapper.createObjectNode()
+                        .put("sql", query.sql())
+                        .set("explain", explain));
+    }
+
+    private static boolean containsSeqScan(JsonNode node) {
+        // Empty partitions (months ahead, the default) are seq-scanned at no cost
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && isTransactions(node) && rowsRead(node) > 0) {
+            return true;
+        }
+        for (JsonNode child : node.path("Plans")) {
+            if (containsSeqScan(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Rows produced plus rows discarded by filters, per loop, summed over every node reading transactions
+    private static long rowsExamined(JsonNode node) {
+        long rows = 0;
+        if (isTransactions(node)) {
+            rows += rowsRead(node);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            rows += rowsExamined(child);
+        }
+        return rows;
+    }
+
+    private static long rowsRead(JsonNode node) {
+        long perLoop = node.path("Actual Rows").asLong()
+                + node.path("Rows Removed by Filter").asLong()
+                + node.path("Rows Removed by Index Recheck").asLong();
+        return perLoop * Math.max(1, node.path("Actual Loops").asLong());
+    }
+
+    // Distinct partitions actually executed; pruned ones are absent from the plan or never executed
+    private static long partitionsScanned(JsonNode plan) {
+        Set<String> partitions = new HashSet<>();
+        collectPartitions(plan, partitions);
+        return partitions.size();
+    }
+
+    private static void collectPartitions(JsonNode node, Set<String> partitions) {
+        String relation = node.path("Relation Name").asText();
+        boolean executed = !node.has("Actual Loops") || node.path("Actual Loops").asLong() > 0;
+        if (relation.startsWith(TRANSACTIONS + "_p") && executed) {
+            partitions.add(relation);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectPartitions(child, partitions);
+        }
+    }
+
+    // The parent table, or one of its monthly partitions once the table is partitioned
+    private static boolean isTransactions(JsonNode node) {
+        String relation = node.path("Relation Name").asText();
+        return TRANSACTIONS.equals(relation) || relation.startsWith(TRANSACTIONS + "_p");
+    }
+
+    /**
+     * Upper bounds for one repository call; the time bound is scaled by {@code -Ddbperf.time-factor}
+     * for slower machines.
+     */
+    public record PlanBudget(long maxRowsExamined, double maxExecutionMs, int maxPartitions) {
+
+        private static final double TIME_FACTOR = Double.parseDouble(System.getProperty("dbperf.time-factor", "1"));
+
+        public static PlanBudget of(long maxRowsExamined, double maxExecutionMs) {
+            return new PlanBudget(maxRowsExamined, maxExecutionMs * TIME_FACTOR, 0);
+        }
+
+        public PlanBudget partitions(int maxPartitions) {
+            return new PlanBudget(maxRowsExamined, maxExecutionMs, maxPartitions);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import com.pm.expensebenchmarks.dataset.TransactionHistoryModel;
+import com.pm.expenseservice.ExpenseServiceApplication;
+import com.pm.expenseservice.dto.request.BudgetDto;
+import com.pm.expenseservice.dto.request.RecurringTransactionDto;
+import com.pm.expenseservice.dto.response.RecurringTransactionResponseDto;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.repository.TransactionRepository;
+import com.pm.expenseservice.repository.TransactionRepository.CategorySummaryProjection;
+import com.pm.expenseservice.service.BudgetService;
+import com.pm.expenseservice.service.DailyLedgerService;
+import com.pm.expenseservice.service.RecurringTransactionService;
+import com.pm.expenseservice.util.Money;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Materializes recurring templates over a small dataset, checks that a rerun or a rewound
+ * schedule never duplicates an occurrence, that the ledger and budget counters match raw sums
+ * afterwards, that an edit does not undo a concurrent scheduler advance, and that finding due
+ * templates reads the due-time index rather than every template.
+ */
+@SpringBootTest(classes = ExpenseServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RecurringTransactionTest extends EmbeddedPostgresTest {
+
+    private static final int USERS = 4;
+    private static final long FIRST_USER_ID = 600_000;
+    private static final int IDLE_TEMPLATES = 20_000;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @Autowired
+    private DailyLedgerService dailyLedgerService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> userIds;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("app.recurring.enabled", () -> "false");
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        loadDataset(USERS, FIRST_USER_ID, new TransactionHistoryModel(29, 1, TODAY));
+        dailyLedgerService.rebuild();
+        budgetService.rebuild();
+        userIds = jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM transactions ORDER BY user_id", Long.class);
+    }
+
+    @Test
+    void materializesEachOccurrenceOnceAndKeepsRollupsInStep() {
+        long rentUser = userIds.get(0);
+        long salaryUser = userIds.get(1);
+        long rentCategory = systemCategory(TransactionType.EXPENSE);
+        budgetService.createBudget(rentUser, BudgetDto.builder()
+                .categoryId(rentCategory)
+                .monthlyAmount(new BigDecimal("5000.00"))
+                .build());
+
+        LocalDate rentStart = TODAY.minusMonths(3).withDayOfMonth(1);
+        RecurringTransactionResponseDto rent = template(rentUser, rentCategory, TransactionType.EXPENSE,
+                "1200.00", "FREQ=MONTHLY;BYMONTHDAY=1", rentStart);
+        LocalDate salaryStart = TODAY.minusDays(20);
+        RecurringTransactionResponseDto salary = template(salaryUser, systemCategory(TransactionType.INCOME),
+                TransactionType.INCOME, "950.00", "FREQ=WEEKLY", salaryStart);
+        RecurringTransactionResponseDto future = template(salaryUser, systemCategory(TransactionType.INCOME),
+                TransactionType.INCOME, "10.00", "FREQ=DAILY", TODAY.plusDays(1));
+        assertThat(rent.getNextOccurrence()).isEqualTo(rentStart);
+
+        // Rent on the 1st of this and the previous three months; salary on days 0, 7 and 14
+        assertThat(recurringTransactionService.materializeDue(TODAY)).isEqualTo(7);
+        assertThat(materialized(rent.getId())).isEqualTo(4);
+        assertThat(materialized(salary.getId())).isEqualTo(3);
+        assertThat(materialized(future.getId())).isZero();
+        assertThat(nextOccurrence(rent.getId())).isEqualTo(YearMonth.from(TODAY).plusMonths(1).atDay(1));
+        assertThat(nextOccurrence(salary.getId())).isEqualTo(salaryStart.plusDays(21));
+
+        // Nothing is due again, and a schedule rewound to its start finds every occurrence already there
+        assertThat(recurringTransactionService.materializeDue(TODAY)).isZero();
+        jdbcTemplate.update("UPDATE recurring_transactions SET next_occurrence = start_date, last_occurrence = NULL, "
+                + "occurrence_count = 0 WHERE id IN (?, ?)", rent.getId(), salary.getId());
+        assertThat(recurringTransactionService.materializeDue(TODAY)).isZero();
+        assertThat(materialized(rent.getId())).isEqualTo(4);
+        assertThat(materialized(salary.getId())).isEqualTo(3);
+
+        assertLedgerMatchesTransactions(rentUser, TransactionType.EXPENSE, rentStart);
+        assertLedgerMatchesTransactions(salaryUser, TransactionType.INCOME, salaryStart);
+        YearMonth month = YearMonth.from(TODAY);
+        BigDecimal rawSpend = rawTotals(rentUser, TransactionType.EXPENSE, month.atDay(1), month.atEndOfMonth())
+                .getOrDefault(rentCategory, BigDecimal.ZERO);
+        assertThat(jdbcTemplate.queryForObject("SELECT spent_amount FROM budget_spend "
+                + "WHERE user_id = ? AND category_id = ? AND month = ?", BigDecimal.class,
+                rentUser, rentCategory, Date.valueOf(month.atDay(1)))).isEqualByComparingTo(rawSpend);
+    }
+
+    @Test
+    @Tag("db-perf")
+    void dueTemplatesAreFoundThroughTheIndex() {
+        long userId = userIds.get(2);
+        long categoryId = systemCategory(TransactionType.EXPENSE);
+        jdbcTemplate.update("INSERT INTO recurring_transactions (user_id, category_id, amount, type, description, "
+                + "recurrence_rule, start_date, next_occurrence, occurrence_count, active, created_at, updated_at) "
+                + "SELECT ?, ?, 9.99, 'EXPENSE', 'Subscription', 'FREQ=MONTHLY', CAST(? AS date), "
+                + "CAST(? AS date) + (g % 28) + 1, 0, true, now(), now() FROM generate_series(1, ?) g",
+                userId, categoryId, Date.valueOf(TODAY), Date.valueOf(TODAY), IDLE_TEMPLATES);
+        jdbcTemplate.execute("ANALYZE recurring_transactions");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT id FROM recurring_transactions "
+                + "WHERE next_occurrence <= ? ORDER BY next_occurrence, id LIMIT 500 FOR UPDATE SKIP LOCKED",
+                String.class, Date.valueOf(TODAY)));
+        assertThat(plan).contains("idx_recurring_next_occurrence").doesNotContain("Seq Scan");
+        assertThat(recurringTransactionService.materializeDue(TODAY)).isZero();
+    }
+
+    @Test
+    void editWaitsForTheSchedulerAndKeepsItsProgress() throws Exception {
+        long userId = userIds.get(3);
+        long categoryId = systemCategory(TransactionType.EXPENSE);
+        LocalDate start = TODAY.minusDays(10);
+        RecurringTransactionResponseDto gym = template(userId, categoryId, TransactionType.EXPENSE,
+                "30.00", "FREQ=WEEKLY", start);
+
+        // Stands in for a materializer batch that has locked the template and is about to advance it
+        CountDownLatch locked = new CountDownLatch(1);
+        Future<?> scheduler = Executors.newSingleThreadExecutor().submit(() -> {
+            try (Connection connection = rawDataSource().getConnection()) {
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT id FROM recurring_transactions WHERE id = " + gym.getId() + " FOR UPDATE");
+                    locked.countDown();
+                    Thread.sleep(500);
+                    statement.executeUpdate("UPDATE recurring_transactions SET occurrence_count = 2, "
+                            + "last_occurrence = '" + start.plusDays(7) + "', next_occurrence = '"
+                            + start.plusDays(14) + "' WHERE id = " + gym.getId());
+                }
+                connection.commit();
+            }
+            return null;
+        });
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        recurringTransactionService.updateRecurringTransaction(userId, gym.getId(), RecurringTransactionDto.builder()
+                .categoryId(categoryId)
+                .amount(new BigDecimal("35.00"))
+                .type(TransactionType.EXPENSE)
+                .description("Gym")
+                .recurrenceRule("FREQ=WEEKLY")
+                .startDate(start)
+                .build());
+        scheduler.get(10, TimeUnit.SECONDS);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT occurrence_count FROM recurring_transactions WHERE id = ?",
+                Integer.class, gym.getId())).isEqualTo(2);
+        assertThat(nextOccurrence(gym.getId())).isEqualTo(start.plusDays(14));
+    }
+
+    private RecurringTransactionResponseDto template(long userId, long categoryId, TransactionType type,
+                                                     String amount, String rule, LocalDate startDate) {
+        return recurringTransactionService.createRecurringTransaction(userId, RecurringTransactionDto.builder()
+                .categoryId(categoryId)
+                .amount(new BigDecimal(amount))
+                .type(type)
+                .description("Recurring test")
+                .recurrenceRule(rule)
+                .startDate(startDate)
+                .build());
+    }
+
+    private void assertLedgerMatchesTransactions(long userId, TransactionType type, LocalDate from) {
+        Map<Long, BigDecimal> raw = rawTotals(userId, type, from, TODAY);
+        Map<Long, Money> ledger = dailyLedgerService.rangeTotals(userId, from, TODAY);
+        raw.forEach((categoryId, total) -> assertThat(ledger.getOrDefault(categoryId, Money.ZERO).toBigDecimal())
+                .as("category %d", categoryId).isEqualByComparingTo(total));
+    }
+
+    private Map<Long, BigDecimal> rawTotals(long userId, TransactionType type, LocalDate from, LocalDate to) {
+        return transactionRepository.sumLiveByCategory(userId, type, from, to).stream()
+                .collect(Collectors.toMap(CategorySummaryProjection::getCategoryId,
+                        CategorySummaryProjection::getTotal));
+    }
+
+    private long systemCategory(TransactionType type) {
+        return jdbcTemplate.queryForObject("SELECT min(id) FROM categories WHERE is_system = true AND type = ?",
+                Long.class, type.name());
+    }
+
+    private int materialized(long recurringId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM transactions WHERE recurring_id = ?",
+                Integer.class, recurringId);
+    }
+
+    private LocalDate nextOccurrence(long recurringId) {
+        return jdbcTemplate.queryForObject("SELECT next_occurrence FROM recurring_transactions WHERE id = ?",
+                LocalDate.class, recurringId);
+    }
+}
@@ -0,0 +1,177 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import com.pm.expensebenchmarks.dataset.DatasetGenerator;
+import com.pm.expensebenchmarks.dataset.TransactionHistoryModel;
+import com.pm.expensebenchmarks.dbperf.QueryPlanCapture.CapturedQuery;
+import com.pm.expensebenchmarks.dbperf.QueryPlanInspector.PlanBudget;
+import com.pm.expenseservice.ExpenseServiceApplication;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.repository.CategoryRepository;
+import com.pm.expenseservice.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression checks for the repository queries behind the dashboard, transaction list and
+ * export, against a real PostgreSQL seeded by {@link DatasetGenerator}. Each test captures the
+ * SQL Hibernate actually issued and fails on a sequential scan of transactions or when the
+ * statement reads more rows, or takes longer, than its budget.
+ *
+ * Row budgets are derived from the seeded data: a query for one month may read that user's rows
+ * for the month and nothing else, which is what the (user_id, transaction_date) index gives.
+ *
+ * Run with: mvn -pl expense-service,expense-benchmarks -am verify -Pdb-perf
+ */
+@Tag("db-perf")
+@SpringBootTest(classes = {ExpenseServiceApplication.class, QueryPlanCaptureConfig.class},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RepositoryQueryPlanTest extends EmbeddedPostgresTest {
+
+    private static final int USERS = 400;
+    private static final long FIRST_USER_ID = 100_000;
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+    private static final LocalDate MONTH_START = LocalDate.of(2024, 5, 1);
+    private static final LocalDate MONTH_END = LocalDate.of(2024, 5, 31);
+    private static final double TIME_BUDGET_MS = 50;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private QueryPlanCapture capture;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private QueryPlanInspector inspector;
+    private long userId;
+    private long userRows;
+    private long userMonthRows;
+    private long userRowsSinceTrendStart;
+    private long transactionId;
+
+    @BeforeAll
+    void seed() throws Exception {
+        loadDataset(USERS, FIRST_USER_ID, new TransactionHistoryModel(42, 3, TODAY));
+        DataSource raw = rawDataSource();
+
+        // The median user is the typical dashboard request; heavy outliers get bitmap scans by design
+        userId = queryLong(raw, "SELECT user_id FROM (SELECT user_id, count(*) c FROM transactions "
+                + "GROUP BY user_id ORDER BY c OFFSET " + USERS / 2 + " LIMIT 1) t");
+        userRows = queryLong(raw, "SELECT count(*) FROM transactions WHERE user_id = " + userId);
+        userMonthRows = queryLong(raw, "SELECT count(*) FROM transactions WHERE user_id = " + userId
+                + " AND transaction_date BETWEEN '" + MONTH_START + "' AND '" + MONTH_END + "'");
+        userRowsSinceTrendStart = queryLong(raw, "SELECT count(*) FROM transactions WHERE user_id = " + userId
+                + " AND transaction_date >= '" + trendStart() + "'");
+        transactionId = queryLong(raw, "SELECT max(id) FROM transactions WHERE user_id = " + userId);
+
+        inspector = new QueryPlanInspector(dataSource, Path.of("target", "query-plans"));
+    }
+
+    @Test
+    void findByIdAndUserId() throws Exception {
+        assertWithinBudget("findByIdAndUserId",
+                () -> transactionRepository.findByIdAndUserId(transactionId, userId),
+                PlanBudget.of(1, TIME_BUDGET_MS));
+    }
+
+    @Test
+    void findUserTransactionsWithFiltersUnfiltered() throws Exception {
+        // The page query reads 20 rows; the count query reads the user's full history
+        assertWithinBudget("findUserTransactionsWithFilters-unfiltered",
+                () -> transactionRepository.findUserTransactionsWithFilters(userId, null, null, null, null,
+                        PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "transactionDate"))),
+                PlanBudget.of(userRows, TIME_BUDGET_MS));
+    }
+
+    @Test
+    void findUserTransactionsWithFiltersForMonth() throws Exception {
+        assertWithinBudget("findUserTransactionsWithFilters-month",
+                () -> transactionRepository.findUserTransactionsWithFilters(userId, TransactionType.EXPENSE, null,
+                        MONTH_START, MONTH_END, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "transactionDate"))),
+                PlanBudget.of(userMonthRows, TIME_BUDGET_MS));
+    }
+
+    @Test
+    void sumByUserAndTypeAndDateRange() throws Exception {
+        assertWithinBudget("sumByUserAndTypeAndDateRange",
+                () -> transactionRepository.sumByUserAndTypeAndDateRange(userId, TransactionType.EXPENSE,
+                        MONTH_START, MONTH_END),
+                PlanBudget.of(userMonthRows, TIME_BUDGET_MS));
+    }
+
+    @Test
+    void sumByCategory() throws Exception {
+        assertWithinBudget("sumByCategory",
+                () -> transactionRepository.sumByCategory(userId, TransactionType.EXPENSE, MONTH_START, MONTH_END),
+                PlanBudget.of(userMonthRows, TIME_BUDGET_MS));
+    }
+
+    @Test
+    void findTop10ByUserIdOrderByCreatedAtDesc() throws Exception {
+        // Read newest-first from idx_user_created_at, stopping at the limit
+        assertWithinBudget("findTop10ByUserIdOrderByCreatedAtDesc",
+                () -> transactionRepository.findTop10ByUserIdOrderByCreatedAtDesc(userId),
+                PlanBudget.of(10, TIME_BUDGET_MS));
+    }
+
+    @Test
+    void getMonthlyTrends() throws Exception {
+        assertWithinBudget("getMonthlyTrends",
+                () -> transactionRepository.getMonthlyTrends(userId, trendStart(), trendStart().plusMonths(6)),
+                PlanBudget.of(userRowsSinceTrendStart, TIME_BUDGET_MS));
+    }
+
+    @Test
+    void findByUserIdAndTypeAndDateRange() throws Exception {
+        assertWithinBudget("findByUserIdAndTypeAndDateRange",
+                () -> transactionRepository.findByUserIdAndTypeAndDateRange(userId, TransactionType.EXPENSE,
+                        MONTH_START, MONTH_END),
+                PlanBudget.of(userMonthRows, TIME_BUDGET_MS));
+    }
+
+    @Test
+    void findAllCategoriesForUser() throws Exception {
+        assertWithinBudget("findAllForUser",
+                () -> categoryRepository.findAllForUser(userId),
+                PlanBudget.of(0, TIME_BUDGET_MS));
+    }
+
+    private void assertWithinBudget(String name, Runnable call, PlanBudget budget) throws Exception {
+        List<CapturedQuery> queries = capture.capture(call);
+        assertThat(inspector.inspect(name, queries, budget)).isEmpty();
+    }
+
+    // Same window DashboardService uses for the 6-month trend
+    private static LocalDate trendStart() {
+        return TODAY.minusMonths(5).withDayOfMonth(1);
+    }
+
+    private static long queryLong(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.pm.expensebenchmarks.dbperf;
+
+import com.pm.expensebenchmarks.dataset.TransactionHistoryModel;
+import com.pm.expenseservice.ExpenseServiceApplication;
+import com.pm.expenseservice.entity.Transaction;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.repository.CategoryRepository;
+import com.pm.expenseservice.repository.TransactionArchiveStore;
+import com.pm.expenseservice.repository.TransactionRepository;
+import com.pm.expenseservice.repository.TransactionRepository.CategorySummaryProjection;
+import com.pm.expenseservice.repository.TransactionRepository.MonthlyTrendProjection;
+import com.pm.expenseservice.service.TransactionArchiveService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archives everything older than the retention window of a three-year dataset and checks that
+ * the repository's range reads return the same answers from the archive files as they did from
+ * the table.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(classes = ExpenseServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TransactionArchiveTest extends EmbeddedPostgresTest {
+
+    private static final int USERS = 40;
+    private static final long FIRST_USER_ID = 200_000;
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate HISTORY_START = YearMonth.from(TODAY).minusYears(3).atDay(1);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private TransactionArchiveStore archiveStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private LocalDate partialStart;
+    private Snapshot before;
+
+    private record Snapshot(BigDecimal income, BigDecimal expense, BigDecimal partialExpense,
+                            List<String> categories, List<String> trends, List<String> expenses) {
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("app.archive.directory", () -> Path.of("target", "archive-test").toAbsolutePath().toString());
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        loadDataset(USERS, FIRST_USER_ID, new TransactionHistoryModel(11, 3, TODAY));
+        userId = jdbcTemplate.queryForObject("SELECT user_id FROM (SELECT user_id, count(*) c FROM transactions "
+                + "GROUP BY user_id ORDER BY c OFFSET " + USERS / 2 + " LIMIT 1) t", Long.class);
+        // Starts mid-month inside the archived range so one month is read from its file, not its rollup
+        partialStart = archiveStore.cutoff().minusMonths(6).atDay(15);
+        before = snapshot();
+    }
+
+    @Test
+    @Order(1)
+    void archivedReadsMatchTableReads() {
+        long total = count("SELECT count(*) FROM transactions");
+        long old = count("SELECT count(*) FROM transactions WHERE transaction_date < '" + archiveStore.cutoff().atDay(1) + "'");
+
+        assertThat(archiveService.archive()).isEqualTo(old);
+
+        assertThat(count("SELECT count(*) FROM transactions")).isEqualTo(total - old);
+        assertThat(count("SELECT count(*) FROM monthly_summaries WHERE archived_at IS NOT NULL")).isPositive();
+        assertThat(snapshot()).isEqualTo(before);
+    }
+
+    @Test
+    @Order(2)
+    void backdatedTransactionIsMergedIntoNewVersion() {
+        LocalDate archivedDay = archiveStore.cutoff().minusMonths(3).atDay(10);
+        transactionRepository.save(Transaction.builder()
+                .userId(userId)
+                .category(categoryRepository.findById(3L).orElseThrow())
+                .amount(new BigDecimal("19.99"))
+                .type(TransactionType.EXPENSE)
+                .description("Backdated")
+                .transactionDate(archivedDay)
+                .build());
+        BigDecimal expected = before.expense().add(new BigDecimal("19.99"));
+        assertThat(expenseTotal()).isEqualByComparingTo(expected);
+
+        assertThat(archiveService.archive()).isEqualTo(1);
+
+        assertThat(expenseTotal()).isEqualByComparingTo(expected);
+        assertThat(jdbcTemplate.queryForObject("SELECT archive_version FROM monthly_summaries "
+                        + "WHERE user_id = ? AND year = ? AND month = ?", Integer.class,
+                userId, archivedDay.getYear(), archivedDay.getMonthValue())).isEqualTo(2);
+    }
+
+    private Snapshot snapshot() {
+        return new Snapshot(
+                transactionRepository.sumByUserAndTypeAndDateRange(userId, TransactionType.INCOME, HISTORY_START, TODAY)
+                        .stripTrailingZeros(),
+                expenseTotal().stripTrailingZeros(),
+                transactionRepository.sumByUserAndTypeAndDateRange(userId, TransactionType.EXPENSE, partialStart, TODAY)
+                        .stripTrailingZeros(),
+                transactionRepository.sumByCategory(userId, TransactionType.EXPENSE, partialStart, TODAY).stream()
+                        .map(this::describe).toList(),
+                // Types within a month come back in no particular order
+                transactionRepository.getMonthlyTrends(userId, partialStart, TODAY.plusDays(1)).stream()
+                        .map(this::describe).sorted().toList(),
+                transactionRepository.findByUserIdAndTypeAndDateRange(userId, TransactionType.EXPENSE, partialStart, TODAY)
+                        .stream().map(t -> t.getId() + "@" + t.getTransactionDate() + "=" + t.getAmount().stripTrailingZeros())
+                        .sorted().toList());
+    }
+
+    private BigDecimal expenseTotal() {
+        return transactionRepository.sumByUserAndTypeAndDateRange(userId, TransactionType.EXPENSE, HISTORY_START, TODAY);
+    }
+
+    private String describe(CategorySummaryProjection summary) {
+        return summary.getCategoryId() + ":" + summary.getCategoryName() + "=" + summary.getTotal().stripTrailingZeros();
+    }
+
+    private String describe(MonthlyTrendProjection trend) {
+        return trend.getYear() + "-" + trend.getMonth() + ":" + trend.getType() + "=" + trend.getTotal().stripTrailingZeros();
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.pm.expenseservice.client;
+
+import com.pm.expenseservice.dto.request.ProfileSyncEventDto;
+import com.pm.expenseservice.dto.response.AuthUserInfoDto;
+import com.pm.expenseservice.exception.ServiceUnavailableException;
+import com.pm.expenseservice.security.ServiceTokenAuthenticationFilter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Calls to auth-service. Every call goes through a bulkhead (bounded concurrent calls, no queueing)
+ * and a circuit breaker, so a slow or failing auth-service cannot tie up request threads.
+ */
+@Slf4j
+public class AuthServiceClient {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<AuthUserInfoDto>> USER_LIST_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public AuthServiceClient(RestTemplate restTemplate, String baseUrl,
+                             CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * GET /api/v1/auth/profile, returning the "data" object of the response.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getProfile(String bearerToken) {
+        ResponseEntity<Map<String, Object>> response = execute(() -> restTemplate.exchange(
+                baseUrl + "/api/v1/auth/profile", HttpMethod.GET,
+                new HttpEntity<>(headers(bearerToken)), MAP_TYPE));
+
+        Map<String, Object> body = response.getBody();
+        return body != null ? (Map<String, Object>) body.get("data") : null;
+    }
+
+    /**
+     * POST /api/v1/auth/internal/users/profile-sync, authenticated with the shared service token.
+     */
+    public void publishProfileEvent(String serviceToken, ProfileSyncEventDto event) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(ServiceTokenAuthenticationFilter.HEADER, serviceToken);
+
+        execute(() -> restTemplate.exchange(
+                baseUrl + "/api/v1/auth/internal/users/profile-sync", HttpMethod.POST,
+                new HttpEntity<>(event, headers), MAP_TYPE));
+    }
+
+    public void changePassword(String bearerToken, String currentPassword, String newPassword) {
+        execute(() -> restTemplate.exchange(
+                baseUrl + "/api/v1/auth/change-password", HttpMethod.PUT,
+                new HttpEntity<>(Map.of("currentPassword", currentPassword, "newPassword", newPassword),
+                        headers(bearerToken)),
+                MAP_TYPE));
+    }
+
+    /**
+     * POST /api/v1/auth/internal/users/batch: one round trip for many user ids.
+     */
+    public List<AuthUserInfoDto> getUsersBatch(String serviceToken, Collection<Long> userIds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(ServiceTokenAuthenticationFilter.HEADER, serviceToken);
+
+        ResponseEntity<List<AuthUserInfoDto>> response = execute(() -> restTemplate.exchange(
+                baseUrl + "/api/v1/auth/internal/users/batch", HttpMethod.POST,
+                new HttpEntity<>(Map.of("userIds", userIds), headers), USER_LIST_TYPE));
+
+        return response.getBody() != null ? response.getBody() : List.of();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T execute(Supplier<T> call) {
+        Supplier<T> guarded = Bulkhead.decorateSupplier(bulkhead,
+                CircuitBreaker.decorateSupplier(circuitBreaker, call));
+        try {
+            return guarded.get();
+        } catch (BulkheadFullException e) {
+            log.warn("Auth-service bulkhead full, rejecting call");
+            throw new ServiceUnavailableException("Auth service is busy. Please try again shortly.", e);
+        } catch (CallNotPermittedException e) {
+            log.warn("Auth-service circuit breaker is {}, rejecting call", circuitBreaker.getState());
+            throw new ServiceUnavailableException("Auth service is temporarily unavailable.", e);
+        } catch (ResourceAccessException e) {
+            log.warn("Auth-service call failed: {}", e.getMessage());
+            throw new ServiceUnavailableException("Auth service did not respond in time.", e);
+        }
+    }
+
+    private HttpHeaders headers(String bearerToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(bearerToken);
+        return headers;
+    }
+}
@@ -0,0 +1,171 @@
+package com.pm.expenseservice.client;
+
+import com.pm.expenseservice.dto.response.AuthUserInfoDto;
+import com.pm.expenseservice.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves user profiles from auth-service by coalescing concurrent lookups into batch calls.
+ * A lookup for an id that is already in flight shares the pending result, and queued ids are sent
+ * together once the batch window elapses or the batch is full.
+ */
+@Slf4j
+@Component
+public class UserProfileBatchLoader {
+
+    private final AuthServiceClient authServiceClient;
+    private final String serviceToken;
+    private final int maxBatchSize;
+    private final long batchWindowMillis;
+    private final long loadTimeoutMillis;
+
+    private final ConcurrentMap<Long, CompletableFuture<AuthUserInfoDto>> inFlight = new ConcurrentHashMap<>();
+    private final Queue<Long> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    public UserProfileBatchLoader(AuthServiceClient authServiceClient,
+                                  @Value("${app.internal.service-token:}") String serviceToken,
+                                  @Value("${auth.service.batch.max-size:200}") int maxBatchSize,
+                                  @Value("${auth.service.batch.window-ms:5}") long batchWindowMillis,
+                                  @Value("${auth.service.batch.timeout-ms:5000}") long loadTimeoutMillis) {
+        this.authServiceClient = authServiceClient;
+        this.serviceToken = serviceToken;
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindowMillis = batchWindowMillis;
+        this.loadTimeoutMillis = loadTimeoutMillis;
+        this.scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "user-batch-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Completes with the user, or with null if auth-service does not know the id.
+     */
+    public CompletableFuture<AuthUserInfoDto> load(Long userId) {
+        CompletableFuture<AuthUserInfoDto> pending = new CompletableFuture<>();
+        CompletableFuture<AuthUserInfoDto> existing = inFlight.putIfAbsent(userId, pending);
+        if (existing != null) {
+            return existing;
+        }
+
+        queue.add(userId);
+        if (queuedCount.incrementAndGet() >= maxBatchSize) {
+            scheduler.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flushWindow, batchWindowMillis, TimeUnit.MILLISECONDS);
+        }
+        return pending;
+    }
+
+    /**
+     * Blocking lookup of many ids; unknown ids are absent from the result.
+     */
+    public Map<Long, AuthUserInfoDto> loadAll(Collection<Long> userIds) {
+        Map<Long, CompletableFuture<AuthUserInfoDto>> futures = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            futures.computeIfAbsent(userId, this::load);
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                    .get(loadTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while loading users", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new ServiceUnavailableException("Could not load users from auth service", e);
+        }
+
+        Map<Long, AuthUserInfoDto> result = new HashMap<>();
+        futures.forEach((userId, future) -> {
+            AuthUserInfoDto user = future.join();
+            if (user != null) {
+                result.put(userId, user);
+            }
+        });
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void flushWindow() {
+        flushScheduled.set(false);
+        flush();
+    }
+
+    private void flush() {
+        List<Long> batch;
+        while (!(batch = drain()).isEmpty()) {
+            fetch(batch);
+        }
+    }
+
+    private List<Long> drain() {
+        List<Long> batch = new ArrayList<>(Math.min(maxBatchSize, Math.max(queuedCount.get(), 1)));
+        Long userId;
+        while (batch.size() < maxBatchSize && (userId = queue.poll()) != null) {
+            batch.add(userId);
+        }
+        queuedCount.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void fetch(List<Long> batch) {
+        try {
+            Map<Long, AuthUserInfoDto> byId = new HashMap<>();
+            for (AuthUserInfoDto user : authServiceClient.getUsersBatch(serviceToken, batch)) {
+                byId.put(user.getId(), user);
+            }
+            for (Long userId : batch) {
+                complete(userId, byId.get(userId), null);
+            }
+            log.debug("Resolved {} of {} users in one batch", byId.size(), batch.size());
+        } catch (Exception e) {
+            log.warn("Batch user lookup of {} ids failed: {}", batch.size(), e.getMessage());
+            for (Long userId : batch) {
+                complete(userId, null, e);
+            }
+        }
+    }
+
+    private void complete(Long userId, AuthUserInfoDto user, Exception failure) {
+        CompletableFuture<AuthUserInfoDto> future = inFlight.remove(userId);
+        if (future == null) {
+            return;
+        }
+        if (failure != null) {
+            future.completeExceptionally(failure);
+        } else {
+            future.complete(user);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.pm.expenseservice.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -12,6 +13,7 @@ import java.util.concurrent.Executor;
 public class AsyncConfig {
 
     @Bean("taskExecutor")
+    @ConditionalOnProperty(prefix = "app.threads.virtual", name = "enabled", havingValue = "false", matchIfMissing = true)
     public Executor taskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(4); // Minimum number of threads to keep in the pool
@@ -0,0 +1,42 @@
+package com.pm.expenseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool, timeout, bulkhead and circuit breaker settings for calls to auth-service.
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.service.client")
+public class AuthServiceClientProperties {
+
+    private int maxConnections = 50;
+    private int maxConnectionsPerRoute = 20;
+    private Duration connectTimeout = Duration.ofSeconds(1);
+    private Duration responseTimeout = Duration.ofSeconds(3);
+    private Duration connectionRequestTimeout = Duration.ofMillis(500);
+    private Duration idleEvictionInterval = Duration.ofSeconds(30);
+
+    private Bulkhead bulkhead = new Bulkhead();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Data
+    public static class Bulkhead {
+        // Keep at or below maxConnectionsPerRoute so callers are rejected before they queue on the pool
+        private int maxConcurrentCalls = 20;
+        private Duration maxWaitDuration = Duration.ZERO;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 3;
+    }
+}
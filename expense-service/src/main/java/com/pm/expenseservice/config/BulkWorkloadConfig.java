@@ -0,0 +1,148 @@
+package com.pm.expenseservice.config;
+
+import com.pm.expenseservice.enums.Workload;
+import com.pm.expenseservice.util.WorkloadContext;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Isolates file imports and exports from interactive traffic: they run on a small bounded
+ * executor whose threads borrow connections from a separate pool, leaving the whole
+ * spring.datasource pool to dashboard and transaction requests.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkWorkloadProperties.class)
+public class BulkWorkloadConfig {
+
+    public static final String BULK_EXECUTOR = "bulkTaskExecutor";
+
+    // Runs before the datasource-proxy wrapper so statements from both pools are counted
+    @Bean
+    public static WorkloadRoutingPostProcessor workloadRoutingPostProcessor(Environment environment,
+                                                                            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new WorkloadRoutingPostProcessor(environment, meterRegistry);
+    }
+
+    @Bean(BULK_EXECUTOR)
+    public ThreadPoolTaskExecutor bulkTaskExecutor(BulkWorkloadProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getThreads());
+        executor.setMaxPoolSize(properties.getThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("Expense-Bulk-");
+        executor.setTaskDecorator(task -> {
+            SecurityContext context = SecurityContextHolder.getContext();
+            return () -> {
+                SecurityContextHolder.setContext(context);
+                try {
+                    WorkloadContext.runAs(Workload.BULK, task);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            };
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "bulk", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Puts the bulk pool behind the "dataSource" bean. The bulk pool is not a bean itself (a second
+     * DataSource bean would switch off the auto-configured one), so this post processor owns it and
+     * closes it on shutdown.
+     */
+    static class WorkloadRoutingPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+
+        private final Environment environment;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final List<Closeable> pools = new ArrayList<>();
+
+        WorkloadRoutingPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.environment = environment;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof DataSource interactive) {
+                return new WorkloadRoutingDataSource(interactive, bulkDataSource());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            // After the virtual-thread JDBC limit, which applies to the interactive pool only
+            return Ordered.HIGHEST_PRECEDENCE + 10;
+        }
+
+        @Override
+        public void destroy() throws IOException {
+            for (Closeable pool : pools) {
+                pool.close();
+            }
+            pools.clear();
+        }
+
+        // With a replica configured, bulk exports read from it like interactive reads do, over their own connections
+        private DataSource bulkDataSource() {
+            Binder binder = Binder.get(environment);
+            HikariDataSource primary = bulkPool(environment.getRequiredProperty("spring.datasource.url"),
+                    environment.getProperty("spring.datasource.username"),
+                    environment.getProperty("spring.datasource.password"), "bulk");
+            ReplicaDataSourceProperties replica = binder.bind("app.datasource.replica", ReplicaDataSourceProperties.class)
+                    .orElseGet(ReplicaDataSourceProperties::new);
+            if (!replica.isEnabled()) {
+                pools.add(primary);
+                return primary;
+            }
+
+            HikariDataSource replicaPool = bulkPool(replica.getUrl(), replica.getUsername(), replica.getPassword(),
+                    "bulk-replica");
+            replicaPool.setReadOnly(true);
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicaPool, replica.getMaxLag(),
+                    replica.getLagCheckInterval(), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+            routing.afterPropertiesSet();
+            pools.add(routing);
+            return new LazyConnectionDataSourceProxy(routing);
+        }
+
+        private HikariDataSource bulkPool(String url, String username, String password, String poolName) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(url);
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(2);
+            pool.setMinimumIdle(0);
+            Binder.get(environment).bind("app.bulk.pool", Bindable.ofInstance(pool));
+            pool.setPoolName(poolName);
+            meterRegistry.ifAvailable(pool::setMetricRegistry);
+            return pool;
+        }
+    }
+}
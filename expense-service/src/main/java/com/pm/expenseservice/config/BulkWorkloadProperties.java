@@ -0,0 +1,18 @@
+package com.pm.expenseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing of the executor that runs file imports and exports. The matching connection pool
+ * is configured under app.bulk.pool with the usual Hikari property names.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.bulk.executor")
+public class BulkWorkloadProperties {
+
+    private int threads = 2;
+
+    // Jobs waiting beyond this are rejected with 503 instead of piling up request threads
+    private int queueCapacity = 10;
+}
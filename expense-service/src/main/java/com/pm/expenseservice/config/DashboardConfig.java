@@ -0,0 +1,41 @@
+package com.pm.expenseservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@Configuration
+@EnableConfigurationProperties(DashboardProperties.class)
+public class DashboardConfig {
+
+    public static final String DASHBOARD_EXECUTOR = "dashboardTaskExecutor";
+
+    /**
+     * One thread per permit, so a sub-query that obtained a permit never waits for a thread.
+     */
+    @Bean(DASHBOARD_EXECUTOR)
+    public ThreadPoolTaskExecutor dashboardTaskExecutor(DashboardProperties properties,
+                                                         @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        int permits = maxConcurrentQueries(properties, poolSize);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(permits);
+        executor.setMaxPoolSize(permits);
+        executor.setQueueCapacity(permits);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("Expense-Dashboard-");
+        // Replica routing needs the caller's identity for read-your-writes
+        executor.setTaskDecorator(DelegatingSecurityContextRunnable::new);
+        executor.initialize();
+        return executor;
+    }
+
+    public static int maxConcurrentQueries(DashboardProperties properties, int poolSize) {
+        if (properties.getMaxConcurrentQueries() != null) {
+            return properties.getMaxConcurrentQueries();
+        }
+        return Math.max(1, poolSize / 4);
+    }
+}
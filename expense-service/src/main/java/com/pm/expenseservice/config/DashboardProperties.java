@@ -0,0 +1,17 @@
+package com.pm.expenseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Controls whether the dashboard's independent queries run concurrently.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.dashboard.parallel")
+public class DashboardProperties {
+
+    private boolean enabled = false;
+
+    // Sub-queries in flight across all dashboards; defaults to a quarter of the Hikari pool
+    private Integer maxConcurrentQueries;
+}
@@ -0,0 +1,43 @@
+package com.pm.expenseservice.config;
+
+import com.pm.expenseservice.util.SqlStatementListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource so every statement is counted per request and slow ones
+ * are logged, independent of {@code show-sql}. Any {@link QueryExecutionListener} beans
+ * (e.g. test-only plan capture) are attached to the same proxy.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(
+            @Value("${app.sql.slow-query-threshold-ms:200}") long slowQueryThresholdMs,
+            ObjectProvider<QueryExecutionListener> additionalListeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Replica routing is only reached through the (proxied) primary DataSource bean
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                        && !(bean instanceof ReplicaRoutingDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatementListener(slowQueryThresholdMs));
+                    additionalListeners.orderedStream().forEach(builder::listener);
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package com.pm.expenseservice.config;
+
+import com.pm.expenseservice.security.JwtAuthenticationFilter.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ *
+ * A read falls back to the primary when the replica is unreachable or lags more than maxLag,
+ * and when the current user committed a write within maxLag + lagCheckInterval, so a user
+ * always sees their own changes. Must sit behind a LazyConnectionDataSourceProxy: the
+ * read-only flag is only visible once the transaction has started.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final Object WRITE_TRACKED = new Object();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final Duration lagCheckInterval;
+    private final long readYourWritesMillis;
+    private final Map<Long, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final Counter writes;
+
+    private volatile long replicaLagMillis = -1;
+    private volatile boolean replicaAvailable;
+    private ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag,
+                                    Duration lagCheckInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLag.toMillis();
+        this.lagCheckInterval = lagCheckInterval;
+        this.readYourWritesMillis = maxLag.plus(lagCheckInterval).toMillis();
+
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+        primaryReads = meterRegistry.counter("db.routing", "target", PRIMARY, "operation", "read");
+        replicaReads = meterRegistry.counter("db.routing", "target", REPLICA, "operation", "read");
+        writes = meterRegistry.counter("db.routing", "target", PRIMARY, "operation", "write");
+        Gauge.builder("db.replica.lag", () -> replicaLagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            writes.increment();
+            return PRIMARY;
+        }
+
+        if (replicaAvailable && !wroteRecently(currentUserId())) {
+            replicaReads.increment();
+            return REPLICA;
+        }
+        primaryReads.increment();
+        return PRIMARY;
+    }
+
+    // Remembers the user's commit time so their next reads stay on the primary until the replica has caught up
+    private void trackWrite() {
+        Long userId = currentUserId();
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKED, userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteByUser.put(userId, System.currentTimeMillis());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKED);
+            }
+        });
+    }
+
+    private boolean wroteRecently(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteByUser.get(userId);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < readYourWritesMillis;
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getUserId();
+        }
+        return null;
+    }
+
+    void checkLag() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            updateLag(resultSet.getLong(1));
+        } catch (Exception e) {
+            if (replicaAvailable) {
+                log.warn("Replica unreachable, routing reads to primary: {}", e.getMessage());
+            }
+            replicaAvailable = false;
+            replicaLagMillis = -1;
+        }
+
+        long cutoff = System.currentTimeMillis() - readYourWritesMillis;
+        lastWriteByUser.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+
+    void updateLag(long lagMillis) {
+        boolean available = lagMillis <= maxLagMillis;
+        if (available != replicaAvailable) {
+            log.info("Replica lag {} ms, reads routed to {}", lagMillis, available ? REPLICA : PRIMARY);
+        }
+        replicaLagMillis = lagMillis;
+        replicaAvailable = available;
+    }
+
+    @Override
+    public void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (DataSource pool : new DataSource[]{replica, primary}) {
+            if (pool instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
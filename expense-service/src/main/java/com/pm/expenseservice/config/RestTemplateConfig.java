@@ -1,14 +1,99 @@
 package com.pm.expenseservice.config;
 
+import com.pm.expenseservice.client.AuthServiceClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@EnableConfigurationProperties(AuthServiceClientProperties.class)
 public class RestTemplateConfig {
 
+    /**
+     * Pooled Apache client with keep-alive reuse, per-route limits and connect/read/pool-acquire timeouts.
+     * Registered as a bean so the pool is closed on shutdown.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpComponentsClientHttpRequestFactory authServiceRequestFactory(AuthServiceClientProperties properties) {
+        return createRequestFactory(properties);
     }
-}
\ No newline at end of file
+
+    @Bean
+    public RestTemplate restTemplate(HttpComponentsClientHttpRequestFactory authServiceRequestFactory) {
+        return new RestTemplate(authServiceRequestFactory);
+    }
+
+    @Bean
+    public AuthServiceClient authServiceClient(RestTemplate restTemplate,
+                                               AuthServiceClientProperties properties,
+                                               @Value("${auth.service.url:http://localhost:8084}") String authServiceUrl) {
+        return new AuthServiceClient(restTemplate, authServiceUrl,
+                createCircuitBreaker(properties), createBulkhead(properties));
+    }
+
+    public static HttpComponentsClientHttpRequestFactory createRequestFactory(AuthServiceClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getResponseTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(properties.getResponseTimeout()))
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEvictionInterval()))
+                // Retries would multiply the time a request thread is held; the breaker handles failures
+                .disableAutomaticRetries()
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    public static CircuitBreaker createCircuitBreaker(AuthServiceClientProperties properties) {
+        AuthServiceClientProperties.CircuitBreaker settings = properties.getCircuitBreaker();
+        return CircuitBreaker.of("auth-service", CircuitBreakerConfig.custom()
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDurationThreshold())
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                // 4xx (e.g. wrong current password) is a caller error, not an auth-service failure
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+    }
+
+    public static Bulkhead createBulkhead(AuthServiceClientProperties properties) {
+        return Bulkhead.of("auth-service", BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getBulkhead().getMaxConcurrentCalls())
+                .maxWaitDuration(properties.getBulkhead().getMaxWaitDuration())
+                .build());
+    }
+}
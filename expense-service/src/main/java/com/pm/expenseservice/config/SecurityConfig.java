@@ -2,6 +2,7 @@ package com.pm.expenseservice.config;
 
 import com.pm.expenseservice.security.JwtAuthenticationEntryPoint;
 import com.pm.expenseservice.security.JwtAuthenticationFilter;
+import com.pm.expenseservice.security.ServiceTokenAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +26,7 @@ public class SecurityConfig {
 
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ServiceTokenAuthenticationFilter serviceTokenAuthenticationFilter;
 
     @Bean //
     // This method configures the security filter chain for the application
@@ -44,11 +46,13 @@ public class SecurityConfig {
                                 "/error",
                                 "/api/v1/expenses/health"
                         ).permitAll()
+                        .requestMatchers("/api/v1/internal/**").hasRole("SERVICE")
                         .requestMatchers("/api/v1/expenses/**").authenticated()
                         .anyRequest().authenticated()
                 );
 
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(serviceTokenAuthenticationFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,94 @@
+package com.pm.expenseservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs Tomcat request handling and {@code @Async} tasks on virtual threads when
+ * app.threads.virtual.enabled is set. The code is compiled for Java 17, so the JDK 21 API
+ * is reached reflectively and startup fails with a clear message on older runtimes.
+ * Connection borrowing is capped by {@link ConcurrencyLimitedDataSource}; calls to
+ * auth-service are already capped by the client's bulkhead.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+@ConditionalOnProperty(prefix = "app.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        log.info("Running request handling and async tasks on virtual threads");
+        return newVirtualThreadExecutor("expense-vt-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    // Replaces the bounded pool from AsyncConfig
+    @Bean("taskExecutor")
+    public Executor taskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    // Wraps the interactive pool before bulk routing and the statement-counting proxy are applied
+    @Bean
+    public static BeanPostProcessor jdbcPermitPostProcessor(Environment environment,
+                                                            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OrderedPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    VirtualThreadProperties properties = Binder.get(environment)
+                            .bindOrCreate("app.threads.virtual", VirtualThreadProperties.class);
+                    int permits = properties.getJdbcPermits() != null
+                            ? properties.getJdbcPermits()
+                            : environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                    return new ConcurrencyLimitedDataSource(dataSource, permits,
+                            properties.getJdbcAcquireTimeout(), meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    static ExecutorService newVirtualThreadExecutor(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("app.threads.virtual.enabled requires Java 21 or newer, running on "
+                    + Runtime.version(), e);
+        }
+    }
+
+    private interface OrderedPostProcessor extends BeanPostProcessor, Ordered {
+        @Override
+        default int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
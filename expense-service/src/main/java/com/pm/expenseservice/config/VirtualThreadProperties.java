@@ -0,0 +1,20 @@
+package com.pm.expenseservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Opt-in virtual-thread execution for Tomcat handlers and {@code @Async} tasks (Java 21+).
+ */
+@Data
+@ConfigurationProperties(prefix = "app.threads.virtual")
+public class VirtualThreadProperties {
+
+    private boolean enabled = false;
+
+    // Concurrent JDBC connections allowed; defaults to the Hikari maximum-pool-size
+    private Integer jdbcPermits;
+    private Duration jdbcAcquireTimeout = Duration.ofSeconds(20);
+}
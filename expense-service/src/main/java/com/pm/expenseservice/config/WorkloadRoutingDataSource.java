@@ -0,0 +1,28 @@
+package com.pm.expenseservice.config;
+
+import com.pm.expenseservice.enums.Workload;
+import com.pm.expenseservice.util.WorkloadContext;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands bulk file work its own connection pool so imports and exports cannot drain the
+ * pool serving interactive requests. The workload is read from {@link WorkloadContext}.
+ * Neither target is closed here: the interactive pool is a bean of its own and the bulk pool
+ * belongs to BulkWorkloadConfig's post processor.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(DataSource interactive, DataSource bulk) {
+        setTargetDataSources(Map.of(Workload.INTERACTIVE, interactive, Workload.BULK, bulk));
+        setDefaultTargetDataSource(interactive);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+}
@@ -0,0 +1,52 @@
+package com.pm.expenseservice.controller;
+
+import com.pm.expenseservice.dto.common.ApiResponse;
+import com.pm.expenseservice.dto.response.PeriodAnalyticsDto;
+import com.pm.expenseservice.dto.response.RangeAnalyticsDto;
+import com.pm.expenseservice.enums.Granularity;
+import com.pm.expenseservice.security.CurrentUser;
+import com.pm.expenseservice.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    // Totals and category breakdowns for any inclusive date range, at the same cost for a week or a decade
+    @GetMapping("/range")
+    public ResponseEntity<ApiResponse<RangeAnalyticsDto>> getRange(
+            @CurrentUser Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        RangeAnalyticsDto analytics = analyticsService.getRange(userId, startDate, endDate);
+
+        return ResponseEntity.ok(ApiResponse.success("Range analytics retrieved successfully", analytics));
+    }
+
+    // Income, expense, net and category splits per week/month/quarter/year; defaults to the last six periods
+    @GetMapping("/periods")
+    public ResponseEntity<ApiResponse<PeriodAnalyticsDto>> getPeriods(
+            @CurrentUser Long userId,
+            @RequestParam(defaultValue = "MONTH") Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        if (endDate == null) endDate = LocalDate.now();
+        if (startDate == null) startDate = granularity.periodStart(granularity.minusPeriods(endDate, 5));
+
+        PeriodAnalyticsDto analytics = analyticsService.getPeriods(userId, granularity, startDate, endDate);
+
+        return ResponseEntity.ok(ApiResponse.success("Period analytics retrieved successfully", analytics));
+    }
+}
@@ -0,0 +1,80 @@
+package com.pm.expenseservice.controller;
+
+import com.pm.expenseservice.dto.common.ApiResponse;
+import com.pm.expenseservice.dto.request.BudgetDto;
+import com.pm.expenseservice.dto.response.BudgetResponseDto;
+import com.pm.expenseservice.dto.response.BudgetStatusDto;
+import com.pm.expenseservice.security.CurrentUser;
+import com.pm.expenseservice.service.BudgetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/budgets")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<BudgetResponseDto>>> getBudgets(@CurrentUser Long userId) {
+
+        List<BudgetResponseDto> budgets = budgetService.getBudgets(userId);
+
+        return ResponseEntity.ok(ApiResponse.success("Budgets retrieved successfully", budgets));
+    }
+
+    // Spend, remaining amount and reached threshold per budget; defaults to the current month
+    @GetMapping("/status")
+    public ResponseEntity<ApiResponse<List<BudgetStatusDto>>> getStatus(
+            @CurrentUser Long userId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+
+        if (month == null) month = YearMonth.now();
+
+        List<BudgetStatusDto> status = budgetService.getStatus(userId, month);
+
+        return ResponseEntity.ok(ApiResponse.success("Budget status retrieved successfully", status));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<BudgetResponseDto>> createBudget(
+            @CurrentUser Long userId,
+            @Valid @RequestBody BudgetDto dto) {
+
+        BudgetResponseDto budget = budgetService.createBudget(userId, dto);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Budget created successfully", budget));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<BudgetResponseDto>> updateBudget(
+            @CurrentUser Long userId,
+            @PathVariable Long id,
+            @Valid @RequestBody BudgetDto dto) {
+
+        BudgetResponseDto updated = budgetService.updateBudget(userId, id, dto);
+
+        return ResponseEntity.ok(ApiResponse.success("Budget updated successfully", updated));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteBudget(
+            @CurrentUser Long userId,
+            @PathVariable Long id) {
+
+        budgetService.deleteBudget(userId, id);
+
+        return ResponseEntity.ok(ApiResponse.success("Budget deleted successfully", null));
+    }
+}
@@ -2,7 +2,9 @@ package com.pm.expenseservice.controller;
 
 import com.pm.expenseservice.dto.common.ApiResponse;
 import com.pm.expenseservice.dto.response.ImportResultDto;
+import com.pm.expenseservice.exception.ServiceUnavailableException;
 import com.pm.expenseservice.security.CurrentUser;
+import com.pm.expenseservice.service.BulkWorkloadExecutor;
 import com.pm.expenseservice.service.ExcelExportService;
 import com.pm.expenseservice.service.ExcelImportService;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +27,7 @@ public class FileController {
 
     private final ExcelImportService excelImportService;
     private final ExcelExportService excelExportService;
+    private final BulkWorkloadExecutor bulkWorkloadExecutor;
 
     // Endpoint to import an Excel file
     @PostMapping("/import")
@@ -44,7 +47,8 @@ public class FileController {
                     .body(ApiResponse.error("Please upload an Excel file (.xlsx or .xls)"));
         }
 
-        ImportResultDto result = excelImportService.importExcel(userId, file);
+        ImportResultDto result = bulkWorkloadExecutor.run("import",
+                () -> excelImportService.importExcel(userId, file));
 
         return ResponseEntity.ok(ApiResponse.success("File imported successfully", result));
     }
@@ -63,8 +67,11 @@ public class FileController {
 
         log.info("Exporting Excel file for user: {} for {}/{}", userId, month, year);
 
+        int reportYear = year;
+        int reportMonth = month;
         try {
-            byte[] excelData = excelExportService.exportMonthlyReport(userId, year, month);
+            byte[] excelData = bulkWorkloadExecutor.run("export",
+                    () -> excelExportService.exportMonthlyReport(userId, reportYear, reportMonth));
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
@@ -75,6 +82,8 @@ public class FileController {
                     .headers(headers)
                     .body(excelData);
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error exporting Excel file", e);
             return ResponseEntity.internalServerError().build();
@@ -0,0 +1,31 @@
+package com.pm.expenseservice.controller;
+
+import com.pm.expenseservice.dto.common.ApiResponse;
+import com.pm.expenseservice.dto.request.ProfileSyncEventDto;
+import com.pm.expenseservice.service.UserSyncService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Service-to-service endpoints, authenticated with the X-Service-Token header.
+ */
+@RestController
+@RequestMapping("/api/v1/internal/users")
+@RequiredArgsConstructor
+public class InternalUserController {
+
+    private final UserSyncService userSyncService;
+
+    @PostMapping("/profile-sync")
+    public ResponseEntity<ApiResponse<Void>> syncProfile(@Valid @RequestBody ProfileSyncEventDto event) {
+        boolean applied = userSyncService.syncUser(event.getUserId(), event.getEmail(),
+                event.getFirstName(), event.getLastName(), event.getVersion());
+
+        return ResponseEntity.ok(ApiResponse.success(applied ? "Profile applied" : "Stale profile ignored", null));
+    }
+}
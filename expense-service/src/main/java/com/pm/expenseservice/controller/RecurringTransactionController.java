@@ -0,0 +1,66 @@
+package com.pm.expenseservice.controller;
+
+import com.pm.expenseservice.dto.common.ApiResponse;
+import com.pm.expenseservice.dto.request.RecurringTransactionDto;
+import com.pm.expenseservice.dto.response.RecurringTransactionResponseDto;
+import com.pm.expenseservice.security.CurrentUser;
+import com.pm.expenseservice.service.RecurringTransactionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Templates only; their occurrences appear under /transactions once due, tagged with recurringId
+@RestController
+@RequestMapping("/api/v1/recurring-transactions")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class RecurringTransactionController {
+
+    private final RecurringTransactionService recurringTransactionService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<RecurringTransactionResponseDto>>> getRecurringTransactions(
+            @CurrentUser Long userId) {
+
+        List<RecurringTransactionResponseDto> recurring = recurringTransactionService.getRecurringTransactions(userId);
+
+        return ResponseEntity.ok(ApiResponse.success("Recurring transactions retrieved successfully", recurring));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<RecurringTransactionResponseDto>> createRecurringTransaction(
+            @CurrentUser Long userId,
+            @Valid @RequestBody RecurringTransactionDto dto) {
+
+        RecurringTransactionResponseDto recurring = recurringTransactionService.createRecurringTransaction(userId, dto);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Recurring transaction created successfully", recurring));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<RecurringTransactionResponseDto>> updateRecurringTransaction(
+            @CurrentUser Long userId,
+            @PathVariable Long id,
+            @Valid @RequestBody RecurringTransactionDto dto) {
+
+        RecurringTransactionResponseDto updated = recurringTransactionService.updateRecurringTransaction(userId, id, dto);
+
+        return ResponseEntity.ok(ApiResponse.success("Recurring transaction updated successfully", updated));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteRecurringTransaction(
+            @CurrentUser Long userId,
+            @PathVariable Long id) {
+
+        recurringTransactionService.deleteRecurringTransaction(userId, id);
+
+        return ResponseEntity.ok(ApiResponse.success("Recurring transaction deleted successfully", null));
+    }
+}
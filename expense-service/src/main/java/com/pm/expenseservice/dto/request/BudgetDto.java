@@ -0,0 +1,27 @@
+package com.pm.expenseservice.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetDto {
+
+    @NotNull(message = "Category ID is required")
+    private Long categoryId;
+
+    @NotNull(message = "Monthly amount is required")
+    @DecimalMin(value = "0.01", message = "Monthly amount must be greater than 0")
+    @Digits(integer = 13, fraction = 2, message = "Invalid amount format")
+    private BigDecimal monthlyAmount;
+
+    // Percentages of the monthly amount; defaults to 80 and 100 when omitted
+    @Size(min = 1, max = 5, message = "Between 1 and 5 alert thresholds are allowed")
+    private List<@NotNull @Min(value = 1, message = "Alert thresholds must be at least 1%")
+            @Max(value = 500, message = "Alert thresholds cannot exceed 500%") Integer> alertThresholds;
+}
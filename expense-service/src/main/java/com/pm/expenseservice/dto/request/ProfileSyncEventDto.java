@@ -0,0 +1,34 @@
+package com.pm.expenseservice.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Profile change replicated between auth-service and expense-service. The version orders
+ * updates so a replica can drop events older than what it already has.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileSyncEventDto {
+
+    @NotNull
+    private Long userId;
+
+    @NotBlank
+    private String email;
+
+    @NotBlank
+    private String firstName;
+
+    @NotBlank
+    private String lastName;
+
+    @NotNull
+    private Long version;
+}
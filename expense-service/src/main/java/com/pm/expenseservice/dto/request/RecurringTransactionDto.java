@@ -0,0 +1,40 @@
+package com.pm.expenseservice.dto.request;
+
+import com.pm.expenseservice.enums.TransactionType;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransactionDto {
+
+    @NotNull(message = "Category ID is required")
+    private Long categoryId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 13, fraction = 2, message = "Invalid amount format")
+    private BigDecimal amount;
+
+    @NotNull(message = "Transaction type is required")
+    private TransactionType type;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+
+    // RRULE subset, e.g. FREQ=MONTHLY;BYMONTHDAY=1 or FREQ=WEEKLY;INTERVAL=2;BYDAY=FR
+    @NotBlank(message = "Recurrence rule is required")
+    @Size(max = 255, message = "Recurrence rule cannot exceed 255 characters")
+    private String recurrenceRule;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    // True when omitted on create, unchanged when omitted on update; occurrences that fall while paused are skipped
+    private Boolean active;
+}
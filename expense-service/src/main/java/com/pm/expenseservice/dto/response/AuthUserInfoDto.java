@@ -0,0 +1,25 @@
+package com.pm.expenseservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * User as returned by auth-service's batch lookup.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthUserInfoDto {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Boolean isEnabled;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastLoginAt;
+}
@@ -0,0 +1,23 @@
+package com.pm.expenseservice.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Outbox payload written when a budget's spend first reaches one of its alert thresholds in a month.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlertEventDto {
+    private Long userId;
+    private Long budgetId;
+    private Long categoryId;
+    private YearMonth month;
+    private Integer thresholdPercent;
+    private BigDecimal monthlyAmount;
+    private BigDecimal spentAmount;
+}
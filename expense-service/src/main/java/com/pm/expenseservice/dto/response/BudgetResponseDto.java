@@ -0,0 +1,23 @@
+package com.pm.expenseservice.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetResponseDto {
+    private Long id;
+    private Long categoryId;
+    private String categoryName;
+    private String categoryIcon;
+    private String categoryColor;
+    private BigDecimal monthlyAmount;
+    private List<Integer> alertThresholds;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,25 @@
+package com.pm.expenseservice.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetStatusDto {
+    private Long budgetId;
+    private Long categoryId;
+    private String categoryName;
+    private String categoryIcon;
+    private String categoryColor;
+    private YearMonth month;
+    private BigDecimal monthlyAmount;
+    private BigDecimal spentAmount;
+    private BigDecimal remainingAmount;
+    private BigDecimal percentUsed;
+    // Highest alert threshold reached this month, or null
+    private Integer thresholdReached;
+}
@@ -0,0 +1,19 @@
+package com.pm.expenseservice.dto.response;
+
+import lombok.*;
+
+import java.time.YearMonth;
+
+/**
+ * Outbox payload queuing a stored monthly report for emailing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyReportEventDto {
+    private Long userId;
+    private Long reportId;
+    private YearMonth month;
+    private String fileName;
+}
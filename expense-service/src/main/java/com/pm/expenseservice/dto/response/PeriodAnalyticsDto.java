@@ -0,0 +1,18 @@
+package com.pm.expenseservice.dto.response;
+
+import com.pm.expenseservice.enums.Granularity;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodAnalyticsDto {
+    private Granularity granularity;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<PeriodBucketDto> periods;
+}
@@ -0,0 +1,23 @@
+package com.pm.expenseservice.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodBucketDto {
+    private String label;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal netAmount;
+    private BigDecimal savingsRate;
+    private List<CategorySummaryDto> expensesByCategory;
+    private List<CategorySummaryDto> incomeBySource;
+}
@@ -21,5 +21,6 @@ public class TransactionResponseDto {
     private TransactionType type;
     private String description;
     private LocalDate transactionDate;
+    private Long recurringId;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
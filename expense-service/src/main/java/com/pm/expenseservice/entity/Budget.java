@@ -0,0 +1,52 @@
+package com.pm.expenseservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Monthly spending limit for one expense category. Spend is tracked in BudgetSpend, so a budget
+ * created mid-month starts from what has already been spent that month.
+ */
+@Entity
+@Table(name = "budgets",
+        uniqueConstraints = @UniqueConstraint(name = "uk_budgets_user_category", columnNames = {"user_id", "category_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Column(name = "monthly_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal monthlyAmount;
+
+    // Percentages of monthlyAmount, ascending; each raises one alert per month when spend first reaches it
+    @Column(name = "alert_thresholds", nullable = false, columnDefinition = "integer[]")
+    private Integer[] alertThresholds;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,46 @@
+package com.pm.expenseservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Running expense total per user, category and month, kept for every expense category whether
+ * or not it has a budget. alerted_percent is the highest threshold already alerted this month.
+ * Maintained by BudgetService; rows are never written through JPA.
+ */
+@Entity
+@Table(name = "budget_spend",
+        uniqueConstraints = @UniqueConstraint(name = "uk_budget_spend_month",
+                columnNames = {"user_id", "category_id", "month"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetSpend {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // First day of the month
+    @Column(nullable = false)
+    private LocalDate month;
+
+    @Column(name = "spent_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal spentAmount;
+
+    @Column(name = "alerted_percent", nullable = false)
+    private Integer alertedPercent;
+}
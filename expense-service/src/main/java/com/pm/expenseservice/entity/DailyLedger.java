@@ -0,0 +1,50 @@
+package com.pm.expenseservice.entity;
+
+import com.pm.expenseservice.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row per user, type, category and day with activity. cumulative_amount is the running total
+ * up to and including ledger_date, so the total for any date range is the difference of two rows.
+ * Maintained by DailyLedgerService; rows are never written through JPA.
+ */
+@Entity
+@Table(name = "daily_ledger",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_ledger_day",
+                columnNames = {"user_id", "type", "category_id", "ledger_date"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyLedger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "ledger_date", nullable = false)
+    private LocalDate ledgerDate;
+
+    @Column(name = "day_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal dayAmount;
+
+    @Column(name = "cumulative_amount", nullable = false, precision = 17, scale = 2)
+    private BigDecimal cumulativeAmount;
+}
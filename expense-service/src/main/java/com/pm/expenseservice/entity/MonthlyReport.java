@@ -0,0 +1,53 @@
+package com.pm.expenseservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Generated monthly report workbook, one per user and month. Rows are inserted by
+ * MonthlyReportService; emailed_at stays null until a mailer has sent it.
+ */
+@Entity
+@Table(name = "monthly_reports",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_reports_user_month",
+                columnNames = {"user_id", "report_month"}),
+        indexes = @Index(name = "idx_monthly_reports_emailed_at", columnList = "emailed_at, id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyReport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // First day of the reported month
+    @Column(name = "report_month", nullable = false)
+    private LocalDate reportMonth;
+
+    @Column(name = "file_name", nullable = false, length = 100)
+    private String fileName;
+
+    @Basic(fetch = FetchType.LAZY)
+    @Column(nullable = false)
+    private byte[] content;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Integer sizeBytes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "emailed_at")
+    private LocalDateTime emailedAt;
+}
@@ -0,0 +1,62 @@
+package com.pm.expenseservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Progress of the report job for one month. last_user_id is the checkpoint: every opted-in user
+ * up to it has been handled, so a restarted run continues with the next chunk. Users whose
+ * report failed are kept in failedUserIds and retried by later passes.
+ */
+@Entity
+@Table(name = "monthly_report_runs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyReportRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "report_month", nullable = false, unique = true)
+    private LocalDate reportMonth;
+
+    @Column(name = "last_user_id", nullable = false)
+    @Builder.Default
+    private Long lastUserId = 0L;
+
+    @Column(name = "users_reported", nullable = false)
+    @Builder.Default
+    private Integer usersReported = 0;
+
+    @Column(name = "users_failed", nullable = false)
+    @Builder.Default
+    private Integer usersFailed = 0;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "monthly_report_failed_users",
+            joinColumns = @JoinColumn(name = "run_id"))
+    @Column(name = "user_id", nullable = false)
+    @Builder.Default
+    private Set<Long> failedUserIds = new HashSet<>();
+
+    @Column(name = "retry_passes", columnDefinition = "INTEGER NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Integer retryPasses = 0;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -48,6 +48,13 @@ public class MonthlySummary {
     @Column(name = "amount")
     private Map<String, BigDecimal> categoryBreakdown = new HashMap<>();
 
+    // Set once the month's transactions have moved to an archive file; the version names that file
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    @Column(name = "archive_version")
+    private Integer archiveVersion;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,81 @@
+package com.pm.expenseservice.entity;
+
+import com.pm.expenseservice.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Template for a transaction that repeats on an RRULE-style schedule (see RecurrenceRule).
+ * Occurrences are materialized into transactions by RecurringTransactionService once their date
+ * arrives; nextOccurrence is null while the template is paused or after its last occurrence.
+ */
+@Entity
+@Table(name = "recurring_transactions", indexes = {
+        @Index(name = "idx_recurring_user", columnList = "user_id"),
+        // Each run reads only the templates that are due
+        @Index(name = "idx_recurring_next_occurrence", columnList = "next_occurrence")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "recurrence_rule", nullable = false)
+    private String recurrenceRule;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+
+    @Column(name = "last_occurrence")
+    private LocalDate lastOccurrence;
+
+    @Builder.Default
+    @Column(name = "occurrence_count", nullable = false)
+    private Integer occurrenceCount = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
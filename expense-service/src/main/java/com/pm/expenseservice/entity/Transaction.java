@@ -13,7 +13,12 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "transactions", indexes = {
         @Index(name = "idx_user_date", columnList = "user_id, transaction_date"),
-        @Index(name = "idx_user_type", columnList = "user_id, type")
+        // Type plus date range (dashboard sums, export) is served without heap filtering
+        @Index(name = "idx_user_type_date", columnList = "user_id, type, transaction_date"),
+        // Recent transactions: newest entries first, whatever date they were booked on
+        @Index(name = "idx_user_created_at", columnList = "user_id, created_at"),
+        // Occurrence key: a template materializes at most one transaction per date, however often runs repeat
+        @Index(name = "uk_transactions_recurring_occurrence", columnList = "recurring_id, transaction_date", unique = true)
 })
 @Data
 @Builder
@@ -47,6 +52,10 @@ public class Transaction {
     @Column(name = "transaction_date", nullable = false)
     private LocalDate transactionDate;
 
+    // The RecurringTransaction this was materialized from; null for transactions entered directly
+    @Column(name = "recurring_id")
+    private Long recurringId;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
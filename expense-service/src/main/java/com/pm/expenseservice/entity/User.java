@@ -38,6 +38,11 @@ public class User {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    // Version of the last applied profile change (see OutboxService.nextVersion)
+    @Column(name = "profile_version", columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Long profileVersion = 0L;
+
     @CreatedDate
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
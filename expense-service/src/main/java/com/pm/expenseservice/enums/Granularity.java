@@ -0,0 +1,53 @@
+package com.pm.expenseservice.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket size for period analytics. Weeks are ISO weeks starting on Monday.
+ */
+public enum Granularity {
+    WEEK,
+    MONTH,
+    QUARTER,
+    YEAR;
+
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> date.withMonth((date.getMonthValue() - 1) / 3 * 3 + 1).withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate nextPeriodStart(LocalDate periodStart) {
+        return switch (this) {
+            case WEEK -> periodStart.plusWeeks(1);
+            case MONTH -> periodStart.plusMonths(1);
+            case QUARTER -> periodStart.plusMonths(3);
+            case YEAR -> periodStart.plusYears(1);
+        };
+    }
+
+    public LocalDate minusPeriods(LocalDate date, int periods) {
+        return switch (this) {
+            case WEEK -> date.minusWeeks(periods);
+            case MONTH -> date.minusMonths(periods);
+            case QUARTER -> date.minusMonths(3L * periods);
+            case YEAR -> date.minusYears(periods);
+        };
+    }
+
+    public String label(LocalDate periodStart) {
+        return switch (this) {
+            case WEEK -> String.format("%d-W%02d", periodStart.get(IsoFields.WEEK_BASED_YEAR),
+                    periodStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH -> String.format("%d-%02d", periodStart.getYear(), periodStart.getMonthValue());
+            case QUARTER -> periodStart.getYear() + "-Q" + periodStart.get(IsoFields.QUARTER_OF_YEAR);
+            case YEAR -> String.valueOf(periodStart.getYear());
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.pm.expenseservice.enums;
+
+public enum Workload {
+    INTERACTIVE,
+    BULK
+}
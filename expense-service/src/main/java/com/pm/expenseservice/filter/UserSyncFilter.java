@@ -1,24 +1,40 @@
 package com.pm.expenseservice.filter;
 
+import com.pm.expenseservice.client.UserProfileBatchLoader;
+import com.pm.expenseservice.dto.response.AuthUserInfoDto;
+import com.pm.expenseservice.exception.ServiceUnavailableException;
+import com.pm.expenseservice.security.JwtAuthenticationFilter.UserPrincipal;
 import com.pm.expenseservice.service.UserSyncService;
-import com.pm.expenseservice.util.UserContext;
+import com.pm.expenseservice.util.KnownUserIdSet;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
+/**
+ * Provisions the expense-service users row from the JWT claims the first time a user is seen.
+ * Ids already handled, provisioned or rejected for an email held by another id, are held in
+ * {@link KnownUserIdSet}, so steady-state requests touch neither the database nor auth-service here.
+ * Names missing from older tokens are looked up through {@link UserProfileBatchLoader}, which
+ * batches the lookups of users arriving together, e.g. after a restart empties the set.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class UserSyncFilter extends OncePerRequestFilter {
 
     private final UserSyncService userSyncService;
+    private final KnownUserIdSet knownUserIds;
+    private final UserProfileBatchLoader profileLoader;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -26,17 +42,10 @@ public class UserSyncFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         try {
-            // Check if user is authenticated
-            if (UserContext.isAuthenticated()) {
-                Long userId = UserContext.getCurrentUserId();
-                String email = UserContext.getCurrentUserEmail();
-
-                // For now, skip firstName and lastName if not available
-                // The UserSyncService can be modified to work without them
-                log.debug("User authenticated - ID: {}, Email: {}", userId, email);
-
-                // You could modify this to only sync with available data
-                // Or fetch the full user data from auth-service when needed
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                    && principal.getUserId() != null && !knownUserIds.contains(principal.getUserId())) {
+                provision(principal);
             }
         } catch (Exception e) {
             log.error("Error in user sync filter", e);
@@ -45,4 +54,41 @@ public class UserSyncFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void provision(UserPrincipal principal) {
+        Long userId = principal.getUserId();
+        String firstName = principal.getFirstName();
+        String lastName = principal.getLastName();
+        if (firstName == null) {
+            // Token without name claims: ask auth-service, batched with other users seen for the first time
+            AuthUserInfoDto profile = lookUpProfile(userId);
+            firstName = profile != null ? profile.getFirstName() : emailLocalPart(principal.getEmail());
+            lastName = profile != null ? profile.getLastName() : "";
+        }
+        lastName = lastName != null ? lastName : "";
+
+        if (userSyncService.provisionIfMissing(userId, principal.getEmail(), firstName, lastName)) {
+            log.debug("User {} present in expense-service", userId);
+        } else {
+            log.warn("Could not provision user {} ({}); email already used by another id, not retrying "
+                    + "until restart", userId, principal.getEmail());
+        }
+        // Cached either way: an email conflict persists until a profile event moves the email,
+        // so retrying it on every request would only repeat the insert and lookup
+        knownUserIds.add(userId);
+    }
+
+    private AuthUserInfoDto lookUpProfile(Long userId) {
+        try {
+            return profileLoader.loadAll(List.of(userId)).get(userId);
+        } catch (ServiceUnavailableException e) {
+            log.debug("Profile lookup for user {} failed, using the email as name: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private String emailLocalPart(String email) {
+        int at = email.indexOf('@');
+        return at > 0 ? email.substring(0, at) : email;
+    }
+}
@@ -0,0 +1,22 @@
+package com.pm.expenseservice.repository;
+
+import com.pm.expenseservice.entity.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    @Query("SELECT b FROM Budget b JOIN FETCH b.category WHERE b.userId = :userId ORDER BY b.category.name")
+    List<Budget> findAllForUser(@Param("userId") Long userId);
+
+    @Query("SELECT b FROM Budget b JOIN FETCH b.category WHERE b.id = :id AND b.userId = :userId")
+    Optional<Budget> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    boolean existsByUserIdAndCategoryId(Long userId, Long categoryId);
+}
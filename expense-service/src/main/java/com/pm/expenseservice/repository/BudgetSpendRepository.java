@@ -0,0 +1,37 @@
+package com.pm.expenseservice.repository;
+
+import com.pm.expenseservice.entity.BudgetSpend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetSpendRepository extends JpaRepository<BudgetSpend, Long> {
+
+    List<BudgetSpend> findByUserIdAndMonth(Long userId, LocalDate month);
+
+    Optional<BudgetSpend> findByUserIdAndCategoryIdAndMonth(Long userId, Long categoryId, LocalDate month);
+
+    // Only ever raises the mark, so two postings crossing the same threshold alert once
+    @Modifying
+    @Query(value = "UPDATE budget_spend SET alerted_percent = :percent WHERE user_id = :userId " +
+            "AND category_id = :categoryId AND month = :month AND alerted_percent < :percent", nativeQuery = true)
+    int raiseAlertedPercent(@Param("userId") Long userId,
+                            @Param("categoryId") Long categoryId,
+                            @Param("month") LocalDate month,
+                            @Param("percent") int percent);
+
+    @Modifying
+    @Query(value = "UPDATE budget_spend SET alerted_percent = :percent WHERE user_id = :userId " +
+            "AND category_id = :categoryId AND month = :month", nativeQuery = true)
+    int setAlertedPercent(@Param("userId") Long userId,
+                          @Param("categoryId") Long categoryId,
+                          @Param("month") LocalDate month,
+                          @Param("percent") int percent);
+}
@@ -0,0 +1,49 @@
+package com.pm.expenseservice.repository;
+
+import com.pm.expenseservice.entity.DailyLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+public interface DailyLedgerRepository extends JpaRepository<DailyLedger, Long> {
+
+    // A new day starts from the running total of the previous day with activity
+    @Modifying
+    @Query(value = "INSERT INTO daily_ledger (user_id, type, category_id, ledger_date, day_amount, cumulative_amount) " +
+            "VALUES (:userId, :type, :categoryId, :date, :amount, :amount + COALESCE(" +
+            "(SELECT l.cumulative_amount FROM daily_ledger l WHERE l.user_id = :userId AND l.type = :type " +
+            "AND l.category_id = :categoryId AND l.ledger_date < :date ORDER BY l.ledger_date DESC LIMIT 1), 0)) " +
+            "ON CONFLICT (user_id, type, category_id, ledger_date) DO UPDATE " +
+            "SET day_amount = daily_ledger.day_amount + EXCLUDED.day_amount, " +
+            "cumulative_amount = daily_ledger.cumulative_amount + EXCLUDED.day_amount", nativeQuery = true)
+    int addToDay(@Param("userId") Long userId,
+                 @Param("type") String type,
+                 @Param("categoryId") Long categoryId,
+                 @Param("date") LocalDate date,
+                 @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = "UPDATE daily_ledger SET cumulative_amount = cumulative_amount + :amount " +
+            "WHERE user_id = :userId AND type = :type AND category_id = :categoryId AND ledger_date > :date",
+            nativeQuery = true)
+    int addToLaterDays(@Param("userId") Long userId,
+                       @Param("type") String type,
+                       @Param("categoryId") Long categoryId,
+                       @Param("date") LocalDate date,
+                       @Param("amount") BigDecimal amount);
+
+    // A day whose transactions were all removed carries no information; the previous row answers for it
+    @Modifying
+    @Query(value = "DELETE FROM daily_ledger WHERE user_id = :userId AND type = :type " +
+            "AND category_id = :categoryId AND ledger_date = :date AND day_amount = 0", nativeQuery = true)
+    int deleteEmptyDay(@Param("userId") Long userId,
+                       @Param("type") String type,
+                       @Param("categoryId") Long categoryId,
+                       @Param("date") LocalDate date);
+}
@@ -0,0 +1,18 @@
+package com.pm.expenseservice.repository;
+
+import com.pm.expenseservice.entity.MonthlyReport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+
+@Repository
+public interface MonthlyReportRepository extends JpaRepository<MonthlyReport, Long> {
+
+    @Query("SELECT r.userId FROM MonthlyReport r WHERE r.reportMonth = :month AND r.userId IN :userIds")
+    Set<Long> findReportedUserIds(@Param("month") LocalDate month, @Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,22 @@
+package com.pm.expenseservice.repository;
+
+import com.pm.expenseservice.entity.MonthlyReportRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MonthlyReportRunRepository extends JpaRepository<MonthlyReportRun, Long> {
+
+    Optional<MonthlyReportRun> findByReportMonth(LocalDate reportMonth);
+
+    // Runs that were interrupted or queued while another was in progress, and runs with failed users left to retry
+    @Query("SELECT r FROM MonthlyReportRun r WHERE r.completedAt IS NULL " +
+            "OR (r.failedUserIds IS NOT EMPTY AND r.retryPasses < :maxRetries) ORDER BY r.reportMonth")
+    List<MonthlyReportRun> findPending(@Param("maxRetries") int maxRetries);
+}
@@ -2,12 +2,24 @@ package com.pm.expenseservice.repository;
 
 import com.pm.expenseservice.entity.MonthlySummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary, Long> {
 
     Optional<MonthlySummary> findByUserIdAndYearAndMonth(Long userId, Integer year, Integer month);
+
+    List<MonthlySummary> findByArchivedAtIsNotNull();
+
+    // Months are compared as yyyymm so a range can span years
+    @Query("SELECT s FROM MonthlySummary s WHERE s.userId = :userId AND s.archivedAt IS NOT NULL " +
+            "AND s.year * 100 + s.month BETWEEN :fromMonth AND :toMonth")
+    List<MonthlySummary> findArchived(@Param("userId") Long userId,
+                                      @Param("fromMonth") int fromMonth,
+                                      @Param("toMonth") int toMonth);
 }
\ No newline at end of file
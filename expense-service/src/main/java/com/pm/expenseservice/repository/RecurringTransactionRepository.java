@@ -0,0 +1,27 @@
+package com.pm.expenseservice.repository;
+
+import com.pm.expenseservice.entity.RecurringTransaction;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    @Query("SELECT r FROM RecurringTransaction r JOIN FETCH r.category WHERE r.userId = :userId " +
+            "ORDER BY r.active DESC, r.nextOccurrence, r.id")
+    List<RecurringTransaction> findAllForUser(@Param("userId") Long userId);
+
+    Optional<RecurringTransaction> findByIdAndUserId(Long id, Long userId);
+
+    // Edits wait for (and then see) a scheduler run that is advancing the same template
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RecurringTransaction r WHERE r.id = :id AND r.userId = :userId")
+    Optional<RecurringTransaction> findForUpdate(@Param("id") Long id, @Param("userId") Long userId);
+}
@@ -0,0 +1,79 @@
+package com.pm.expenseservice.repository;
+
+import com.pm.expenseservice.util.TransactionArchiveFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Archive files on local disk, one per user and month: {directory}/{userId}/{yyyy-MM}.v{version}.txa.
+ *
+ * Every re-archive of a month writes a new version so the file named by the committed
+ * MonthlySummary is never overwritten in place.
+ */
+@Slf4j
+@Component
+public class TransactionArchiveStore {
+
+    private final Path directory;
+    private final int retentionMonths;
+
+    public TransactionArchiveStore(@Value("${app.archive.directory:./data/archive}") Path directory,
+                                   @Value("${app.archive.retention-months:24}") int retentionMonths) {
+        this.directory = directory;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Months before this one may be archived; later months are always fully in the database.
+     */
+    public YearMonth cutoff() {
+        return YearMonth.now().minusMonths(retentionMonths);
+    }
+
+    public TransactionArchiveFile.Reader open(Long userId, YearMonth month, int version) {
+        Path file = path(userId, month, version);
+        try {
+            return TransactionArchiveFile.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive " + file, e);
+        }
+    }
+
+    public void write(Long userId, YearMonth month, int version, List<TransactionArchiveFile.Row> rows) {
+        Path file = path(userId, month, version);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                TransactionArchiveFile.write(temp, rows);
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive " + file, e);
+        }
+    }
+
+    public void delete(Long userId, YearMonth month, int version) {
+        Path file = path(userId, month, version);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete archive {}: {}", file, e.getMessage());
+        }
+    }
+
+    Path path(Long userId, YearMonth month, int version) {
+        return directory.resolve(String.valueOf(userId)).resolve(month + ".v" + version + ".txa");
+    }
+}
@@ -2,28 +2,33 @@ package com.pm.expenseservice.repository;
 
 import com.pm.expenseservice.entity.Transaction;
 import com.pm.expenseservice.enums.TransactionType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
 
     Optional<Transaction> findByIdAndUserId(Long id, Long userId);
 
+    // Dates are cast because PostgreSQL cannot infer the type of an untyped "? IS NULL" parameter
     @Query("SELECT t FROM Transaction t WHERE t.userId = :userId " +
             "AND (:type IS NULL OR t.type = :type) " +
             "AND (:categoryId IS NULL OR t.category.id = :categoryId) " +
-            "AND (:startDate IS NULL OR t.transactionDate >= :startDate) " +
-            "AND (:endDate IS NULL OR t.transactionDate <= :endDate)")
+            "AND (CAST(:startDate AS LocalDate) IS NULL OR t.transactionDate >= :startDate) " +
+            "AND (CAST(:endDate AS LocalDate) IS NULL OR t.transactionDate <= :endDate)")
     Page<Transaction> findUserTransactionsWithFilters(@Param("userId") Long userId,
                                                       @Param("type") TransactionType type,
                                                       @Param("categoryId") Long categoryId,
@@ -31,13 +36,15 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                                                       @Param("endDate") LocalDate endDate,
                                                       Pageable pageable);
 
+    // The *Live* queries read only the transactions table; TransactionRepositoryCustom adds archived months
+
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
             "WHERE t.userId = :userId AND t.type = :type " +
             "AND t.transactionDate >= :startDate AND t.transactionDate <= :endDate")
-    BigDecimal sumByUserAndTypeAndDateRange(@Param("userId") Long userId,
-                                            @Param("type") TransactionType type,
-                                            @Param("startDate") LocalDate startDate,
-                                            @Param("endDate") LocalDate endDate);
+    BigDecimal sumLiveByUserAndTypeAndDateRange(@Param("userId") Long userId,
+                                                @Param("type") TransactionType type,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
 
     @Query("SELECT t.category.id as categoryId, t.category.name as categoryName, " +
             "t.category.icon as categoryIcon, t.category.color as categoryColor, " +
@@ -46,23 +53,28 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             "AND t.transactionDate >= :startDate AND t.transactionDate <= :endDate " +
             "GROUP BY t.category.id, t.category.name, t.category.icon, t.category.color " +
             "ORDER BY total DESC")
-    List<CategorySummaryProjection> sumByCategory(@Param("userId") Long userId,
-                                                  @Param("type") TransactionType type,
-                                                  @Param("startDate") LocalDate startDate,
-                                                  @Param("endDate") LocalDate endDate);
+    List<CategorySummaryProjection> sumLiveByCategory(@Param("userId") Long userId,
+                                                      @Param("type") TransactionType type,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
 
     List<Transaction> findTop10ByUserIdOrderByCreatedAtDesc(Long userId);
 
+    // Bounded on entry time, not transaction date, so backdated entries still count as recent
+    List<Transaction> findTop10ByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(Long userId,
+                                                                                      LocalDateTime since);
+
     // Alternative 1: Using native query for PostgreSQL
     @Query(value = "SELECT EXTRACT(YEAR FROM t.transaction_date) as year, " +
             "EXTRACT(MONTH FROM t.transaction_date) as month, " +
             "t.type as type, SUM(t.amount) as total " +
             "FROM transactions t " +
-            "WHERE t.user_id = :userId AND t.transaction_date >= :startDate " +
+            "WHERE t.user_id = :userId AND t.transaction_date >= :startDate AND t.transaction_date < :endDate " +
             "GROUP BY EXTRACT(YEAR FROM t.transaction_date), EXTRACT(MONTH FROM t.transaction_date), t.type " +
             "ORDER BY year DESC, month DESC", nativeQuery = true)
-    List<MonthlyTrendProjection> getMonthlyTrends(@Param("userId") Long userId,
-                                                  @Param("startDate") LocalDate startDate);
+    List<MonthlyTrendProjection> getLiveMonthlyTrends(@Param("userId") Long userId,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
 
     // Additional method for getting transactions by date range and type
     @Query("SELECT t FROM Transaction t WHERE t.userId = :userId " +
@@ -70,10 +82,26 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             "AND t.transactionDate >= :startDate " +
             "AND t.transactionDate <= :endDate " +
             "ORDER BY t.transactionDate ASC")
-    List<Transaction> findByUserIdAndTypeAndDateRange(@Param("userId") Long userId,
-                                                      @Param("type") TransactionType type,
-                                                      @Param("startDate") LocalDate startDate,
-                                                      @Param("endDate") LocalDate endDate);
+    List<Transaction> findLiveByUserIdAndTypeAndDateRange(@Param("userId") Long userId,
+                                                          @Param("type") TransactionType type,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
+
+    // Archival: one user's month, then removal of exactly the rows written to the archive file
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate >= :startDate AND t.transactionDate <= :endDate")
+    List<Transaction> findForArchive(@Param("userId") Long userId,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate >= :startDate AND t.transactionDate <= :endDate AND t.id IN :ids")
+    int deleteArchived(@Param("userId") Long userId,
+                       @Param("startDate") LocalDate startDate,
+                       @Param("endDate") LocalDate endDate,
+                       @Param("ids") List<Long> ids);
 
     interface CategorySummaryProjection {
         Long getCategoryId();
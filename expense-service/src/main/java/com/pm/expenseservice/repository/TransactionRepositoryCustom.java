@@ -0,0 +1,30 @@
+package com.pm.expenseservice.repository;
+
+import com.pm.expenseservice.entity.Transaction;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.repository.TransactionRepository.CategorySummaryProjection;
+import com.pm.expenseservice.repository.TransactionRepository.MonthlyTrendProjection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Date-range reads that cover archived months as well as the transactions table.
+ *
+ * Archived transactions are read-only: they are returned as detached entities and never appear
+ * in paged listings or lookups by id.
+ */
+public interface TransactionRepositoryCustom {
+
+    BigDecimal sumByUserAndTypeAndDateRange(Long userId, TransactionType type, LocalDate startDate, LocalDate endDate);
+
+    List<CategorySummaryProjection> sumByCategory(Long userId, TransactionType type, LocalDate startDate,
+                                                  LocalDate endDate);
+
+    // endDate is exclusive
+    List<MonthlyTrendProjection> getMonthlyTrends(Long userId, LocalDate startDate, LocalDate endDate);
+
+    List<Transaction> findByUserIdAndTypeAndDateRange(Long userId, TransactionType type, LocalDate startDate,
+                                                      LocalDate endDate);
+}
@@ -0,0 +1,299 @@
+package com.pm.expenseservice.repository;
+
+import com.pm.expenseservice.entity.Category;
+import com.pm.expenseservice.entity.MonthlySummary;
+import com.pm.expenseservice.entity.Transaction;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.repository.TransactionRepository.CategorySummaryProjection;
+import com.pm.expenseservice.repository.TransactionRepository.MonthlyTrendProjection;
+import com.pm.expenseservice.util.TransactionArchiveFile;
+import lombok.Value;
+import org.springframework.context.annotation.Lazy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Merges archived months into the live queries. A month fully inside the requested range is
+ * answered from its MonthlySummary where the rollup has what is needed; otherwise only the
+ * columns the query needs are decoded from the month's archive file.
+ *
+ * Ranges starting at or after {@link TransactionArchiveStore#cutoff()} skip the summary lookup,
+ * so dashboard queries pay nothing for archiving.
+ */
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    private final TransactionRepository transactionRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionArchiveStore archiveStore;
+
+    public TransactionRepositoryCustomImpl(@Lazy TransactionRepository transactionRepository,
+                                           MonthlySummaryRepository monthlySummaryRepository,
+                                           CategoryRepository categoryRepository,
+                                           TransactionArchiveStore archiveStore) {
+        this.transactionRepository = transactionRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.categoryRepository = categoryRepository;
+        this.archiveStore = archiveStore;
+    }
+
+    @Override
+    public BigDecimal sumByUserAndTypeAndDateRange(Long userId, TransactionType type, LocalDate startDate,
+                                                   LocalDate endDate) {
+        BigDecimal total = transactionRepository.sumLiveByUserAndTypeAndDateRange(userId, type, startDate, endDate);
+        for (MonthlySummary summary : archivedMonths(userId, startDate, endDate)) {
+            if (covers(summary, startDate, endDate)) {
+                BigDecimal monthTotal = type == TransactionType.INCOME ? summary.getTotalIncome() : summary.getTotalExpense();
+                total = total.add(monthTotal);
+                continue;
+            }
+            ArchiveScan scan = scan(summary, type, startDate, endDate);
+            long[] amounts = scan.longs(TransactionArchiveFile.Column.AMOUNT_CENTS);
+            long cents = 0;
+            for (int i = 0; i < amounts.length; i++) {
+                if (scan.matches[i]) {
+                    cents += amounts[i];
+                }
+            }
+            total = total.add(BigDecimal.valueOf(cents, 2));
+        }
+        return total;
+    }
+
+    @Override
+    public List<CategorySummaryProjection> sumByCategory(Long userId, TransactionType type, LocalDate startDate,
+                                                         LocalDate endDate) {
+        List<CategorySummaryProjection> live = transactionRepository.sumLiveByCategory(userId, type, startDate, endDate);
+        List<MonthlySummary> archived = archivedMonths(userId, startDate, endDate);
+        if (archived.isEmpty()) {
+            return live;
+        }
+
+        // The rollup is keyed by category name, so category totals always come from the files
+        Map<Long, Long> archivedCents = new LinkedHashMap<>();
+        for (MonthlySummary summary : archived) {
+            ArchiveScan scan = scan(summary, type, startDate, endDate);
+            long[] categoryIds = scan.longs(TransactionArchiveFile.Column.CATEGORY_ID);
+            long[] amounts = scan.longs(TransactionArchiveFile.Column.AMOUNT_CENTS);
+            for (int i = 0; i < amounts.length; i++) {
+                if (scan.matches[i]) {
+                    archivedCents.merge(categoryIds[i], amounts[i], Long::sum);
+                }
+            }
+        }
+
+        Map<Long, CategorySummaryProjection> merged = new LinkedHashMap<>();
+        live.forEach(summary -> merged.put(summary.getCategoryId(), summary));
+        Set<Long> missing = new HashSet<>(archivedCents.keySet());
+        missing.removeAll(merged.keySet());
+        Map<Long, Category> categories = categoriesById(missing);
+
+        archivedCents.forEach((categoryId, cents) -> {
+            BigDecimal amount = BigDecimal.valueOf(cents, 2);
+            CategorySummaryProjection existing = merged.get(categoryId);
+            if (existing != null) {
+                merged.put(categoryId, new CategoryTotal(categoryId, existing.getCategoryName(),
+                        existing.getCategoryIcon(), existing.getCategoryColor(), existing.getTotal().add(amount)));
+            } else {
+                Category category = categories.get(categoryId);
+                merged.put(categoryId, new CategoryTotal(categoryId, category != null ? category.getName() : null,
+                        category != null ? category.getIcon() : null, category != null ? category.getColor() : null,
+                        amount));
+            }
+        });
+
+        List<CategorySummaryProjection> result = new ArrayList<>(merged.values());
+        result.sort(Comparator.comparing(CategorySummaryProjection::getTotal).reversed());
+        return result;
+    }
+
+    @Override
+    public List<MonthlyTrendProjection> getMonthlyTrends(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<MonthlyTrendProjection> live = transactionRepository.getLiveMonthlyTrends(userId, startDate, endDate);
+        LocalDate lastDay = endDate.minusDays(1);
+        List<MonthlySummary> archived = archivedMonths(userId, startDate, lastDay);
+        if (archived.isEmpty()) {
+            return live;
+        }
+
+        Map<MonthKey, BigDecimal> totals = new LinkedHashMap<>();
+        live.forEach(trend -> totals.merge(new MonthKey(trend.getYear(), trend.getMonth(), trend.getType()),
+                trend.getTotal(), BigDecimal::add));
+        for (MonthlySummary summary : archived) {
+            if (covers(summary, startDate, lastDay)) {
+                addTrend(totals, summary, TransactionType.INCOME, summary.getTotalIncome());
+                addTrend(totals, summary, TransactionType.EXPENSE, summary.getTotalExpense());
+                continue;
+            }
+            ArchiveScan scan = scan(summary, null, startDate, lastDay);
+            TransactionType[] types = scan.types();
+            long[] amounts = scan.longs(TransactionArchiveFile.Column.AMOUNT_CENTS);
+            long[] cents = new long[TransactionType.values().length];
+            for (int i = 0; i < amounts.length; i++) {
+                if (scan.matches[i]) {
+                    cents[types[i].ordinal()] += amounts[i];
+                }
+            }
+            for (TransactionType type : TransactionType.values()) {
+                addTrend(totals, summary, type, BigDecimal.valueOf(cents[type.ordinal()], 2));
+            }
+        }
+
+        List<MonthlyTrendProjection> result = new ArrayList<>();
+        totals.forEach((key, total) -> result.add(new MonthTotal(key.year(), key.month(), key.type(), total)));
+        result.sort(Comparator.comparing(MonthlyTrendProjection::getYear)
+                .thenComparing(MonthlyTrendProjection::getMonth).reversed());
+        return result;
+    }
+
+    @Override
+    public List<Transaction> findByUserIdAndTypeAndDateRange(Long userId, TransactionType type, LocalDate startDate,
+                                                             LocalDate endDate) {
+        List<Transaction> live = transactionRepository.findLiveByUserIdAndTypeAndDateRange(userId, type, startDate, endDate);
+        List<MonthlySummary> archived = archivedMonths(userId, startDate, endDate);
+        if (archived.isEmpty()) {
+            return live;
+        }
+
+        List<TransactionArchiveFile.Row> rows = new ArrayList<>();
+        for (MonthlySummary summary : archived) {
+            ArchiveScan scan = scan(summary, type, startDate, endDate);
+            List<TransactionArchiveFile.Row> all = scan.rows();
+            for (int i = 0; i < all.size(); i++) {
+                if (scan.matches[i]) {
+                    rows.add(all.get(i));
+                }
+            }
+        }
+        Map<Long, Category> categories = categoriesById(rows.stream()
+                .map(TransactionArchiveFile.Row::categoryId).collect(Collectors.toSet()));
+
+        List<Transaction> result = new ArrayList<>(live.size() + rows.size());
+        for (TransactionArchiveFile.Row row : rows) {
+            result.add(Transaction.builder()
+                    .id(row.id())
+                    .userId(userId)
+                    .category(categories.get(row.categoryId()))
+                    .amount(BigDecimal.valueOf(row.amountCents(), 2))
+                    .type(row.type())
+                    .description(row.description())
+                    .transactionDate(row.transactionDate())
+                    .createdAt(row.createdAt())
+                    .updatedAt(row.updatedAt())
+                    .build());
+        }
+        result.addAll(live);
+        result.sort(Comparator.comparing(Transaction::getTransactionDate));
+        return result;
+    }
+
+    private List<MonthlySummary> archivedMonths(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (!YearMonth.from(startDate).isBefore(archiveStore.cutoff()) || endDate.isBefore(startDate)) {
+            return List.of();
+        }
+        return monthlySummaryRepository.findArchived(userId, monthKey(YearMonth.from(startDate)),
+                monthKey(YearMonth.from(endDate)));
+    }
+
+    private ArchiveScan scan(MonthlySummary summary, TransactionType type, LocalDate startDate, LocalDate endDate) {
+        TransactionArchiveFile.Reader reader = archiveStore.open(summary.getUserId(),
+                YearMonth.of(summary.getYear(), summary.getMonth()), summary.getArchiveVersion());
+        try {
+            boolean[] matches = new boolean[reader.rowCount()];
+            TransactionType[] types = type != null ? reader.types() : null;
+            LocalDate[] dates = reader.transactionDates();
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = (types == null || types[i] == type)
+                        && !dates[i].isBefore(startDate) && !dates[i].isAfter(endDate);
+            }
+            return new ArchiveScan(reader, matches);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<Long, Category> categoriesById(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return categoryRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+
+    private static void addTrend(Map<MonthKey, BigDecimal> totals, MonthlySummary summary, TransactionType type,
+                                 BigDecimal amount) {
+        // The live query returns no row for a type without transactions; keep that shape
+        if (amount != null && amount.signum() != 0) {
+            totals.merge(new MonthKey(summary.getYear(), summary.getMonth(), type), amount, BigDecimal::add);
+        }
+    }
+
+    private static boolean covers(MonthlySummary summary, LocalDate startDate, LocalDate endDate) {
+        YearMonth month = YearMonth.of(summary.getYear(), summary.getMonth());
+        return !month.atDay(1).isBefore(startDate) && !month.atEndOfMonth().isAfter(endDate);
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private record ArchiveScan(TransactionArchiveFile.Reader reader, boolean[] matches) {
+
+        long[] longs(TransactionArchiveFile.Column column) {
+            try {
+                return reader.longs(column);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        TransactionType[] types() {
+            try {
+                return reader.types();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        List<TransactionArchiveFile.Row> rows() {
+            try {
+                return reader.rows();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private record MonthKey(Integer year, Integer month, TransactionType type) {
+    }
+
+    @Value
+    private static class CategoryTotal implements CategorySummaryProjection {
+        Long categoryId;
+        String categoryName;
+        String categoryIcon;
+        String categoryColor;
+        BigDecimal total;
+    }
+
+    @Value
+    private static class MonthTotal implements MonthlyTrendProjection {
+        Integer year;
+        Integer month;
+        TransactionType type;
+        BigDecimal total;
+    }
+}
@@ -2,6 +2,7 @@ package com.pm.expenseservice.repository;
 
 import com.pm.expenseservice.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,4 +21,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.id = :userId AND u.isActive = true")
     boolean isUserActive(@Param("userId") Long userId);
+
+    // Insert-if-absent in one statement; a concurrent first request for the same user is a no-op
+    @Modifying
+    @Query(value = "INSERT INTO users (id, email, first_name, last_name, is_active, profile_version, created_at, updated_at) " +
+            "VALUES (:userId, :email, :firstName, :lastName, true, 0, now(), now()) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("email") String email,
+                       @Param("firstName") String firstName,
+                       @Param("lastName") String lastName);
+
+    // Conditional on the version so a stale or duplicate event can never overwrite a newer profile
+    @Modifying
+    @Query("UPDATE User u SET u.email = :email, u.firstName = :firstName, u.lastName = :lastName, " +
+            "u.profileVersion = :version, u.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE u.id = :userId AND u.profileVersion < :version")
+    int applyProfileIfNewer(@Param("userId") Long userId,
+                            @Param("email") String email,
+                            @Param("firstName") String firstName,
+                            @Param("lastName") String lastName,
+                            @Param("version") long version);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.pm.expenseservice.security;
 
 import com.pm.expenseservice.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +25,8 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String ACCESS_TOKEN = "ACCESS";
+
     private final JwtUtil jwtUtil;
 
     @Override
@@ -32,12 +36,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getTokenFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                Long userId = jwtUtil.getUserIdFromToken(jwt);
-                String email = jwtUtil.getEmailFromToken(jwt);
+            if (StringUtils.hasText(jwt)) {
+                // One parse for signature, expiry and all claims
+                Claims claims = jwtUtil.parseClaims(jwt);
+
+                // Refresh tokens are signed with the same key; only access tokens are bearer credentials
+                String tokenType = claims.get("type", String.class);
+                if (!ACCESS_TOKEN.equals(tokenType)) {
+                    throw new JwtException("Not an access token: " + tokenType);
+                }
+
+                Long userId = claims.get("userId", Long.class);
+                String email = claims.getSubject();
 
                 // Create a custom principal object
-                UserPrincipal principal = new UserPrincipal(userId, email);
+                UserPrincipal principal = new UserPrincipal(userId, email,
+                        claims.get("firstName", String.class),
+                        claims.get("lastName", String.class),
+                        claims.get("fullName", String.class));
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
@@ -50,6 +66,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 log.debug("Set authentication for user: {} (ID: {})", email, userId);
             }
+        } catch (JwtException ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
         }
@@ -69,10 +87,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     public static class UserPrincipal {
         private final Long userId;
         private final String email;
+        private final String firstName;
+        private final String lastName;
 
         public UserPrincipal(Long userId, String email) {
+            this(userId, email, null, null, null);
+        }
+
+        public UserPrincipal(Long userId, String email, String firstName, String lastName, String fullName) {
             this.userId = userId;
             this.email = email;
+
+            // Tokens issued before firstName/lastName claims existed only carry fullName
+            if (firstName == null && fullName != null) {
+                int space = fullName.indexOf(' ');
+                firstName = space > 0 ? fullName.substring(0, space) : fullName;
+                lastName = space > 0 ? fullName.substring(space + 1) : "";
+            }
+            this.firstName = firstName;
+            this.lastName = lastName;
         }
 
         // These getters must be public for Spring Security to access them
@@ -89,6 +122,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return email;
         }
 
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
         @Override
         public String toString() {
             return "UserPrincipal{userId=" + userId + ", email='" + email + "'}";
@@ -0,0 +1,165 @@
+package com.pm.expenseservice.service;
+
+import com.pm.expenseservice.dto.response.CategorySummaryDto;
+import com.pm.expenseservice.dto.response.PeriodAnalyticsDto;
+import com.pm.expenseservice.dto.response.PeriodBucketDto;
+import com.pm.expenseservice.dto.response.RangeAnalyticsDto;
+import com.pm.expenseservice.entity.Category;
+import com.pm.expenseservice.enums.Granularity;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.exception.BadRequestException;
+import com.pm.expenseservice.repository.CategoryRepository;
+import com.pm.expenseservice.util.MetricsRecorder;
+import com.pm.expenseservice.util.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Totals for arbitrary date ranges and period charts, answered from the daily ledger instead of the
+ * transactions table. A request costs one ledger lookup per range boundary, so a ten-year yearly
+ * chart reads about as much as a six-month one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    private static final String ANALYTICS_TIMER = "expense.analytics";
+
+    private final DailyLedgerService dailyLedgerService;
+    private final CategoryRepository categoryRepository;
+    private final MetricsRecorder metrics;
+
+    @Value("${app.analytics.max-periods:520}")
+    private int maxPeriods;
+
+    @Transactional(readOnly = true)
+    public RangeAnalyticsDto getRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("startDate must not be after endDate");
+        }
+        return metrics.time(ANALYTICS_TIMER, () -> doGetRange(userId, startDate, endDate), "operation", "range");
+    }
+
+    private RangeAnalyticsDto doGetRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        Map<Long, Money> totals = dailyLedgerService.rangeTotals(userId, startDate, endDate);
+        Map<Long, Category> categories = categoriesFor(userId);
+
+        Money totalIncome = sum(totals, categories, TransactionType.INCOME);
+        Money totalExpense = sum(totals, categories, TransactionType.EXPENSE);
+        Money netAmount = totalIncome.minus(totalExpense);
+
+        return RangeAnalyticsDto.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalIncome(totalIncome.toBigDecimal())
+                .totalExpense(totalExpense.toBigDecimal())
+                .netAmount(netAmount.toBigDecimal())
+                .savingsRate(Money.percentageOf(netAmount, totalIncome))
+                .expensesByCategory(toCategorySummaries(totals, categories, TransactionType.EXPENSE, totalExpense))
+                .incomeBySource(toCategorySummaries(totals, categories, TransactionType.INCOME, totalIncome))
+                .build();
+    }
+
+    /**
+     * Consecutive buckets covering startDate..endDate; the first and last are clipped to the range.
+     */
+    @Transactional(readOnly = true)
+    public PeriodAnalyticsDto getPeriods(Long userId, Granularity granularity, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("startDate must not be after endDate");
+        }
+        return metrics.time(ANALYTICS_TIMER, () -> doGetPeriods(userId, granularity, startDate, endDate),
+                "operation", "periods", "granularity", granularity.name().toLowerCase());
+    }
+
+    private PeriodAnalyticsDto doGetPeriods(Long userId, Granularity granularity, LocalDate startDate,
+                                            LocalDate endDate) {
+        List<LocalDate> periodStarts = new ArrayList<>();
+        for (LocalDate start = granularity.periodStart(startDate); !start.isAfter(endDate);
+             start = granularity.nextPeriodStart(start)) {
+            if (periodStarts.size() == maxPeriods) {
+                throw new BadRequestException("Range spans more than " + maxPeriods + " periods; use a coarser granularity");
+            }
+            periodStarts.add(start);
+        }
+        List<LocalDate> ends = periodStarts.stream()
+                .map(start -> min(granularity.nextPeriodStart(start).minusDays(1), endDate))
+                .toList();
+
+        List<Map<Long, Money>> totals = dailyLedgerService.consecutiveTotals(userId, startDate, ends);
+        Map<Long, Category> categories = categoriesFor(userId);
+
+        List<PeriodBucketDto> periods = new ArrayList<>(periodStarts.size());
+        for (int i = 0; i < periodStarts.size(); i++) {
+            Map<Long, Money> bucket = totals.get(i);
+            Money totalIncome = sum(bucket, categories, TransactionType.INCOME);
+            Money totalExpense = sum(bucket, categories, TransactionType.EXPENSE);
+            Money netAmount = totalIncome.minus(totalExpense);
+            periods.add(PeriodBucketDto.builder()
+                    .label(granularity.label(periodStarts.get(i)))
+                    .startDate(i == 0 ? startDate : periodStarts.get(i))
+                    .endDate(ends.get(i))
+                    .totalIncome(totalIncome.toBigDecimal())
+                    .totalExpense(totalExpense.toBigDecimal())
+                    .netAmount(netAmount.toBigDecimal())
+                    .savingsRate(Money.percentageOf(netAmount, totalIncome))
+                    .expensesByCategory(toCategorySummaries(bucket, categories, TransactionType.EXPENSE, totalExpense))
+                    .incomeBySource(toCategorySummaries(bucket, categories, TransactionType.INCOME, totalIncome))
+                    .build());
+        }
+
+        return PeriodAnalyticsDto.builder()
+                .granularity(granularity)
+                .startDate(startDate)
+                .endDate(endDate)
+                .periods(periods)
+                .build();
+    }
+
+    private Map<Long, Category> categoriesFor(Long userId) {
+        return categoryRepository.findAllForUser(userId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    static Money sum(Map<Long, Money> totals, Map<Long, Category> categories, TransactionType type) {
+        return totals.entrySet().stream()
+                .filter(e -> categories.containsKey(e.getKey()) && categories.get(e.getKey()).getType() == type)
+                .map(Map.Entry::getValue)
+                .reduce(Money.ZERO, Money::plus);
+    }
+
+    static List<CategorySummaryDto> toCategorySummaries(Map<Long, Money> totals, Map<Long, Category> categories,
+                                                        TransactionType type, Money total) {
+        return totals.entrySet().stream()
+                .filter(e -> categories.containsKey(e.getKey()) && categories.get(e.getKey()).getType() == type)
+                .sorted(Map.Entry.<Long, Money>comparingByValue(Comparator.reverseOrder()))
+                .map(e -> {
+                    Category category = categories.get(e.getKey());
+                    return CategorySummaryDto.builder()
+                            .categoryId(category.getId())
+                            .categoryName(category.getName())
+                            .categoryIcon(category.getIcon())
+                            .categoryColor(category.getColor())
+                            .amount(e.getValue().toBigDecimal())
+                            .percentage(Money.percentageValueOf(e.getValue(), total))
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,367 @@
+package com.pm.expenseservice.service;
+
+import com.pm.expenseservice.dto.request.BudgetDto;
+import com.pm.expenseservice.dto.response.BudgetAlertEventDto;
+import com.pm.expenseservice.dto.response.BudgetResponseDto;
+import com.pm.expenseservice.dto.response.BudgetStatusDto;
+import com.pm.expenseservice.entity.Budget;
+import com.pm.expenseservice.entity.BudgetSpend;
+import com.pm.expenseservice.entity.Category;
+import com.pm.expenseservice.entity.Transaction;
+import com.pm.expenseservice.entity.UserPreferences;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.exception.BadRequestException;
+import com.pm.expenseservice.exception.ResourceNotFoundException;
+import com.pm.expenseservice.repository.BudgetRepository;
+import com.pm.expenseservice.repository.BudgetSpendRepository;
+import com.pm.expenseservice.repository.CategoryRepository;
+import com.pm.expenseservice.repository.UserPreferencesRepository;
+import com.pm.expenseservice.util.MetricsRecorder;
+import com.pm.expenseservice.util.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly category budgets and their alerts.
+ *
+ * Every expense posting adds to a budget_spend counter for its month in the same statement that
+ * reads back the new total and the category's budget, so evaluating thresholds never re-sums
+ * transactions. A threshold alerts once per month, the first time spend reaches it; thresholds
+ * already reached when a budget is created or changed do not alert.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BudgetService {
+
+    private static final List<Integer> DEFAULT_THRESHOLDS = List.of(80, 100);
+    private static final String BUDGET_TIMER = "expense.budgets";
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetSpendRepository budgetSpendRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserPreferencesRepository userPreferencesRepository;
+    private final OutboxService outboxService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsRecorder metrics;
+
+    @Value("${app.budgets.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private record SpendUpdate(long spentCents, int alertedPercent, Long budgetId, long monthlyCents,
+                               Integer[] thresholds) {
+    }
+
+    // Runs after the ledger's own startup rebuild, since the counters are rebuilt from it
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Boolean countersEmpty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM budget_spend)", Boolean.class);
+        Boolean haveLedger = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM daily_ledger)", Boolean.class);
+        if (Boolean.TRUE.equals(countersEmpty) && Boolean.TRUE.equals(haveLedger)) {
+            rebuild();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetResponseDto> getBudgets(Long userId) {
+        return budgetRepository.findAllForUser(userId).stream()
+                .map(this::mapToResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public BudgetResponseDto createBudget(Long userId, BudgetDto dto) {
+        log.info("Creating budget for user: {}", userId);
+
+        Category category = expenseCategory(userId, dto.getCategoryId());
+        if (budgetRepository.existsByUserIdAndCategoryId(userId, category.getId())) {
+            throw new BadRequestException("A budget already exists for this category");
+        }
+
+        Budget budget = Budget.builder()
+                .userId(userId)
+                .category(category)
+                .monthlyAmount(dto.getMonthlyAmount())
+                .alertThresholds(thresholds(dto.getAlertThresholds()))
+                .build();
+
+        Budget saved = budgetRepository.save(budget);
+        resetAlertMark(saved);
+        log.info("Budget created with ID: {}", saved.getId());
+
+        return mapToResponseDto(saved);
+    }
+
+    @Transactional
+    public BudgetResponseDto updateBudget(Long userId, Long budgetId, BudgetDto dto) {
+        log.info("Updating budget: {} for user: {}", budgetId, userId);
+
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
+
+        if (!dto.getCategoryId().equals(budget.getCategory().getId())) {
+            Category category = expenseCategory(userId, dto.getCategoryId());
+            if (budgetRepository.existsByUserIdAndCategoryId(userId, category.getId())) {
+                throw new BadRequestException("A budget already exists for this category");
+            }
+            budget.setCategory(category);
+        }
+        budget.setMonthlyAmount(dto.getMonthlyAmount());
+        budget.setAlertThresholds(thresholds(dto.getAlertThresholds()));
+
+        Budget updated = budgetRepository.save(budget);
+        resetAlertMark(updated);
+        log.info("Budget updated successfully");
+
+        return mapToResponseDto(updated);
+    }
+
+    @Transactional
+    public void deleteBudget(Long userId, Long budgetId) {
+        log.info("Deleting budget: {} for user: {}", budgetId, userId);
+
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
+
+        budgetRepository.delete(budget);
+        log.info("Budget deleted successfully");
+    }
+
+    /**
+     * Spend against every budget for one month, read from the maintained counters: two queries
+     * whose size is the number of budgets and expense categories, whatever the transaction count.
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetStatusDto> getStatus(Long userId, YearMonth month) {
+        return metrics.time(BUDGET_TIMER, () -> doGetStatus(userId, month), "operation", "status");
+    }
+
+    private List<BudgetStatusDto> doGetStatus(Long userId, YearMonth month) {
+        List<Budget> budgets = budgetRepository.findAllForUser(userId);
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BudgetSpend> spendByCategory = budgetSpendRepository.findByUserIdAndMonth(userId, month.atDay(1))
+                .stream()
+                .collect(Collectors.toMap(BudgetSpend::getCategoryId, Function.identity()));
+
+        return budgets.stream().map(budget -> {
+            Category category = budget.getCategory();
+            BudgetSpend spend = spendByCategory.get(category.getId());
+            Money limit = Money.of(budget.getMonthlyAmount());
+            Money spent = spend != null ? Money.of(spend.getSpentAmount()) : Money.ZERO;
+            int reached = reachedThreshold(budget.getAlertThresholds(), spent.cents(), limit.cents());
+            return BudgetStatusDto.builder()
+                    .budgetId(budget.getId())
+                    .categoryId(category.getId())
+                    .categoryName(category.getName())
+                    .categoryIcon(category.getIcon())
+                    .categoryColor(category.getColor())
+                    .month(month)
+                    .monthlyAmount(limit.toBigDecimal())
+                    .spentAmount(spent.toBigDecimal())
+                    .remainingAmount(limit.minus(spent).toBigDecimal())
+                    .percentUsed(Money.percentageOf(spent, limit))
+                    .thresholdReached(reached > 0 ? reached : null)
+                    .build();
+        }).collect(Collectors.toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Transaction transaction) {
+        apply(DailyLedgerService.Posting.of(transaction));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverse(Transaction transaction) {
+        apply(DailyLedgerService.Posting.of(transaction).negate());
+    }
+
+    /**
+     * Applies a batch of new transactions with one counter update per category and month, users in id order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<DailyLedgerService.Posting> postings) {
+        Map<DailyLedgerService.Posting, BigDecimal> months = new TreeMap<>(DailyLedgerService.Posting.ORDER);
+        postings.forEach(p -> months.merge(new DailyLedgerService.Posting(p.userId(), p.type(), p.categoryId(),
+                p.date().withDayOfMonth(1), p.amount()), p.amount(), BigDecimal::add));
+        months.forEach((month, amount) -> apply(month.withAmount(amount)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void update(DailyLedgerService.Posting before, Transaction after) {
+        DailyLedgerService.Posting now = DailyLedgerService.Posting.of(after);
+        if (sameCounter(before, now)) {
+            // One net change, so an edit from 70% to 90% is a single crossing of 80%
+            apply(new DailyLedgerService.Posting(now.userId(), now.type(), now.categoryId(), now.date(),
+                    now.amount().subtract(before.amount())));
+            return;
+        }
+        apply(before.negate());
+        apply(now);
+    }
+
+    /**
+     * Recomputes every counter from the daily ledger; alert marks are set to the thresholds
+     * already reached so a rebuild never re-sends alerts. Returns the number of counters written.
+     */
+    public long rebuild() {
+        Long rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("TRUNCATE budget_spend");
+            jdbcTemplate.update("INSERT INTO budget_spend (user_id, category_id, month, spent_amount, alerted_percent) "
+                    + "SELECT user_id, category_id, CAST(date_trunc('month', ledger_date) AS date), SUM(day_amount), 0 "
+                    + "FROM daily_ledger WHERE type = ? GROUP BY 1, 2, 3", TransactionType.EXPENSE.name());
+            jdbcTemplate.update("UPDATE budget_spend s SET alerted_percent = COALESCE("
+                    + "(SELECT max(t) FROM unnest(b.alert_thresholds) t WHERE s.spent_amount * 100 >= b.monthly_amount * t), 0) "
+                    + "FROM budgets b WHERE b.user_id = s.user_id AND b.category_id = s.category_id");
+            return jdbcTemplate.queryForObject("SELECT count(*) FROM budget_spend", Long.class);
+        });
+        log.info("Rebuilt budget spend counters: {} rows", rows);
+        return Objects.requireNonNullElse(rows, 0L);
+    }
+
+    private void apply(DailyLedgerService.Posting posting) {
+        if (posting.type() != TransactionType.EXPENSE || posting.amount().signum() == 0) {
+            return;
+        }
+        LocalDate month = posting.date().withDayOfMonth(1);
+        SpendUpdate update = jdbcTemplate.queryForObject("WITH s AS ("
+                        + "INSERT INTO budget_spend (user_id, category_id, month, spent_amount, alerted_percent) "
+                        + "VALUES (?, ?, ?, ?, 0) ON CONFLICT (user_id, category_id, month) "
+                        + "DO UPDATE SET spent_amount = budget_spend.spent_amount + EXCLUDED.spent_amount "
+                        + "RETURNING spent_amount, alerted_percent) "
+                        + "SELECT CAST(s.spent_amount * 100 AS bigint), s.alerted_percent, b.id, "
+                        + "CAST(b.monthly_amount * 100 AS bigint), b.alert_thresholds "
+                        + "FROM s LEFT JOIN budgets b ON b.user_id = ? AND b.category_id = ?",
+                (rs, i) -> {
+                    Array thresholds = rs.getArray(5);
+                    return new SpendUpdate(rs.getLong(1), rs.getInt(2), (Long) rs.getObject(3), rs.getLong(4),
+                            thresholds != null ? (Integer[]) thresholds.getArray() : null);
+                },
+                posting.userId(), posting.categoryId(), Date.valueOf(month), posting.amount(),
+                posting.userId(), posting.categoryId());
+
+        // Only spend going up can cross a threshold
+        if (update == null || update.budgetId() == null || posting.amount().signum() < 0) {
+            return;
+        }
+        int reached = reachedThreshold(update.thresholds(), update.spentCents(), update.monthlyCents());
+        if (reached <= update.alertedPercent()
+                || budgetSpendRepository.raiseAlertedPercent(posting.userId(), posting.categoryId(), month, reached) == 0) {
+            return;
+        }
+        if (!alertsEnabled(posting.userId())) {
+            return;
+        }
+        outboxService.recordBudgetAlert(BudgetAlertEventDto.builder()
+                .userId(posting.userId())
+                .budgetId(update.budgetId())
+                .categoryId(posting.categoryId())
+                .month(YearMonth.from(month))
+                .thresholdPercent(reached)
+                .monthlyAmount(Money.ofCents(update.monthlyCents()).toBigDecimal())
+                .spentAmount(Money.ofCents(update.spentCents()).toBigDecimal())
+                .build());
+        metrics.increment("expense.budgets.alerts", 1);
+    }
+
+    /**
+     * The highest threshold that spent has reached, as a percentage of the monthly amount; 0 if none.
+     */
+    static int reachedThreshold(Integer[] thresholds, long spentCents, long monthlyCents) {
+        int reached = 0;
+        if (thresholds == null || monthlyCents <= 0) {
+            return reached;
+        }
+        for (Integer threshold : thresholds) {
+            if (threshold > reached
+                    && Math.multiplyExact(spentCents, 100L) >= Math.multiplyExact(monthlyCents, (long) threshold)) {
+                reached = threshold;
+            }
+        }
+        return reached;
+    }
+
+    // Marks the current month as alerted up to what is already reached under the budget's new terms
+    private void resetAlertMark(Budget budget) {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        Long categoryId = budget.getCategory().getId();
+        budgetSpendRepository.findByUserIdAndCategoryIdAndMonth(budget.getUserId(), categoryId, month)
+                .ifPresent(spend -> budgetSpendRepository.setAlertedPercent(budget.getUserId(), categoryId, month,
+                        reachedThreshold(budget.getAlertThresholds(), Money.of(spend.getSpentAmount()).cents(),
+                                Money.of(budget.getMonthlyAmount()).cents())));
+    }
+
+    private boolean alertsEnabled(Long userId) {
+        return userPreferencesRepository.findByUserId(userId)
+                .map(UserPreferences::getBudgetAlerts)
+                .map(Boolean.TRUE::equals)
+                .orElse(true);
+    }
+
+    private Category expenseCategory(Long userId, Long categoryId) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+
+        if (category.getType() != TransactionType.EXPENSE) {
+            throw new BadRequestException("Budgets can only be set on expense categories");
+        }
+        if (!category.getIsSystem() && !category.getUserId().equals(userId)) {
+            throw new BadRequestException("Category does not belong to user");
+        }
+        return category;
+    }
+
+    private static Integer[] thresholds(List<Integer> requested) {
+        List<Integer> values = requested != null && !requested.isEmpty() ? requested : DEFAULT_THRESHOLDS;
+        return values.stream().distinct().sorted().toArray(Integer[]::new);
+    }
+
+    private static boolean sameCounter(DailyLedgerService.Posting a, DailyLedgerService.Posting b) {
+        return a.userId().equals(b.userId()) && a.type() == b.type() && a.categoryId().equals(b.categoryId())
+                && YearMonth.from(a.date()).equals(YearMonth.from(b.date()));
+    }
+
+    private BudgetResponseDto mapToResponseDto(Budget budget) {
+        Category category = budget.getCategory();
+        return BudgetResponseDto.builder()
+                .id(budget.getId())
+                .categoryId(category.getId())
+                .categoryName(category.getName())
+                .categoryIcon(category.getIcon())
+                .categoryColor(category.getColor())
+                .monthlyAmount(budget.getMonthlyAmount())
+                .alertThresholds(Arrays.asList(budget.getAlertThresholds()))
+                .createdAt(budget.getCreatedAt())
+                .updatedAt(budget.getUpdatedAt())
+                .build();
+    }
+}
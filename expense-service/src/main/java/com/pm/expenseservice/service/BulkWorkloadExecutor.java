@@ -0,0 +1,68 @@
+package com.pm.expenseservice.service;
+
+import com.pm.expenseservice.config.BulkWorkloadConfig;
+import com.pm.expenseservice.exception.ServiceUnavailableException;
+import com.pm.expenseservice.util.MetricsRecorder;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Runs file imports and exports on the bulk executor and its dedicated connection pool,
+ * blocking the caller until the job finishes. Rejects work once the queue is full.
+ */
+@Service
+public class BulkWorkloadExecutor {
+
+    private static final String QUEUE_TIMER = "bulk.queue.wait";
+    private static final String JOB_TIMER = "bulk.job";
+
+    private final ThreadPoolTaskExecutor executor;
+    private final MetricsRecorder metrics;
+
+    public BulkWorkloadExecutor(@Qualifier(BulkWorkloadConfig.BULK_EXECUTOR) ThreadPoolTaskExecutor executor,
+                                MetricsRecorder metrics) {
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    public <T> T run(String operation, Callable<T> job) {
+        Timer.Sample queued = metrics.start();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                metrics.stop(queued, QUEUE_TIMER, MetricsRecorder.SUCCESS, "operation", operation);
+                Timer.Sample running = metrics.start();
+                String outcome = MetricsRecorder.ERROR;
+                try {
+                    T result = job.call();
+                    outcome = MetricsRecorder.SUCCESS;
+                    return result;
+                } finally {
+                    metrics.stop(running, JOB_TIMER, outcome, "operation", operation);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            metrics.stop(queued, QUEUE_TIMER, "rejected", "operation", operation);
+            throw new ServiceUnavailableException("Too many file imports and exports in progress, please retry shortly", e);
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            ReflectionUtils.rethrowRuntimeException(e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for " + operation, e);
+        }
+    }
+}
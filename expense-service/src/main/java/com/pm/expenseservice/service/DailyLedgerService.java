@@ -0,0 +1,285 @@
+package com.pm.expenseservice.service;
+
+import com.pm.expenseservice.entity.MonthlySummary;
+import com.pm.expenseservice.entity.Transaction;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.repository.DailyLedgerRepository;
+import com.pm.expenseservice.repository.MonthlySummaryRepository;
+import com.pm.expenseservice.repository.TransactionArchiveStore;
+import com.pm.expenseservice.util.Money;
+import com.pm.expenseservice.util.TransactionArchiveFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the daily_ledger running totals in step with transaction mutations and answers range
+ * totals from them.
+ *
+ * A posting adds to its day and shifts the running total of every later day for the same user,
+ * type and category; later days are few for the usual recent-dated transaction. Postings for one
+ * user are serialized with a transaction-scoped advisory lock so concurrent backdated writes
+ * cannot miss each other's shifts.
+ *
+ * Archived months stay in the ledger: archiving removes rows from transactions, not postings.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyLedgerService {
+
+    private static final int LOCK_NAMESPACE = 0x4C47; // "LG"
+
+    private final DailyLedgerRepository dailyLedgerRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final TransactionArchiveStore archiveStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.ledger.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    /**
+     * The ledger-relevant part of a transaction, captured before an update changes it.
+     */
+    public record Posting(Long userId, TransactionType type, Long categoryId, LocalDate date, BigDecimal amount) {
+
+        public static Posting of(Transaction transaction) {
+            return new Posting(transaction.getUserId(), transaction.getType(), transaction.getCategory().getId(),
+                    transaction.getTransactionDate(), transaction.getAmount());
+        }
+
+        // User first so batches take user locks in id order; the amount is not part of the order
+        static final Comparator<Posting> ORDER = Comparator.comparing(Posting::userId)
+                .thenComparing(Posting::date)
+                .thenComparing(Posting::type)
+                .thenComparing(Posting::categoryId);
+
+        Posting negate() {
+            return withAmount(amount.negate());
+        }
+
+        Posting withAmount(BigDecimal newAmount) {
+            return new Posting(userId, type, categoryId, date, newAmount);
+        }
+
+        boolean sameDay(Posting other) {
+            return userId.equals(other.userId) && type == other.type && categoryId.equals(other.categoryId)
+                    && date.equals(other.date);
+        }
+    }
+
+    /**
+     * Running totals per category id at the end of each given day.
+     */
+    public record Balances(Map<LocalDate, Map<Long, Money>> byDate) {
+
+        public Money at(LocalDate date, Long categoryId) {
+            return byDate.getOrDefault(date, Map.of()).getOrDefault(categoryId, Money.ZERO);
+        }
+
+        public Collection<Long> categoryIds() {
+            return byDate.values().stream().flatMap(m -> m.keySet().stream()).collect(Collectors.toSet());
+        }
+    }
+
+    private record LedgerDay(TransactionType type, Long categoryId, LocalDate date) {
+    }
+
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Boolean ledgerEmpty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM daily_ledger)", Boolean.class);
+        Boolean haveTransactions = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM transactions)", Boolean.class);
+        if (Boolean.TRUE.equals(ledgerEmpty) && Boolean.TRUE.equals(haveTransactions)) {
+            rebuild();
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Transaction transaction) {
+        post(Posting.of(transaction));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverse(Transaction transaction) {
+        post(Posting.of(transaction).negate());
+    }
+
+    /**
+     * Posts a batch of new transactions, merged per day. Users are locked in id order, so two
+     * batches touching the same users cannot deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<Posting> postings) {
+        Map<Posting, BigDecimal> days = new TreeMap<>(Posting.ORDER);
+        postings.forEach(posting -> days.merge(posting, posting.amount(), BigDecimal::add));
+        days.forEach((day, amount) -> post(day.withAmount(amount)));
+    }
+
+    /**
+     * Moves a transaction's posting after an update; a no-op when nothing the ledger tracks changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void update(Posting before, Transaction after) {
+        Posting now = Posting.of(after);
+        if (before.sameDay(now)) {
+            if (before.amount().compareTo(now.amount()) != 0) {
+                post(new Posting(now.userId(), now.type(), now.categoryId(), now.date(),
+                        now.amount().subtract(before.amount())));
+            }
+            return;
+        }
+        post(before.negate());
+        post(now);
+    }
+
+    /**
+     * Running totals at the end of each date for every category with activity up to it.
+     */
+    @Transactional(readOnly = true)
+    public Balances balances(Long userId, Collection<LocalDate> dates) {
+        List<LocalDate> asOf = dates.stream().distinct().toList();
+        Map<LocalDate, Map<Long, Money>> byDate = new TreeMap<>();
+        asOf.forEach(date -> byDate.put(date, new HashMap<>()));
+        if (asOf.isEmpty()) {
+            return new Balances(byDate);
+        }
+
+        // One index probe per (date, category): cost depends on categories and dates, not on transactions
+        String values = asOf.stream().map(date -> "(CAST(? AS date))").collect(Collectors.joining(", "));
+        List<Object> args = new ArrayList<>();
+        asOf.forEach(date -> args.add(Date.valueOf(date)));
+        args.add(userId);
+        args.add(userId);
+        jdbcTemplate.query("SELECT d.as_of, c.id, CAST(x.cumulative_amount * 100 AS bigint) "
+                        + "FROM (VALUES " + values + ") AS d(as_of) "
+                        + "CROSS JOIN categories c "
+                        + "JOIN LATERAL (SELECT l.cumulative_amount FROM daily_ledger l "
+                        + "WHERE l.user_id = ? AND l.type = c.type AND l.category_id = c.id AND l.ledger_date <= d.as_of "
+                        + "ORDER BY l.ledger_date DESC LIMIT 1) x ON true "
+                        + "WHERE c.is_system = true OR c.user_id = ?",
+                rs -> {
+                    byDate.get(rs.getObject(1, LocalDate.class)).put(rs.getLong(2), Money.ofCents(rs.getLong(3)));
+                }, args.toArray());
+        return new Balances(byDate);
+    }
+
+    /**
+     * Per-category totals for transactions dated startDate..endDate inclusive, from two balance lookups.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Money> rangeTotals(Long userId, LocalDate startDate, LocalDate endDate) {
+        return consecutiveTotals(userId, startDate, List.of(endDate)).get(0);
+    }
+
+    /**
+     * Per-category totals for back-to-back ranges in one lookup: range i runs from the day after
+     * ends[i - 1] (startDate for the first) through ends[i]. Cost grows with the number of ranges,
+     * not with the span they cover.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<Long, Money>> consecutiveTotals(Long userId, LocalDate startDate, List<LocalDate> ends) {
+        List<LocalDate> dates = new ArrayList<>(ends.size() + 1);
+        dates.add(startDate.minusDays(1));
+        dates.addAll(ends);
+        Balances balances = balances(userId, dates);
+        Collection<Long> categoryIds = balances.categoryIds();
+
+        List<Map<Long, Money>> ranges = new ArrayList<>(ends.size());
+        for (int i = 1; i < dates.size(); i++) {
+            Map<Long, Money> totals = new HashMap<>();
+            for (Long categoryId : categoryIds) {
+                Money total = balances.at(dates.get(i), categoryId).minus(balances.at(dates.get(i - 1), categoryId));
+                if (total.signum() != 0) {
+                    totals.put(categoryId, total);
+                }
+            }
+            ranges.add(totals);
+        }
+        return ranges;
+    }
+
+    /**
+     * Recomputes the whole ledger from transactions and archive files; returns the number of rows written.
+     * Postings from concurrent mutations wait on the table lock and apply on top afterwards.
+     */
+    public long rebuild() {
+        Long rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("TRUNCATE daily_ledger");
+            jdbcTemplate.update("INSERT INTO daily_ledger "
+                    + "(user_id, type, category_id, ledger_date, day_amount, cumulative_amount) "
+                    + "SELECT user_id, type, category_id, transaction_date, SUM(amount), 0 FROM transactions "
+                    + "GROUP BY user_id, type, category_id, transaction_date");
+            addArchivedDays();
+            jdbcTemplate.update("UPDATE daily_ledger l SET cumulative_amount = s.running FROM ("
+                    + "SELECT id, SUM(day_amount) OVER (PARTITION BY user_id, type, category_id ORDER BY ledger_date) "
+                    + "AS running FROM daily_ledger) s WHERE l.id = s.id");
+            return jdbcTemplate.queryForObject("SELECT count(*) FROM daily_ledger", Long.class);
+        });
+        log.info("Rebuilt daily ledger: {} rows", rows);
+        return Objects.requireNonNullElse(rows, 0L);
+    }
+
+    private void addArchivedDays() {
+        for (MonthlySummary summary : monthlySummaryRepository.findByArchivedAtIsNotNull()) {
+            Map<LedgerDay, Long> days = new HashMap<>();
+            try {
+                for (TransactionArchiveFile.Row row : archiveStore.open(summary.getUserId(),
+                        YearMonth.of(summary.getYear(), summary.getMonth()), summary.getArchiveVersion()).rows()) {
+                    days.merge(new LedgerDay(row.type(), row.categoryId(), row.transactionDate()),
+                            row.amountCents(), Long::sum);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            List<Object[]> batch = days.entrySet().stream()
+                    .map(e -> new Object[]{summary.getUserId(), e.getKey().type().name(), e.getKey().categoryId(),
+                            Date.valueOf(e.getKey().date()), BigDecimal.valueOf(e.getValue(), 2)})
+                    .toList();
+            jdbcTemplate.batchUpdate("INSERT INTO daily_ledger "
+                    + "(user_id, type, category_id, ledger_date, day_amount, cumulative_amount) VALUES (?, ?, ?, ?, ?, 0) "
+                    + "ON CONFLICT (user_id, type, category_id, ledger_date) "
+                    + "DO UPDATE SET day_amount = daily_ledger.day_amount + EXCLUDED.day_amount", batch);
+        }
+    }
+
+    private void post(Posting posting) {
+        if (posting.amount().signum() == 0) {
+            return;
+        }
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, hashtext(CAST(? AS text)))", rs -> null,
+                LOCK_NAMESPACE, posting.userId());
+        String type = posting.type().name();
+        dailyLedgerRepository.addToDay(posting.userId(), type, posting.categoryId(), posting.date(), posting.amount());
+        dailyLedgerRepository.addToLaterDays(posting.userId(), type, posting.categoryId(), posting.date(), posting.amount());
+        dailyLedgerRepository.deleteEmptyDay(posting.userId(), type, posting.categoryId(), posting.date());
+    }
+}
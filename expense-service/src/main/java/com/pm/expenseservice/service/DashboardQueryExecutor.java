@@ -0,0 +1,85 @@
+package com.pm.expenseservice.service;
+
+import com.pm.expenseservice.config.DashboardConfig;
+import com.pm.expenseservice.config.DashboardProperties;
+import com.pm.expenseservice.util.MetricsRecorder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs dashboard sub-queries concurrently, each in its own read-only transaction and
+ * therefore on its own pooled connection. A shared semaphore caps the connections taken
+ * this way; when no permit is free the query runs on the caller thread instead of queueing,
+ * so a busy pool degrades to sequential execution rather than deeper waits.
+ */
+@Service
+public class DashboardQueryExecutor {
+
+    private static final String FANOUT_COUNTER = "expense.dashboard.fanout";
+
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final MetricsRecorder metrics;
+    private final boolean enabled;
+    private final Semaphore permits;
+
+    public DashboardQueryExecutor(@Qualifier(DashboardConfig.DASHBOARD_EXECUTOR) ThreadPoolTaskExecutor executor,
+                                  PlatformTransactionManager transactionManager,
+                                  MetricsRecorder metrics,
+                                  DashboardProperties properties,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.executor = executor;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.metrics = metrics;
+        this.enabled = properties.isEnabled();
+        this.permits = new Semaphore(DashboardConfig.maxConcurrentQueries(properties, poolSize));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs the whole sequential dashboard in one read-only transaction.
+     */
+    public <T> T inTransaction(Supplier<T> work) {
+        return readOnlyTransactionTemplate.execute(status -> work.get());
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(query.get());
+        }
+        if (!permits.tryAcquire()) {
+            metrics.increment(FANOUT_COUNTER, 1, "mode", "inline");
+            try {
+                return CompletableFuture.completedFuture(inTransaction(query));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        metrics.increment(FANOUT_COUNTER, 1, "mode", "parallel");
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return inTransaction(query);
+                } finally {
+                    permits.release();
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.pm.expenseservice.service;
 
 import com.pm.expenseservice.dto.response.*;
+import com.pm.expenseservice.entity.Transaction;
 import com.pm.expenseservice.enums.TransactionType;
 import com.pm.expenseservice.repository.TransactionRepository;
+import com.pm.expenseservice.repository.TransactionRepository.CategorySummaryProjection;
+import com.pm.expenseservice.util.MetricsRecorder;
+import com.pm.expenseservice.util.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.format.TextStyle;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,48 +28,73 @@ public class DashboardService {
 
     private final TransactionRepository transactionRepository;
     private final TransactionService transactionService;
-
-    @Transactional(readOnly = true)
+    private final MetricsRecorder metrics;
+    private final DashboardQueryExecutor queryExecutor;
+
+    private static final String DASHBOARD_TIMER = "expense.dashboard";
+    private static final String PHASE_TIMER = "expense.dashboard.phase";
+    private static final int RECENT_LIMIT = 10;
+    private static final int RECENT_WINDOW_DAYS = 90;
+
+    /**
+     * Sequentially inside one read-only transaction, or with app.dashboard.parallel.enabled as
+     * concurrent sub-queries, each in its own read-only transaction. No outer transaction is
+     * opened in parallel mode, so the request thread holds no idle connection while it waits.
+     */
     public DashboardResponseDto getDashboard(Long userId, int year, int month) {
+        return metrics.time(DASHBOARD_TIMER, () -> queryExecutor.isEnabled()
+                ? buildDashboard(userId, year, month)
+                : queryExecutor.inTransaction(() -> buildDashboard(userId, year, month)));
+    }
+
+    private DashboardResponseDto buildDashboard(Long userId, int year, int month) {
         log.info("Generating dashboard for user: {} for {}/{}", userId, month, year);
 
         LocalDate startDate = LocalDate.of(year, month, 1);
         LocalDate endDate = startDate.plusMonths(1).minusDays(1);
 
-        // Get totals
-        BigDecimal totalIncome = transactionRepository.sumByUserAndTypeAndDateRange(
-                userId, TransactionType.INCOME, startDate, endDate);
-        BigDecimal totalExpense = transactionRepository.sumByUserAndTypeAndDateRange(
-                userId, TransactionType.EXPENSE, startDate, endDate);
-        BigDecimal netAmount = totalIncome.subtract(totalExpense);
+        // The queries are independent; percentages are derived once the totals are in
+        CompletableFuture<BigDecimal> incomeFuture = queryExecutor.submit(() -> metrics.time(PHASE_TIMER,
+                () -> transactionRepository.sumByUserAndTypeAndDateRange(
+                        userId, TransactionType.INCOME, startDate, endDate), "phase", "totals"));
+        CompletableFuture<BigDecimal> expenseFuture = queryExecutor.submit(() -> metrics.time(PHASE_TIMER,
+                () -> transactionRepository.sumByUserAndTypeAndDateRange(
+                        userId, TransactionType.EXPENSE, startDate, endDate), "phase", "totals"));
+        CompletableFuture<List<CategorySummaryProjection>> expenseCategoriesFuture = queryExecutor.submit(
+                () -> metrics.time(PHASE_TIMER, () -> transactionRepository.sumByCategory(
+                        userId, TransactionType.EXPENSE, startDate, endDate), "phase", "sum_by_category"));
+        CompletableFuture<List<CategorySummaryProjection>> incomeCategoriesFuture = queryExecutor.submit(
+                () -> metrics.time(PHASE_TIMER, () -> transactionRepository.sumByCategory(
+                        userId, TransactionType.INCOME, startDate, endDate), "phase", "sum_by_category"));
+
+        // Get recent transactions (mapped inside the query's transaction, categories are lazy)
+        CompletableFuture<List<TransactionResponseDto>> recentFuture = queryExecutor.submit(
+                () -> metrics.time(PHASE_TIMER, () -> findRecentTransactions(userId)
+                        .stream()
+                        .map(transaction -> transactionService.mapToResponseDto(transaction))
+                        .collect(Collectors.toList()), "phase", "recent_transactions"));
 
-        // Calculate savings rate
-        BigDecimal savingsRate = BigDecimal.ZERO;
-        if (totalIncome.compareTo(BigDecimal.ZERO) > 0) {
-            savingsRate = netAmount.divide(totalIncome, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
-        }
+        // Get monthly trends (last 6 months)
+        CompletableFuture<List<MonthlyTrendDto>> trendsFuture = queryExecutor.submit(
+                () -> metrics.time(PHASE_TIMER, () -> getMonthlyTrends(userId, 6), "phase", "monthly_trends"));
 
-        // Get category summaries
-        List<CategorySummaryDto> expensesByCategory = getCategorySummaries(
-                userId, TransactionType.EXPENSE, startDate, endDate, totalExpense);
-        List<CategorySummaryDto> incomeBySource = getCategorySummaries(
-                userId, TransactionType.INCOME, startDate, endDate, totalIncome);
+        // Aggregated in cents; BigDecimal only for the response
+        Money totalIncome = Money.of(join(incomeFuture));
+        Money totalExpense = Money.of(join(expenseFuture));
+        Money netAmount = totalIncome.minus(totalExpense);
 
-        // Get recent transactions
-        List<TransactionResponseDto> recentTransactions = transactionRepository
-                .findTop10ByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(transaction -> transactionService.mapToResponseDto(transaction))
-                .collect(Collectors.toList());
+        // Calculate savings rate
+        BigDecimal savingsRate = Money.percentageOf(netAmount, totalIncome);
 
-        // Get monthly trends (last 6 months)
-        List<MonthlyTrendDto> monthlyTrends = getMonthlyTrends(userId, 6);
+        List<CategorySummaryDto> expensesByCategory = toCategorySummaries(join(expenseCategoriesFuture), totalExpense);
+        List<CategorySummaryDto> incomeBySource = toCategorySummaries(join(incomeCategoriesFuture), totalIncome);
+        List<TransactionResponseDto> recentTransactions = join(recentFuture);
+        List<MonthlyTrendDto> monthlyTrends = join(trendsFuture);
 
         return DashboardResponseDto.builder()
-                .totalIncome(totalIncome)
-                .totalExpense(totalExpense)
-                .netAmount(netAmount)
+                .totalIncome(totalIncome.toBigDecimal())
+                .totalExpense(totalExpense.toBigDecimal())
+                .netAmount(netAmount.toBigDecimal())
                 .savingsRate(savingsRate)
                 .expensesByCategory(expensesByCategory)
                 .incomeBySource(incomeBySource)
@@ -73,65 +103,78 @@ public class DashboardService {
                 .build();
     }
 
-    private List<CategorySummaryDto> getCategorySummaries(Long userId, TransactionType type,
-                                                          LocalDate startDate, LocalDate endDate,
-                                                          BigDecimal total) {
-        return transactionRepository.sumByCategory(userId, type, startDate, endDate)
-                .stream()
-                .map(projection -> {
-                    BigDecimal percentage = BigDecimal.ZERO;
-                    if (total.compareTo(BigDecimal.ZERO) > 0) {
-                        percentage = projection.getTotal()
-                                .divide(total, 4, RoundingMode.HALF_UP)
-                                .multiply(BigDecimal.valueOf(100));
-                    }
+    // Entries from the last few months first; only users with sparse recent activity fall back to the full scan
+    private List<Transaction> findRecentTransactions(Long userId) {
+        List<Transaction> recent = transactionRepository.findTop10ByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                userId, LocalDateTime.now().minusDays(RECENT_WINDOW_DAYS));
+        if (recent.size() < RECENT_LIMIT) {
+            recent = transactionRepository.findTop10ByUserIdOrderByCreatedAtDesc(userId);
+        }
+        return recent;
+    }
+
+    // Surfaces the sub-query's own exception instead of the CompletionException wrapper
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
-                    return CategorySummaryDto.builder()
-                            .categoryId(projection.getCategoryId())
-                            .categoryName(projection.getCategoryName())
-                            .categoryIcon(projection.getCategoryIcon())
-                            .categoryColor(projection.getCategoryColor())
-                            .amount(projection.getTotal())
-                            .percentage(percentage.doubleValue())
-                            .build();
-                })
+    private List<CategorySummaryDto> toCategorySummaries(List<CategorySummaryProjection> projections,
+                                                         Money total) {
+        return projections
+                .stream()
+                .map(projection -> CategorySummaryDto.builder()
+                        .categoryId(projection.getCategoryId())
+                        .categoryName(projection.getCategoryName())
+                        .categoryIcon(projection.getCategoryIcon())
+                        .categoryColor(projection.getCategoryColor())
+                        .amount(projection.getTotal())
+                        .percentage(Money.percentageValueOf(Money.of(projection.getTotal()), total))
+                        .build())
                 .collect(Collectors.toList());
     }
 
     private List<MonthlyTrendDto> getMonthlyTrends(Long userId, int months) {
         LocalDate startDate = LocalDate.now().minusMonths(months - 1).withDayOfMonth(1);
 
-        Map<String, MonthlyTrendDto> trendsMap = new LinkedHashMap<>();
-
-        // Initialize all months
-        for (int i = 0; i < months; i++) {
-            LocalDate date = startDate.plusMonths(i);
-            String key = date.getYear() + "-" + date.getMonthValue();
-            trendsMap.put(key, MonthlyTrendDto.builder()
-                    .year(date.getYear())
-                    .month(date.getMonthValue())
-                    .monthName(date.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
-                    .income(BigDecimal.ZERO)
-                    .expense(BigDecimal.ZERO)
-                    .net(BigDecimal.ZERO)
-                    .build());
-        }
+        // Cents per month, indexed from startDate
+        long[] income = new long[months];
+        long[] expense = new long[months];
 
         // Get data from database
-        transactionRepository.getMonthlyTrends(userId, startDate)
+        // Upper bound keeps future-dated rows (and their partitions) out of the scan
+        transactionRepository.getMonthlyTrends(userId, startDate, startDate.plusMonths(months))
                 .forEach(projection -> {
-                    String key = projection.getYear() + "-" + projection.getMonth();
-                    MonthlyTrendDto trend = trendsMap.get(key);
-                    if (trend != null) {
+                    int index = (projection.getYear() - startDate.getYear()) * 12
+                            + projection.getMonth() - startDate.getMonthValue();
+                    if (index >= 0 && index < months) {
+                        long cents = Money.of(projection.getTotal()).cents();
                         if (projection.getType() == TransactionType.INCOME) {
-                            trend.setIncome(projection.getTotal());
+                            income[index] = Math.addExact(income[index], cents);
                         } else {
-                            trend.setExpense(projection.getTotal());
+                            expense[index] = Math.addExact(expense[index], cents);
                         }
-                        trend.setNet(trend.getIncome().subtract(trend.getExpense()));
                     }
                 });
 
-        return new ArrayList<>(trendsMap.values());
+        List<MonthlyTrendDto> trends = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            LocalDate date = startDate.plusMonths(i);
+            trends.add(MonthlyTrendDto.builder()
+                    .year(date.getYear())
+                    .month(date.getMonthValue())
+                    .monthName(date.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
+                    .income(Money.ofCents(income[i]).toBigDecimal())
+                    .expense(Money.ofCents(expense[i]).toBigDecimal())
+                    .net(Money.ofCents(Math.subtractExact(income[i], expense[i])).toBigDecimal())
+                    .build());
+        }
+        return trends;
     }
-}
\ No newline at end of file
+}
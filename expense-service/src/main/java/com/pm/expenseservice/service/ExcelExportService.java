@@ -1,18 +1,31 @@
 package com.pm.expenseservice.service;
 
+import com.pm.expenseservice.dto.response.BudgetStatusDto;
+import com.pm.expenseservice.dto.response.CategorySummaryDto;
+import com.pm.expenseservice.dto.response.PeriodAnalyticsDto;
+import com.pm.expenseservice.dto.response.PeriodBucketDto;
 import com.pm.expenseservice.entity.Transaction;
 import com.pm.expenseservice.enums.TransactionType;
 import com.pm.expenseservice.repository.TransactionRepository;
+import com.pm.expenseservice.util.MetricsRecorder;
+import com.pm.expenseservice.util.Money;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
 import java.util.List;
+import java.util.Locale;
 
 @Slf4j
 @Service
@@ -20,8 +33,28 @@ import java.util.List;
 public class ExcelExportService {
 
     private final TransactionRepository transactionRepository;
+    private final MetricsRecorder metrics;
 
+    private static final String EXPORT_TIMER = "expense.export";
+    private static final String PHASE_TIMER = "expense.export.phase";
+
+    // Rows kept in memory per sheet by the streaming writer; older rows are flushed to a temp file
+    private static final int STREAMING_WINDOW = 100;
+
+    @Transactional(readOnly = true)
     public byte[] exportMonthlyReport(Long userId, int year, int month) throws Exception {
+        Timer.Sample sample = metrics.start();
+        String outcome = MetricsRecorder.ERROR;
+        try {
+            byte[] report = buildMonthlyReport(userId, year, month);
+            outcome = MetricsRecorder.SUCCESS;
+            return report;
+        } finally {
+            metrics.stop(sample, EXPORT_TIMER, outcome);
+        }
+    }
+
+    private byte[] buildMonthlyReport(Long userId, int year, int month) throws Exception {
         log.info("Generating Excel report for user: {} for {}/{}", userId, month, year);
 
         LocalDate startDate = LocalDate.of(year, month, 1);
@@ -48,18 +81,23 @@ public class ExcelExportService {
             }
 
             // Get transactions using the new method
+            Timer.Sample querySample = metrics.start();
             List<Transaction> expenses = transactionRepository.findByUserIdAndTypeAndDateRange(
                     userId, TransactionType.EXPENSE, startDate, endDate);
 
             List<Transaction> incomes = transactionRepository.findByUserIdAndTypeAndDateRange(
                     userId, TransactionType.INCOME, startDate, endDate);
+            metrics.stop(querySample, PHASE_TIMER, MetricsRecorder.SUCCESS, "phase", "query");
+            metrics.summary("expense.export.rows", "rows").record(expenses.size() + incomes.size());
+
+            Timer.Sample renderSample = metrics.start();
 
             // Write data
             int rowNum = 1;
             int maxRows = Math.max(expenses.size(), incomes.size());
 
-            BigDecimal totalExpense = BigDecimal.ZERO;
-            BigDecimal totalIncome = BigDecimal.ZERO;
+            Money totalExpense = Money.ZERO;
+            Money totalIncome = Money.ZERO;
 
             for (int i = 0; i < maxRows; i++) {
                 Row row = sheet.createRow(rowNum++);
@@ -80,7 +118,7 @@ public class ExcelExportService {
                     amountCell.setCellValue(expense.getAmount().doubleValue());
                     amountCell.setCellStyle(currencyStyle);
 
-                    totalExpense = totalExpense.add(expense.getAmount());
+                    totalExpense = totalExpense.plus(Money.of(expense.getAmount()));
                 }
 
                 // Income columns
@@ -95,7 +133,7 @@ public class ExcelExportService {
                     amountCell.setCellValue(income.getAmount().doubleValue());
                     amountCell.setCellStyle(currencyStyle);
 
-                    totalIncome = totalIncome.add(income.getAmount());
+                    totalIncome = totalIncome.plus(Money.of(income.getAmount()));
                 }
 
                 // Set date
@@ -115,7 +153,7 @@ public class ExcelExportService {
             totalLabel.setCellStyle(totalStyle);
 
             Cell expenseTotal = totalRow.createCell(2);
-            expenseTotal.setCellValue(totalExpense.doubleValue());
+            expenseTotal.setCellValue(totalExpense.toDouble());
             expenseTotal.setCellStyle(totalStyle);
 
             Cell incomeTotalLabel = totalRow.createCell(3);
@@ -123,7 +161,7 @@ public class ExcelExportService {
             incomeTotalLabel.setCellStyle(totalStyle);
 
             Cell incomeTotal = totalRow.createCell(4);
-            incomeTotal.setCellValue(totalIncome.doubleValue());
+            incomeTotal.setCellValue(totalIncome.toDouble());
             incomeTotal.setCellStyle(totalStyle);
 
             // Net amount row
@@ -134,7 +172,7 @@ public class ExcelExportService {
             netLabel.setCellStyle(totalStyle);
 
             Cell netAmount = netRow.createCell(2);
-            netAmount.setCellValue(totalIncome.subtract(totalExpense).doubleValue());
+            netAmount.setCellValue(totalIncome.minus(totalExpense).toDouble());
             netAmount.setCellStyle(totalStyle);
 
             // Auto-size columns
@@ -142,13 +180,130 @@ public class ExcelExportService {
                 sheet.autoSizeColumn(i);
             }
 
+            metrics.stop(renderSample, PHASE_TIMER, MetricsRecorder.SUCCESS, "phase", "render");
+
             // Write to byte array
+            Timer.Sample writeSample = metrics.start();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            metrics.stop(writeSample, PHASE_TIMER, MetricsRecorder.SUCCESS, "phase", "write");
+            return outputStream.toByteArray();
+        }
+    }
+
+    /**
+     * Monthly summary built from rollups rather than transactions: totals, category splits, the
+     * trailing months in periods (the last bucket is the reported month) and budget status.
+     * Written with the streaming workbook so many reports can be built at once in little memory.
+     */
+    public byte[] writeMonthlySummary(YearMonth month, PeriodAnalyticsDto periods, List<BudgetStatusDto> budgets)
+            throws IOException {
+        List<PeriodBucketDto> buckets = periods.getPeriods();
+        PeriodBucketDto current = buckets.get(buckets.size() - 1);
+        String title = month.getMonth().getDisplayName(TextStyle.FULL, Locale.ENGLISH) + " " + month.getYear();
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(STREAMING_WINDOW);
+        try {
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle currencyStyle = createCurrencyStyle(workbook);
+            CellStyle totalStyle = createTotalStyle(workbook);
+
+            Sheet summary = workbook.createSheet("Summary");
+            setColumnWidths(summary, 32, 16, 12);
+            int rowNum = 0;
+            summary.createRow(rowNum++).createCell(0).setCellValue("Monthly Report - " + title);
+            rowNum++;
+            rowNum = writeAmountRow(summary, rowNum, "Total Income", current.getTotalIncome(), totalStyle);
+            rowNum = writeAmountRow(summary, rowNum, "Total Expenses", current.getTotalExpense(), totalStyle);
+            rowNum = writeAmountRow(summary, rowNum, "Net Amount", current.getNetAmount(), totalStyle);
+            Row savingsRow = summary.createRow(rowNum++);
+            savingsRow.createCell(0).setCellValue("Savings Rate (%)");
+            savingsRow.createCell(1).setCellValue(current.getSavingsRate().doubleValue());
+            rowNum++;
+            rowNum = writeCategories(summary, rowNum, "Expenses by Category", current.getExpensesByCategory(),
+                    headerStyle, currencyStyle);
+            rowNum++;
+            writeCategories(summary, rowNum, "Income by Source", current.getIncomeBySource(), headerStyle, currencyStyle);
+
+            Sheet trend = workbook.createSheet("Trend");
+            setColumnWidths(trend, 12, 16, 16, 16);
+            writeHeader(trend, 0, new String[]{"Month", "Income", "Expenses", "Net"}, headerStyle);
+            rowNum = 1;
+            for (PeriodBucketDto bucket : buckets) {
+                Row row = trend.createRow(rowNum++);
+                row.createCell(0).setCellValue(bucket.getLabel());
+                writeCurrency(row, 1, bucket.getTotalIncome(), currencyStyle);
+                writeCurrency(row, 2, bucket.getTotalExpense(), currencyStyle);
+                writeCurrency(row, 3, bucket.getNetAmount(), currencyStyle);
+            }
+
+            if (!budgets.isEmpty()) {
+                Sheet budgetSheet = workbook.createSheet("Budgets");
+                setColumnWidths(budgetSheet, 32, 16, 16, 16, 12);
+                writeHeader(budgetSheet, 0, new String[]{"Category", "Budget", "Spent", "Remaining", "Used (%)"},
+                        headerStyle);
+                rowNum = 1;
+                for (BudgetStatusDto budget : budgets) {
+                    Row row = budgetSheet.createRow(rowNum++);
+                    row.createCell(0).setCellValue(budget.getCategoryName());
+                    writeCurrency(row, 1, budget.getMonthlyAmount(), currencyStyle);
+                    writeCurrency(row, 2, budget.getSpentAmount(), currencyStyle);
+                    writeCurrency(row, 3, budget.getRemainingAmount(), currencyStyle);
+                    row.createCell(4).setCellValue(budget.getPercentUsed().doubleValue());
+                }
+            }
+
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             workbook.write(outputStream);
             return outputStream.toByteArray();
+        } finally {
+            // Removes the temp files holding flushed rows
+            workbook.dispose();
+            workbook.close();
         }
     }
 
+    private int writeAmountRow(Sheet sheet, int rowNum, String label, BigDecimal amount, CellStyle style) {
+        Row row = sheet.createRow(rowNum);
+        row.createCell(0).setCellValue(label);
+        writeCurrency(row, 1, amount, style);
+        return rowNum + 1;
+    }
+
+    private int writeCategories(Sheet sheet, int rowNum, String title, List<CategorySummaryDto> categories,
+                                CellStyle headerStyle, CellStyle currencyStyle) {
+        sheet.createRow(rowNum++).createCell(0).setCellValue(title);
+        writeHeader(sheet, rowNum++, new String[]{"Category", "Amount", "Share (%)"}, headerStyle);
+        for (CategorySummaryDto category : categories) {
+            Row row = sheet.createRow(rowNum++);
+            row.createCell(0).setCellValue(category.getCategoryName());
+            writeCurrency(row, 1, category.getAmount(), currencyStyle);
+            row.createCell(2).setCellValue(category.getPercentage());
+        }
+        return rowNum;
+    }
+
+    private void writeHeader(Sheet sheet, int rowNum, String[] headers, CellStyle headerStyle) {
+        Row row = sheet.createRow(rowNum);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+    }
+
+    private void setColumnWidths(Sheet sheet, int... widths) {
+        for (int i = 0; i < widths.length; i++) {
+            sheet.setColumnWidth(i, widths[i] * 256);
+        }
+    }
+
+    private void writeCurrency(Row row, int column, BigDecimal amount, CellStyle style) {
+        Cell cell = row.createCell(column);
+        cell.setCellValue(amount.doubleValue());
+        cell.setCellStyle(style);
+    }
+
     private CellStyle createHeaderStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         Font font = workbook.createFont();
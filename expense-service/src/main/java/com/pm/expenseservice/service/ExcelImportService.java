@@ -5,6 +5,8 @@ import com.pm.expenseservice.dto.response.ImportResultDto;
 import com.pm.expenseservice.enums.TransactionType;
 import com.pm.expenseservice.util.CategoryMatcher;
 import com.pm.expenseservice.util.ExcelHelper;
+import com.pm.expenseservice.util.MetricsRecorder;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
@@ -25,14 +27,23 @@ public class ExcelImportService {
     private final CategoryService categoryService;
     private final CategoryMatcher categoryMatcher;
     private final ExcelHelper excelHelper;
+    private final MetricsRecorder metrics;
+
+    private static final String IMPORT_TIMER = "expense.import";
+    private static final String PHASE_TIMER = "expense.import.phase";
 
     public ImportResultDto importExcel(Long userId, MultipartFile file) {
         log.info("Starting Excel import for user: {}", userId);
 
+        Timer.Sample importSample = metrics.start();
+        long startNanos = System.nanoTime();
+        boolean readFailed = false;
+
         List<CreateTransactionDto> validTransactions = new ArrayList<>();
         List<String> errors = new ArrayList<>();
         int rowsProcessed = 0;
 
+        Timer.Sample parseSample = metrics.start();
         try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
             Sheet sheet = workbook.getSheetAt(0);
 
@@ -40,6 +51,8 @@ public class ExcelImportService {
             Map<String, Integer> columnMap = findColumns(sheet.getRow(0));
 
             if (!validateColumns(columnMap, errors)) {
+                metrics.stop(parseSample, PHASE_TIMER, MetricsRecorder.ERROR, "phase", "parse");
+                metrics.stop(importSample, IMPORT_TIMER, "invalid_columns");
                 return ImportResultDto.builder()
                         .totalRows(0)
                         .successCount(0)
@@ -67,9 +80,13 @@ public class ExcelImportService {
         } catch (Exception e) {
             log.error("Error reading Excel file", e);
             errors.add("Failed to read file: " + e.getMessage());
+            readFailed = true;
         }
+        metrics.stop(parseSample, PHASE_TIMER, readFailed ? MetricsRecorder.ERROR : MetricsRecorder.SUCCESS,
+                "phase", "parse");
 
         // Save valid transactions
+        Timer.Sample persistSample = metrics.start();
         int successCount = 0;
         for (CreateTransactionDto dto : validTransactions) {
             try {
@@ -79,10 +96,13 @@ public class ExcelImportService {
                 errors.add("Failed to save: " + dto.getDescription());
             }
         }
+        metrics.stop(persistSample, PHASE_TIMER, MetricsRecorder.SUCCESS, "phase", "persist");
 
         log.info("Excel import completed. Rows: {}, Success: {}, Errors: {}",
                 rowsProcessed, successCount, errors.size());
 
+        recordImportMetrics(importSample, startNanos, rowsProcessed, successCount, errors.size(), readFailed);
+
         return ImportResultDto.builder()
                 .totalRows(rowsProcessed)
                 .successCount(successCount)
@@ -91,6 +111,21 @@ public class ExcelImportService {
                 .build();
     }
 
+    private void recordImportMetrics(Timer.Sample importSample, long startNanos, int rowsProcessed,
+                                     int successCount, int errorCount, boolean readFailed) {
+        String outcome = readFailed ? MetricsRecorder.ERROR
+                : errorCount > 0 ? "partial" : MetricsRecorder.SUCCESS;
+        metrics.stop(importSample, IMPORT_TIMER, outcome);
+
+        metrics.increment("expense.import.transactions", successCount, "result", "imported");
+        metrics.increment("expense.import.transactions", errorCount, "result", "failed");
+
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        if (rowsProcessed > 0 && seconds > 0) {
+            metrics.summary("expense.import.throughput", "rows_per_second").record(rowsProcessed / seconds);
+        }
+    }
+
     private Map<String, Integer> findColumns(Row headerRow) {
         Map<String, Integer> columnMap = new HashMap<>();
 
@@ -161,7 +196,9 @@ public class ExcelImportService {
 
             // Match category
             String categoryName = categoryMatcher.matchCategory(description, type);
-            Long categoryId = categoryService.findOrCreateCategoryForUser(categoryName, type, userId);
+            Long categoryId = metrics.time(PHASE_TIMER,
+                    () -> categoryService.findOrCreateCategoryForUser(categoryName, type, userId),
+                    "phase", "category_lookup");
 
             transactions.add(CreateTransactionDto.builder()
                     .categoryId(categoryId)
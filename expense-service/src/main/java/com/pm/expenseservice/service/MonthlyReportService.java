@@ -0,0 +1,288 @@
+package com.pm.expenseservice.service;
+
+import com.pm.expenseservice.dto.response.BudgetStatusDto;
+import com.pm.expenseservice.dto.response.MonthlyReportEventDto;
+import com.pm.expenseservice.dto.response.PeriodAnalyticsDto;
+import com.pm.expenseservice.entity.MonthlyReportRun;
+import com.pm.expenseservice.enums.Granularity;
+import com.pm.expenseservice.enums.Workload;
+import com.pm.expenseservice.repository.MonthlyReportRepository;
+import com.pm.expenseservice.repository.MonthlyReportRunRepository;
+import com.pm.expenseservice.util.MetricsRecorder;
+import com.pm.expenseservice.util.WorkloadContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Generates last month's report for every user with monthlyReports on (users without a
+ * preferences row count as opted in) and queues each one for emailing through the outbox.
+ *
+ * Users are taken in id order, chunk-size at a time; a chunk is built in parallel on a pool of
+ * app.reports.threads workers that use the bulk connection pool, then the run's checkpoint moves
+ * to the chunk's last id. A run interrupted by a restart resumes after the last checkpoint at
+ * startup, skipping users whose report was already stored. Users whose report failed are
+ * retried once at the end of the run and then on each retry-cron tick, up to max-retries passes.
+ * A month requested while another run holds this instance is recorded and picked up by the next
+ * tick. Reports are built from the daily ledger and budget counters, never from transactions.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlyReportService {
+
+    private static final String REPORT_TIMER = "expense.reports.user";
+    private static final int TREND_MONTHS = 6;
+
+    private final AnalyticsService analyticsService;
+    private final BudgetService budgetService;
+    private final ExcelExportService excelExportService;
+    private final OutboxService outboxService;
+    private final MonthlyReportRepository monthlyReportRepository;
+    private final MonthlyReportRunRepository monthlyReportRunRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsRecorder metrics;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.reports.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reports.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.reports.threads:2}")
+    private int threads;
+
+    @Value("${app.reports.max-retries:3}")
+    private int maxRetries;
+
+    private enum Outcome { REPORTED, SKIPPED, FAILED }
+
+    // Off the scheduler thread, which the outbox relay and maintenance jobs share
+    @Async
+    @Scheduled(cron = "${app.reports.cron:0 0 4 1 * *}")
+    public void generateLastMonth() {
+        if (enabled) {
+            run(YearMonth.now().minusMonths(1));
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        if (enabled) {
+            runPending();
+        }
+    }
+
+    @Async
+    @Scheduled(cron = "${app.reports.retry-cron:0 30 * * * *}")
+    public void retryPendingRuns() {
+        if (enabled) {
+            runPending();
+        }
+    }
+
+    /**
+     * Finishes interrupted or queued runs and retries failed users of completed ones.
+     */
+    public void runPending() {
+        for (MonthlyReportRun run : monthlyReportRunRepository.findPending(maxRetries)) {
+            log.info("Resuming monthly reports for {} after user {} with {} failed users",
+                    YearMonth.from(run.getReportMonth()), run.getLastUserId(), run.getFailedUserIds().size());
+            if (run(YearMonth.from(run.getReportMonth())) == null) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs or resumes the job for one month; returns the run, or null if another run is in progress
+     * here, in which case the month is recorded for the next retry tick.
+     */
+    public MonthlyReportRun run(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            findOrCreateRun(month);
+            log.warn("Monthly report run already in progress; {} queued for the next tick", month);
+            return null;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("Expense-Reports-"));
+        try {
+            MonthlyReportRun run = findOrCreateRun(month);
+            if (run.getCompletedAt() == null) {
+                run = runChunks(run, month, pool);
+            }
+            if (!run.getFailedUserIds().isEmpty() && run.getRetryPasses() < maxRetries) {
+                run = retryFailed(run, month, pool);
+            }
+            return run;
+        } finally {
+            pool.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    private MonthlyReportRun findOrCreateRun(YearMonth month) {
+        return monthlyReportRunRepository.findByReportMonth(month.atDay(1))
+                .orElseGet(() -> monthlyReportRunRepository.save(MonthlyReportRun.builder()
+                        .reportMonth(month.atDay(1))
+                        .startedAt(LocalDateTime.now())
+                        .build()));
+    }
+
+    private MonthlyReportRun runChunks(MonthlyReportRun run, YearMonth month, ExecutorService pool) {
+        long started = System.nanoTime();
+        int handled = 0;
+        List<Long> chunk;
+        do {
+            chunk = jdbcTemplate.queryForList("SELECT u.id FROM users u "
+                            + "LEFT JOIN user_preferences p ON p.user_id = u.id "
+                            + "WHERE u.id > ? AND COALESCE(p.monthly_reports, true) ORDER BY u.id LIMIT ?",
+                    Long.class, run.getLastUserId(), chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            long chunkStarted = System.nanoTime();
+            record(run, generateAll(chunk, month, pool));
+            run.setLastUserId(chunk.get(chunk.size() - 1));
+            run = monthlyReportRunRepository.save(run);
+            handled += chunk.size();
+            metrics.summary("expense.reports.throughput", "users/min").record(usersPerMinute(chunk.size(), chunkStarted));
+        } while (chunk.size() == chunkSize);
+
+        run.setCompletedAt(LocalDateTime.now());
+        run = monthlyReportRunRepository.save(run);
+        log.info("Monthly reports for {}: {} reported, {} failed; {} users this run in {} ({} users/min)",
+                month, run.getUsersReported(), run.getUsersFailed(), handled,
+                Duration.ofNanos(System.nanoTime() - started), Math.round(usersPerMinute(handled, started)));
+        return run;
+    }
+
+    private MonthlyReportRun retryFailed(MonthlyReportRun run, YearMonth month, ExecutorService pool) {
+        List<Long> failed = new ArrayList<>(run.getFailedUserIds());
+        Collections.sort(failed);
+        for (int from = 0; from < failed.size(); from += chunkSize) {
+            record(run, generateAll(failed.subList(from, Math.min(from + chunkSize, failed.size())), month, pool));
+        }
+        run.setRetryPasses(run.getRetryPasses() + 1);
+        run = monthlyReportRunRepository.save(run);
+        log.info("Monthly report retry {} for {}: {} of {} failed users reported, {} still failing",
+                run.getRetryPasses(), month, failed.size() - run.getUsersFailed(), failed.size(), run.getUsersFailed());
+        return run;
+    }
+
+    private Map<Long, Outcome> generateAll(List<Long> userIds, YearMonth month, ExecutorService pool) {
+        Set<Long> alreadyReported = monthlyReportRepository.findReportedUserIds(month.atDay(1), userIds);
+        Map<Long, Future<Outcome>> futures = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            futures.put(userId, pool.submit(() -> alreadyReported.contains(userId) ? Outcome.SKIPPED : generate(userId, month)));
+        }
+        Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+        futures.forEach((userId, future) -> outcomes.put(userId, await(future)));
+        return outcomes;
+    }
+
+    private static void record(MonthlyReportRun run, Map<Long, Outcome> outcomes) {
+        outcomes.forEach((userId, outcome) -> {
+            if (outcome == Outcome.FAILED) {
+                run.getFailedUserIds().add(userId);
+            } else {
+                run.getFailedUserIds().remove(userId);
+            }
+            if (outcome == Outcome.REPORTED) {
+                run.setUsersReported(run.getUsersReported() + 1);
+            }
+        });
+        run.setUsersFailed(run.getFailedUserIds().size());
+    }
+
+    private Outcome generate(Long userId, YearMonth month) {
+        try {
+            // Worker threads borrow from the bulk pool, leaving spring.datasource to requests
+            WorkloadContext.runAs(Workload.BULK,
+                    () -> metrics.time(REPORT_TIMER, () -> store(userId, month, build(userId, month))));
+            metrics.increment("expense.reports.users", 1, "outcome", "reported");
+            return Outcome.REPORTED;
+        } catch (RuntimeException e) {
+            log.error("Could not generate {} report for user {}: {}", month, userId, e.getMessage());
+            metrics.increment("expense.reports.users", 1, "outcome", "failed");
+            return Outcome.FAILED;
+        }
+    }
+
+    private byte[] build(Long userId, YearMonth month) {
+        PeriodAnalyticsDto periods = analyticsService.getPeriods(userId, Granularity.MONTH,
+                month.minusMonths(TREND_MONTHS - 1).atDay(1), month.atEndOfMonth());
+        List<BudgetStatusDto> budgets = budgetService.getStatus(userId, month);
+        try {
+            return excelExportService.writeMonthlySummary(month, periods, budgets);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void store(Long userId, YearMonth month, byte[] content) {
+        String fileName = "monthly_report_" + month + ".xlsx";
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> ids = jdbcTemplate.queryForList("INSERT INTO monthly_reports "
+                            + "(user_id, report_month, file_name, content, size_bytes, created_at) "
+                            + "VALUES (?, ?, ?, ?, ?, now()) ON CONFLICT (user_id, report_month) DO NOTHING RETURNING id",
+                    Long.class, userId, Date.valueOf(month.atDay(1)), fileName, content, content.length);
+            // Stored by an earlier attempt or another instance, which queued it already
+            if (!ids.isEmpty()) {
+                outboxService.recordMonthlyReport(MonthlyReportEventDto.builder()
+                        .userId(userId)
+                        .reportId(ids.get(0))
+                        .month(month)
+                        .fileName(fileName)
+                        .build());
+            }
+        });
+    }
+
+    private static Outcome await(Future<Outcome> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            log.error("Monthly report worker failed", e.getCause());
+            return Outcome.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating monthly reports", e);
+        }
+    }
+
+    private static double usersPerMinute(int users, long startedNanos) {
+        long elapsed = Math.max(System.nanoTime() - startedNanos, 1);
+        return users * 60_000_000_000.0 / elapsed;
+    }
+}
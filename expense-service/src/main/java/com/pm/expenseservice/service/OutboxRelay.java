@@ -0,0 +1,129 @@
+package com.pm.expenseservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.expenseservice.client.AuthServiceClient;
+import com.pm.expenseservice.dto.request.ProfileSyncEventDto;
+import com.pm.expenseservice.entity.OutboxEvent;
+import com.pm.expenseservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Delivers pending outbox events to auth-service. Delivery is at-least-once; the receiver
+ * ignores events whose version is not newer than what it already holds, so a failed event can
+ * back off without holding up the ones behind it. After max-attempts failures an event is
+ * marked failed and no longer retried. Other event types (budget alerts, monthly reports to
+ * email) are left for their own consumers; nothing reads them yet, so they are deleted after
+ * unconsumed-retention-days whether or not anyone picked them up.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AuthServiceClient authServiceClient;
+    private final ObjectMapper objectMapper;
+
+    private static final List<String> RELAYED_TYPES = List.of(OutboxService.PROFILE_UPDATED);
+
+    // Written for consumers outside this relay, which never marks them published
+    private static final List<String> UNRELAYED_TYPES = List.of(OutboxService.BUDGET_ALERT, OutboxService.MONTHLY_REPORT_READY);
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    // Doubles after every failed attempt, up to max-backoff-ms
+    @Value("${app.outbox.initial-backoff-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${app.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${app.outbox.unconsumed-retention-days:30}")
+    private int unconsumedRetentionDays;
+
+    @Value("${app.internal.service-token:}")
+    private String serviceToken;
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval-ms:2000}")
+    public void relayPendingEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> pending = outboxEventRepository.findPending(RELAYED_TYPES, now, PageRequest.of(0, batchSize));
+
+        for (OutboxEvent event : pending) {
+            try {
+                publish(event);
+                event.setPublishedAt(LocalDateTime.now());
+                event.setNextAttemptAt(null);
+            } catch (Exception e) {
+                recordFailure(event, e, now);
+            }
+            outboxEventRepository.save(event);
+        }
+    }
+
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 30 3 * * *}")
+    public void purgePublishedEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = outboxEventRepository.deletePublishedBefore(now.minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+
+        int unconsumed = outboxEventRepository.deleteUnpublishedBefore(UNRELAYED_TYPES, now.minusDays(unconsumedRetentionDays));
+        if (unconsumed > 0) {
+            log.info("Purged {} unconsumed {} outbox events", unconsumed, UNRELAYED_TYPES);
+        }
+    }
+
+    private void publish(OutboxEvent event) throws Exception {
+        if (OutboxService.PROFILE_UPDATED.equals(event.getEventType())) {
+            ProfileSyncEventDto payload = objectMapper.readValue(event.getPayload(), ProfileSyncEventDto.class);
+            authServiceClient.publishProfileEvent(serviceToken, payload);
+        } else {
+            throw new IllegalStateException("Unknown outbox event type: " + event.getEventType());
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e, LocalDateTime now) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(truncate(e.getMessage()));
+        if (event.getAttempts() >= maxAttempts) {
+            event.setFailedAt(now);
+            event.setNextAttemptAt(null);
+            log.error("Giving up on outbox event {} after {} attempts: {}",
+                    event.getId(), event.getAttempts(), e.getMessage());
+            return;
+        }
+        event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+        log.warn("Failed to relay outbox event {} (attempt {}), retrying at {}: {}",
+                event.getId(), event.getAttempts(), event.getNextAttemptAt(), e.getMessage());
+    }
+
+    Duration backoff(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(initialBackoffMs << doublings, maxBackoffMs));
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
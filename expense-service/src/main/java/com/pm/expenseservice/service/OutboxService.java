@@ -0,0 +1,91 @@
+package com.pm.expenseservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.expenseservice.dto.request.ProfileSyncEventDto;
+import com.pm.expenseservice.dto.response.BudgetAlertEventDto;
+import com.pm.expenseservice.dto.response.MonthlyReportEventDto;
+import com.pm.expenseservice.entity.OutboxEvent;
+import com.pm.expenseservice.entity.User;
+import com.pm.expenseservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String PROFILE_UPDATED = "USER_PROFILE_UPDATED";
+    public static final String BUDGET_ALERT = "BUDGET_ALERT";
+    public static final String MONTHLY_REPORT_READY = "MONTHLY_REPORT_READY";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Bumps the user's profile version and records the change for the relay. Must run in the
+     * transaction that saves the user so the event and the change commit (or roll back) together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordProfileChange(User user) {
+        user.setProfileVersion(nextVersion(user.getProfileVersion()));
+
+        ProfileSyncEventDto event = ProfileSyncEventDto.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .version(user.getProfileVersion())
+                .build();
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(PROFILE_UPDATED)
+                .aggregateId(user.getId())
+                .payload(toJson(event))
+                .build());
+    }
+
+    /**
+     * Records a budget threshold crossing in the transaction that caused it, so a rolled-back
+     * expense never produces an alert.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBudgetAlert(BudgetAlertEventDto event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(BUDGET_ALERT)
+                .aggregateId(event.getUserId())
+                .payload(toJson(event))
+                .build());
+    }
+
+    /**
+     * Queues a stored report for emailing; written in the transaction that stores it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordMonthlyReport(MonthlyReportEventDto event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(MONTHLY_REPORT_READY)
+                .aggregateId(event.getUserId())
+                .payload(toJson(event))
+                .build());
+    }
+
+    /**
+     * Versions are wall-clock millis, bumped past the current value if the clock is behind, so
+     * writes made in either service are comparable and the latest one wins.
+     */
+    static long nextVersion(Long current) {
+        long base = current != null ? current : 0L;
+        return Math.max(base + 1, System.currentTimeMillis());
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox event", e);
+        }
+    }
+}
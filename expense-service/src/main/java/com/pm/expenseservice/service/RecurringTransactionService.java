@@ -0,0 +1,302 @@
+package com.pm.expenseservice.service;
+
+import com.pm.expenseservice.dto.request.RecurringTransactionDto;
+import com.pm.expenseservice.dto.response.RecurringTransactionResponseDto;
+import com.pm.expenseservice.entity.Category;
+import com.pm.expenseservice.entity.RecurringTransaction;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.exception.BadRequestException;
+import com.pm.expenseservice.exception.ResourceNotFoundException;
+import com.pm.expenseservice.repository.CategoryRepository;
+import com.pm.expenseservice.repository.RecurringTransactionRepository;
+import com.pm.expenseservice.util.MetricsRecorder;
+import com.pm.expenseservice.util.RecurrenceRule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring transaction templates and the engine that turns their due occurrences into transactions.
+ *
+ * A run locks up to batch-size due templates (next_occurrence on or before today, read through its
+ * index and skipping templates another instance holds), expands each into the occurrences it owes,
+ * up to today, and inserts all of them in one statement. The (recurring_id, transaction_date)
+ * occurrence key makes the insert idempotent: an occurrence that already exists is skipped rather
+ * than duplicated. The daily ledger and budget counters are updated from the inserted rows in the
+ * same transaction, and the templates move on to their next occurrence.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecurringTransactionService {
+
+    private static final String RUN_TIMER = "expense.recurring.run";
+    // Bounds one template's catch-up per run; the rest stays due for the next run
+    private static final int MAX_OCCURRENCES_PER_TEMPLATE = 400;
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final DailyLedgerService dailyLedgerService;
+    private final BudgetService budgetService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsRecorder metrics;
+
+    @Value("${app.recurring.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.recurring.batch-size:500}")
+    private int batchSize;
+
+    private record DueTemplate(Long id, Long userId, Long categoryId, BigDecimal amount, TransactionType type,
+                               String description, RecurrenceRule rule, LocalDate startDate, LocalDate nextOccurrence,
+                               int occurrenceCount) {
+    }
+
+    private record Occurrence(DueTemplate template, LocalDate date) {
+    }
+
+    private record BatchResult(int templates, int inserted) {
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringTransactionResponseDto> getRecurringTransactions(Long userId) {
+        return recurringTransactionRepository.findAllForUser(userId).stream()
+                .map(this::mapToResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public RecurringTransactionResponseDto createRecurringTransaction(Long userId, RecurringTransactionDto dto) {
+        log.info("Creating recurring transaction for user: {}", userId);
+
+        RecurrenceRule rule = parse(dto.getRecurrenceRule());
+        RecurringTransaction recurring = RecurringTransaction.builder()
+                .userId(userId)
+                .category(category(userId, dto.getCategoryId(), dto.getType()))
+                .amount(dto.getAmount())
+                .type(dto.getType())
+                .description(dto.getDescription())
+                .recurrenceRule(dto.getRecurrenceRule().trim())
+                .startDate(dto.getStartDate())
+                .active(!Boolean.FALSE.equals(dto.getActive()))
+                .build();
+        schedule(recurring, rule, null);
+
+        RecurringTransaction saved = recurringTransactionRepository.save(recurring);
+        log.info("Recurring transaction created with ID: {}", saved.getId());
+
+        return mapToResponseDto(saved);
+    }
+
+    /**
+     * Replaces a template. Transactions already materialized are kept; a changed schedule applies
+     * from the day after the last occurrence, and resuming a paused template starts from today.
+     */
+    @Transactional
+    public RecurringTransactionResponseDto updateRecurringTransaction(Long userId, Long recurringId,
+                                                                      RecurringTransactionDto dto) {
+        log.info("Updating recurring transaction: {} for user: {}", recurringId, userId);
+
+        RecurringTransaction recurring = recurringTransactionRepository.findForUpdate(recurringId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found"));
+
+        RecurrenceRule rule = parse(dto.getRecurrenceRule());
+        if (!dto.getCategoryId().equals(recurring.getCategory().getId()) || dto.getType() != recurring.getType()) {
+            recurring.setCategory(category(userId, dto.getCategoryId(), dto.getType()));
+        }
+        boolean resumed = !recurring.getActive() && Boolean.TRUE.equals(dto.getActive());
+        recurring.setType(dto.getType());
+        recurring.setAmount(dto.getAmount());
+        recurring.setDescription(dto.getDescription());
+        recurring.setRecurrenceRule(dto.getRecurrenceRule().trim());
+        recurring.setStartDate(dto.getStartDate());
+        recurring.setActive(dto.getActive() != null ? dto.getActive() : recurring.getActive());
+        // Occurrences that fell while paused are skipped, not back-filled
+        schedule(recurring, rule, resumed ? LocalDate.now() : null);
+
+        RecurringTransaction updated = recurringTransactionRepository.save(recurring);
+        log.info("Recurring transaction updated successfully");
+
+        return mapToResponseDto(updated);
+    }
+
+    @Transactional
+    public void deleteRecurringTransaction(Long userId, Long recurringId) {
+        log.info("Deleting recurring transaction: {} for user: {}", recurringId, userId);
+
+        RecurringTransaction recurring = recurringTransactionRepository.findByIdAndUserId(recurringId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found"));
+
+        // Materialized transactions stay; they keep the template id only as a reference
+        recurringTransactionRepository.delete(recurring);
+        log.info("Recurring transaction deleted successfully");
+    }
+
+    @Scheduled(cron = "${app.recurring.cron:0 */15 * * * *}")
+    public void materializeScheduled() {
+        if (enabled) {
+            materializeDue(LocalDate.now());
+        }
+    }
+
+    /**
+     * Materializes every occurrence due on or before today in batches of batch-size templates;
+     * returns the number of transactions inserted.
+     */
+    public int materializeDue(LocalDate today) {
+        int inserted = 0;
+        BatchResult batch;
+        do {
+            batch = metrics.time(RUN_TIMER, () -> transactionTemplate.execute(status -> materializeBatch(today)));
+            inserted += batch.inserted();
+        } while (batch.templates() == batchSize);
+        if (inserted > 0) {
+            log.info("Materialized {} recurring transactions due by {}", inserted, today);
+        }
+        return inserted;
+    }
+
+    private BatchResult materializeBatch(LocalDate today) {
+        List<DueTemplate> due = jdbcTemplate.query("SELECT id, user_id, category_id, amount, type, description, "
+                        + "recurrence_rule, start_date, next_occurrence, occurrence_count FROM recurring_transactions "
+                        + "WHERE next_occurrence <= ? ORDER BY next_occurrence, id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, i) -> new DueTemplate(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getBigDecimal(4),
+                        TransactionType.valueOf(rs.getString(5)), rs.getString(6), RecurrenceRule.parse(rs.getString(7)),
+                        rs.getObject(8, LocalDate.class), rs.getObject(9, LocalDate.class), rs.getInt(10)),
+                Date.valueOf(today), batchSize);
+        if (due.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        List<Occurrence> occurrences = new ArrayList<>();
+        List<Object[]> advances = new ArrayList<>(due.size());
+        for (DueTemplate template : due) {
+            LocalDate date = template.nextOccurrence();
+            LocalDate last = null;
+            int count = template.occurrenceCount();
+            int owed = 0;
+            while (date != null && !date.isAfter(today) && owed < MAX_OCCURRENCES_PER_TEMPLATE) {
+                occurrences.add(new Occurrence(template, date));
+                last = date;
+                count++;
+                owed++;
+                date = template.rule().exhausted(count) ? null : template.rule().next(template.startDate(), date);
+            }
+            advances.add(new Object[]{date != null ? Date.valueOf(date) : null, Date.valueOf(last), count, template.id()});
+        }
+
+        List<DailyLedgerService.Posting> postings = insert(occurrences);
+        dailyLedgerService.recordAll(postings);
+        budgetService.recordAll(postings);
+        jdbcTemplate.batchUpdate("UPDATE recurring_transactions SET next_occurrence = ?, last_occurrence = ?, "
+                + "occurrence_count = ?, updated_at = now() WHERE id = ?", advances);
+
+        metrics.increment("expense.recurring.transactions", postings.size(), "result", "inserted");
+        metrics.increment("expense.recurring.transactions", occurrences.size() - postings.size(), "result", "existing");
+        return new BatchResult(due.size(), postings.size());
+    }
+
+    // One multi-row insert for the whole batch; occurrences that already exist are left alone
+    private List<DailyLedgerService.Posting> insert(List<Occurrence> occurrences) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO transactions "
+                    + "(user_id, category_id, amount, type, description, transaction_date, recurring_id, created_at, updated_at) "
+                    + "SELECT o.user_id, o.category_id, o.amount, o.type, o.description, o.transaction_date, o.recurring_id, "
+                    + "now(), now() FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[]), CAST(? AS numeric[]), "
+                    + "CAST(? AS varchar[]), CAST(? AS text[]), CAST(? AS date[]), CAST(? AS bigint[])) "
+                    + "AS o(user_id, category_id, amount, type, description, transaction_date, recurring_id) "
+                    + "ON CONFLICT (recurring_id, transaction_date) DO NOTHING "
+                    + "RETURNING user_id, type, category_id, transaction_date, amount");
+            ps.setArray(1, array(connection, "bigint", occurrences, o -> o.template().userId()));
+            ps.setArray(2, array(connection, "bigint", occurrences, o -> o.template().categoryId()));
+            ps.setArray(3, array(connection, "numeric", occurrences, o -> o.template().amount()));
+            ps.setArray(4, array(connection, "varchar", occurrences, o -> o.template().type().name()));
+            ps.setArray(5, array(connection, "text", occurrences, o -> o.template().description()));
+            ps.setArray(6, array(connection, "date", occurrences, o -> Date.valueOf(o.date())));
+            ps.setArray(7, array(connection, "bigint", occurrences, o -> o.template().id()));
+            return ps;
+        }, (rs, i) -> new DailyLedgerService.Posting(rs.getLong(1), TransactionType.valueOf(rs.getString(2)),
+                rs.getLong(3), rs.getObject(4, LocalDate.class), rs.getBigDecimal(5)));
+    }
+
+    private static Array array(Connection connection, String type, List<Occurrence> occurrences,
+                               Function<Occurrence, Object> column) throws SQLException {
+        return connection.createArrayOf(type, occurrences.stream().map(column).toArray());
+    }
+
+    // Next occurrence after the last materialized one, from the start date and not before notBefore if given;
+    // null when paused or finished
+    private static void schedule(RecurringTransaction recurring, RecurrenceRule rule, LocalDate notBefore) {
+        if (!recurring.getActive() || rule.exhausted(recurring.getOccurrenceCount())) {
+            recurring.setNextOccurrence(null);
+            return;
+        }
+        LocalDate after = recurring.getLastOccurrence();
+        if (notBefore != null && (after == null || after.isBefore(notBefore))) {
+            after = notBefore.minusDays(1);
+        }
+        recurring.setNextOccurrence(rule.next(recurring.getStartDate(), after));
+    }
+
+    private static RecurrenceRule parse(String rule) {
+        try {
+            return RecurrenceRule.parse(rule);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid recurrence rule: " + e.getMessage());
+        }
+    }
+
+    private Category category(Long userId, Long categoryId, TransactionType type) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+
+        if (!category.getType().equals(type)) {
+            throw new BadRequestException("Category type does not match transaction type");
+        }
+        if (!category.getIsSystem() && !Objects.equals(category.getUserId(), userId)) {
+            throw new BadRequestException("Category does not belong to user");
+        }
+        return category;
+    }
+
+    private RecurringTransactionResponseDto mapToResponseDto(RecurringTransaction recurring) {
+        Category category = recurring.getCategory();
+        return RecurringTransactionResponseDto.builder()
+                .id(recurring.getId())
+                .categoryId(category.getId())
+                .categoryName(category.getName())
+                .categoryIcon(category.getIcon())
+                .categoryColor(category.getColor())
+                .amount(recurring.getAmount())
+                .type(recurring.getType())
+                .description(recurring.getDescription())
+                .recurrenceRule(recurring.getRecurrenceRule())
+                .startDate(recurring.getStartDate())
+                .nextOccurrence(recurring.getNextOccurrence())
+                .lastOccurrence(recurring.getLastOccurrence())
+                .occurrenceCount(recurring.getOccurrenceCount())
+                .active(recurring.getActive())
+                .createdAt(recurring.getCreatedAt())
+                .updatedAt(recurring.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.pm.expenseservice.service;
+
+import com.pm.expenseservice.entity.Category;
+import com.pm.expenseservice.entity.MonthlySummary;
+import com.pm.expenseservice.entity.Transaction;
+import com.pm.expenseservice.enums.TransactionType;
+import com.pm.expenseservice.repository.CategoryRepository;
+import com.pm.expenseservice.repository.MonthlySummaryRepository;
+import com.pm.expenseservice.repository.TransactionArchiveStore;
+import com.pm.expenseservice.repository.TransactionRepository;
+import com.pm.expenseservice.util.MetricsRecorder;
+import com.pm.expenseservice.util.TransactionArchiveFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves months older than app.archive.retention-months out of {@code transactions} into per-user
+ * archive files, keeping a MonthlySummary rollup for each archived month.
+ *
+ * The new file version is written before the transaction that marks the summary and deletes the
+ * archived rows commits, so a failure at any point leaves either the old state or the new one.
+ * Backdated transactions added to an archived month are merged into a new version on the next run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionArchiveService {
+
+    private final TransactionRepository transactionRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionArchiveStore archiveStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsRecorder metrics;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.batch-size:200}")
+    private int batchSize;
+
+    private record UserMonth(Long userId, YearMonth month) {
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 45 3 * * *}")
+    public void archiveClosedMonths() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Archives every user-month before the store's cutoff; returns the number of transactions moved.
+     */
+    public long archive() {
+        YearMonth cutoff = archiveStore.cutoff();
+        long archived = 0;
+        List<UserMonth> batch;
+        do {
+            batch = jdbcTemplate.query("SELECT DISTINCT user_id, CAST(date_trunc('month', transaction_date) AS date) "
+                            + "FROM transactions WHERE transaction_date < ? ORDER BY 2, 1 LIMIT ?",
+                    (rs, i) -> new UserMonth(rs.getLong(1), YearMonth.from(rs.getObject(2, LocalDate.class))),
+                    cutoff.atDay(1), batchSize);
+            for (UserMonth userMonth : batch) {
+                try {
+                    archived += archiveMonth(userMonth.userId(), userMonth.month());
+                } catch (RuntimeException e) {
+                    // Left in place; the next run retries it
+                    log.error("Could not archive {} for user {}: {}", userMonth.month(), userMonth.userId(), e.getMessage());
+                    return archived;
+                }
+            }
+        } while (batch.size() == batchSize);
+        if (archived > 0) {
+            log.info("Archived {} transactions from before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    public int archiveMonth(Long userId, YearMonth month) {
+        Integer moved = metrics.time("expense.archive.month", () -> transactionTemplate.execute(status -> {
+            LocalDate start = month.atDay(1);
+            LocalDate end = month.atEndOfMonth();
+            List<Transaction> live = transactionRepository.findForArchive(userId, start, end);
+            if (live.isEmpty()) {
+                return 0;
+            }
+
+            MonthlySummary summary = monthlySummaryRepository
+                    .findByUserIdAndYearAndMonth(userId, month.getYear(), month.getMonthValue())
+                    .orElseGet(() -> MonthlySummary.builder()
+                            .userId(userId)
+                            .year(month.getYear())
+                            .month(month.getMonthValue())
+                            .build());
+            Integer previous = summary.getArchivedAt() != null ? summary.getArchiveVersion() : null;
+
+            Map<Long, TransactionArchiveFile.Row> byId = new LinkedHashMap<>();
+            readRows(userId, month, previous).forEach(row -> byId.put(row.id(), row));
+            List<Long> liveIds = new ArrayList<>(live.size());
+            for (Transaction transaction : live) {
+                liveIds.add(transaction.getId());
+                byId.put(transaction.getId(), toRow(transaction));
+            }
+            List<TransactionArchiveFile.Row> rows = new ArrayList<>(byId.values());
+
+            int version = previous != null ? previous + 1 : 1;
+            archiveStore.write(userId, month, version, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int completionStatus) {
+                    if (completionStatus == STATUS_COMMITTED && previous != null) {
+                        archiveStore.delete(userId, month, previous);
+                    } else if (completionStatus != STATUS_COMMITTED) {
+                        archiveStore.delete(userId, month, version);
+                    }
+                }
+            });
+
+            summarize(summary, rows);
+            summary.setArchivedAt(LocalDateTime.now());
+            summary.setArchiveVersion(version);
+            monthlySummaryRepository.save(summary);
+            transactionRepository.deleteArchived(userId, start, end, liveIds);
+            return live.size();
+        }));
+        int count = moved != null ? moved : 0;
+        metrics.increment("expense.archive.transactions", count);
+        return count;
+    }
+
+    private List<TransactionArchiveFile.Row> readRows(Long userId, YearMonth month, Integer version) {
+        if (version == null) {
+            return List.of();
+        }
+        try {
+            return archiveStore.open(userId, month, version).rows();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void summarize(MonthlySummary summary, List<TransactionArchiveFile.Row> rows) {
+        Map<Long, Category> categories = categoryRepository.findAllById(rows.stream()
+                        .map(TransactionArchiveFile.Row::categoryId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        long income = 0;
+        long expense = 0;
+        Map<String, Long> byCategory = new HashMap<>();
+        for (TransactionArchiveFile.Row row : rows) {
+            if (row.type() == TransactionType.INCOME) {
+                income += row.amountCents();
+            } else {
+                expense += row.amountCents();
+            }
+            Category category = categories.get(row.categoryId());
+            String name = category != null ? category.getName() : String.valueOf(row.categoryId());
+            byCategory.merge(name, row.amountCents(), Long::sum);
+        }
+
+        summary.setTotalIncome(BigDecimal.valueOf(income, 2));
+        summary.setTotalExpense(BigDecimal.valueOf(expense, 2));
+        summary.setNetAmount(BigDecimal.valueOf(income - expense, 2));
+        if (summary.getCategoryBreakdown() == null) {
+            summary.setCategoryBreakdown(new HashMap<>());
+        }
+        summary.getCategoryBreakdown().clear();
+        byCategory.forEach((name, cents) -> summary.getCategoryBreakdown().put(name, BigDecimal.valueOf(cents, 2)));
+    }
+
+    private static TransactionArchiveFile.Row toRow(Transaction transaction) {
+        return new TransactionArchiveFile.Row(
+                transaction.getId(),
+                transaction.getCategory().getId(),
+                transaction.getAmount().movePointRight(2).longValueExact(),
+                transaction.getType(),
+                transaction.getTransactionDate(),
+                transaction.getCreatedAt(),
+                transaction.getUpdatedAt(),
+                transaction.getDescription());
+    }
+}
@@ -0,0 +1,245 @@
+package com.pm.expenseservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@code transactions} range-partitioned by month on transaction_date.
+ *
+ * {@link #migrateToPartitioned()} converts an existing plain table in place: it builds a
+ * partitioned twin, copies one month per transaction, then swaps names under a short exclusive
+ * lock. Writers should be stopped while it runs; rows inserted meanwhile are carried over in the
+ * swap, but updates and deletes to already-copied months are not. The old table is kept as
+ * transactions_unpartitioned until dropped by hand.
+ *
+ * Run it by starting one instance with app.partitioning.migrate-on-startup=true.
+ *
+ * {@link #createUpcomingPartitions()} runs daily and at startup so the current and next months
+ * always have their own partition; rows that landed in the default partition are moved over.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionPartitionService {
+
+    static final String TABLE = "transactions";
+    private static final String STAGING = "transactions_partitioned";
+    private static final String RETIRED = "transactions_unpartitioned";
+    private static final String DEFAULT_PARTITION = "transactions_pdefault";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.partitioning.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (migrateOnStartup) {
+            migrateToPartitioned();
+        }
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${app.partitioning.maintenance-cron:0 15 2 * * *}")
+    public void createUpcomingPartitions() {
+        if (!isPartitioned(TABLE)) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                ensurePartition(month);
+            } catch (RuntimeException e) {
+                log.error("Could not create transactions partition for {}: {}", month, e.getMessage());
+            }
+        }
+    }
+
+    public boolean isPartitioned(String table) {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid "
+                        + "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace)",
+                Boolean.class, table);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * Creates the month's partition if missing, moving any of its rows out of the default partition.
+     */
+    public void ensurePartition(YearMonth month) {
+        String partition = partitionName(month);
+        if (tableExists(partition)) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE
+                    + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            String range = "transaction_date >= '" + month.atDay(1) + "' AND transaction_date < '"
+                    + month.plusMonths(1).atDay(1) + "'";
+            int moved = jdbcTemplate.update("INSERT INTO " + partition + " SELECT * FROM " + DEFAULT_PARTITION
+                    + " WHERE " + range);
+            if (moved > 0) {
+                jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE " + range);
+            }
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition + " " + bounds(month));
+            log.info("Created partition {} ({} rows moved from default)", partition, moved);
+        });
+    }
+
+    /**
+     * Converts a plain transactions table into a monthly partitioned one; returns the number of rows copied.
+     */
+    public long migrateToPartitioned() {
+        if (isPartitioned(TABLE)) {
+            log.info("{} is already partitioned", TABLE);
+            return 0;
+        }
+        Integer referencing = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_constraint "
+                + "WHERE contype = 'f' AND confrelid = ?::regclass", Integer.class, TABLE);
+        if (referencing != null && referencing > 0) {
+            throw new IllegalStateException(TABLE + " is referenced by foreign keys; drop them before partitioning");
+        }
+
+        LocalDate firstDate = jdbcTemplate.queryForObject("SELECT min(transaction_date) FROM " + TABLE, LocalDate.class);
+        LocalDate lastDate = jdbcTemplate.queryForObject("SELECT max(transaction_date) FROM " + TABLE, LocalDate.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM " + TABLE, Long.class);
+
+        YearMonth first = firstDate != null ? YearMonth.from(firstDate) : YearMonth.now();
+        YearMonth last = lastDate != null ? YearMonth.from(lastDate) : YearMonth.now();
+        YearMonth horizon = YearMonth.now().plusMonths(monthsAhead);
+        if (horizon.isAfter(last)) {
+            last = horizon;
+        }
+        long copiedUpToId = maxId != null ? maxId : 0;
+
+        createStagingTable(first, last);
+
+        long copied = 0;
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            int rows = jdbcTemplate.update("INSERT INTO " + STAGING + " SELECT * FROM " + TABLE
+                    + " WHERE transaction_date >= ? AND transaction_date < ? AND id <= ?",
+                    month.atDay(1), month.plusMonths(1).atDay(1), copiedUpToId);
+            copied += rows;
+            if (rows > 0) {
+                log.info("Copied {} rows for {}", rows, month);
+            }
+        }
+
+        List<String> indexRenames = copyIndexes();
+        List<String> constraintRenames = copyForeignKeys();
+        copied += swap(copiedUpToId, indexRenames, constraintRenames);
+
+        jdbcTemplate.execute("ANALYZE " + TABLE);
+        log.info("Partitioned {}: {} rows in {} monthly partitions; old table kept as {}",
+                TABLE, copied, first.until(last, ChronoUnit.MONTHS) + 1, RETIRED);
+        return copied;
+    }
+
+    private void createStagingTable(YearMonth first, YearMonth last) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + STAGING + " CASCADE");
+        jdbcTemplate.execute("CREATE TABLE " + STAGING + " (LIKE " + TABLE
+                + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (transaction_date)");
+        // Identity columns are not copied by LIKE; a plain sequence default serves Hibernate's IDENTITY strategy
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS " + STAGING + "_id_seq");
+        jdbcTemplate.execute("CREATE SEQUENCE " + STAGING + "_id_seq");
+        jdbcTemplate.execute("ALTER TABLE " + STAGING + " ALTER COLUMN id SET DEFAULT nextval('" + STAGING + "_id_seq')");
+        // The partition key must be part of the primary key
+        jdbcTemplate.execute("ALTER TABLE " + STAGING + " ADD CONSTRAINT " + STAGING
+                + "_pkey PRIMARY KEY (id, transaction_date)");
+
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE " + partitionName(month) + " PARTITION OF " + STAGING + " " + bounds(month));
+        }
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + STAGING + " DEFAULT");
+    }
+
+    // Built after the bulk copy, which is much faster than maintaining them row by row
+    private List<String> copyIndexes() {
+        List<Map<String, Object>> indexes = jdbcTemplate.queryForList("SELECT i.indexname, i.indexdef FROM pg_indexes i "
+                + "WHERE i.schemaname = current_schema() AND i.tablename = ? "
+                + "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conname = i.indexname)", TABLE);
+        List<String> renames = new ArrayList<>();
+        for (Map<String, Object> index : indexes) {
+            String name = (String) index.get("indexname");
+            String definition = ((String) index.get("indexdef"))
+                    .replaceFirst("INDEX " + name + " ON \\S+ ", "INDEX " + name + "_p ON " + STAGING + " ");
+            jdbcTemplate.execute(definition);
+            renames.add(name);
+        }
+        return renames;
+    }
+
+    private List<String> copyForeignKeys() {
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList("SELECT conname, "
+                + "pg_get_constraintdef(oid) AS definition FROM pg_constraint "
+                + "WHERE contype = 'f' AND conrelid = ?::regclass", TABLE);
+        List<String> renames = new ArrayList<>();
+        for (Map<String, Object> foreignKey : foreignKeys) {
+            String name = (String) foreignKey.get("conname");
+            jdbcTemplate.execute("ALTER TABLE " + STAGING + " ADD CONSTRAINT " + name + "_p " + foreignKey.get("definition"));
+            renames.add(name);
+        }
+        return renames;
+    }
+
+    private long swap(long copiedUpToId, List<String> indexes, List<String> foreignKeys) {
+        Long carried = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+            int late = jdbcTemplate.update("INSERT INTO " + STAGING + " SELECT * FROM " + TABLE + " WHERE id > ?",
+                    copiedUpToId);
+
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + RETIRED);
+            jdbcTemplate.execute("ALTER TABLE " + STAGING + " RENAME TO " + TABLE);
+            jdbcTemplate.execute("ALTER INDEX " + TABLE + "_pkey RENAME TO " + RETIRED + "_pkey");
+            jdbcTemplate.execute("ALTER INDEX " + STAGING + "_pkey RENAME TO " + TABLE + "_pkey");
+            for (String index : indexes) {
+                jdbcTemplate.execute("ALTER INDEX " + index + " RENAME TO " + index + "_unpartitioned");
+                jdbcTemplate.execute("ALTER INDEX " + index + "_p RENAME TO " + index);
+            }
+            for (String foreignKey : foreignKeys) {
+                jdbcTemplate.execute("ALTER TABLE " + RETIRED + " RENAME CONSTRAINT " + foreignKey
+                        + " TO " + foreignKey + "_unpartitioned");
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME CONSTRAINT " + foreignKey + "_p TO " + foreignKey);
+            }
+
+            jdbcTemplate.execute("ALTER SEQUENCE " + STAGING + "_id_seq OWNED BY " + TABLE + ".id");
+            jdbcTemplate.queryForObject("SELECT setval('" + STAGING + "_id_seq', "
+                    + "(SELECT COALESCE(max(id), 0) + 1 FROM " + TABLE + "), false)", Long.class);
+            return (long) late;
+        });
+        return carried != null ? carried : 0;
+    }
+
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("%s_p%d_%02d", TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    private static String bounds(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        return "FOR VALUES FROM ('" + from + "') TO ('" + from.plusMonths(1) + "')";
+    }
+}
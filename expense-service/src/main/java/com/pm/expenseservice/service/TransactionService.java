@@ -10,6 +10,7 @@ import com.pm.expenseservice.exception.BadRequestException;
 import com.pm.expenseservice.exception.ResourceNotFoundException;
 import com.pm.expenseservice.repository.CategoryRepository;
 import com.pm.expenseservice.repository.TransactionRepository;
+import com.pm.expenseservice.util.MetricsRecorder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -26,9 +27,18 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
+    private final DailyLedgerService dailyLedgerService;
+    private final BudgetService budgetService;
+    private final MetricsRecorder metrics;
+
+    private static final String TRANSACTION_TIMER = "expense.transactions";
 
     @Transactional
     public TransactionResponseDto createTransaction(Long userId, CreateTransactionDto dto) {
+        return metrics.time(TRANSACTION_TIMER, () -> doCreateTransaction(userId, dto), "operation", "create");
+    }
+
+    private TransactionResponseDto doCreateTransaction(Long userId, CreateTransactionDto dto) {
         log.info("Creating transaction for user: {}", userId);
 
         // Validate category
@@ -55,6 +65,8 @@ public class TransactionService {
                 .build();
 
         Transaction saved = transactionRepository.save(transaction);
+        dailyLedgerService.record(saved);
+        budgetService.record(saved);
         log.info("Transaction created with ID: {}", saved.getId());
 
         return mapToResponseDto(saved);
@@ -67,6 +79,17 @@ public class TransactionService {
                                                             LocalDate startDate,
                                                             LocalDate endDate,
                                                             Pageable pageable) {
+        return metrics.time(TRANSACTION_TIMER,
+                () -> doGetUserTransactions(userId, type, categoryId, startDate, endDate, pageable),
+                "operation", "list");
+    }
+
+    private Page<TransactionResponseDto> doGetUserTransactions(Long userId,
+                                                               TransactionType type,
+                                                               Long categoryId,
+                                                               LocalDate startDate,
+                                                               LocalDate endDate,
+                                                               Pageable pageable) {
         log.info("Fetching transactions for user: {} with filters", userId);
 
         return transactionRepository.findUserTransactionsWithFilters(
@@ -76,6 +99,10 @@ public class TransactionService {
 
     @Transactional(readOnly = true)
     public TransactionResponseDto getTransaction(Long userId, Long transactionId) {
+        return metrics.time(TRANSACTION_TIMER, () -> doGetTransaction(userId, transactionId), "operation", "get");
+    }
+
+    private TransactionResponseDto doGetTransaction(Long userId, Long transactionId) {
         Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
 
@@ -85,10 +112,17 @@ public class TransactionService {
     @Transactional
     public TransactionResponseDto updateTransaction(Long userId, Long transactionId,
                                                     UpdateTransactionDto dto) {
+        return metrics.time(TRANSACTION_TIMER,
+                () -> doUpdateTransaction(userId, transactionId, dto), "operation", "update");
+    }
+
+    private TransactionResponseDto doUpdateTransaction(Long userId, Long transactionId,
+                                                       UpdateTransactionDto dto) {
         log.info("Updating transaction: {} for user: {}", transactionId, userId);
 
         Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
+        DailyLedgerService.Posting before = DailyLedgerService.Posting.of(transaction);
 
         if (dto.getCategoryId() != null && !dto.getCategoryId().equals(transaction.getCategory().getId())) {
             Category category = categoryRepository.findById(dto.getCategoryId())
@@ -114,6 +148,8 @@ public class TransactionService {
         }
 
         Transaction updated = transactionRepository.save(transaction);
+        dailyLedgerService.update(before, updated);
+        budgetService.update(before, updated);
         log.info("Transaction updated successfully");
 
         return mapToResponseDto(updated);
@@ -121,16 +157,22 @@ public class TransactionService {
 
     @Transactional
     public void deleteTransaction(Long userId, Long transactionId) {
+        metrics.time(TRANSACTION_TIMER, () -> doDeleteTransaction(userId, transactionId), "operation", "delete");
+    }
+
+    private void doDeleteTransaction(Long userId, Long transactionId) {
         log.info("Deleting transaction: {} for user: {}", transactionId, userId);
 
         Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
 
         transactionRepository.delete(transaction);
+        dailyLedgerService.reverse(transaction);
+        budgetService.reverse(transaction);
         log.info("Transaction deleted successfully");
     }
 
-    TransactionResponseDto mapToResponseDto(Transaction transaction) {
+    public TransactionResponseDto mapToResponseDto(Transaction transaction) {
         return TransactionResponseDto.builder()
                 .id(transaction.getId())
                 .categoryId(transaction.getCategory().getId())
@@ -141,6 +183,7 @@ public class TransactionService {
                 .type(transaction.getType())
                 .description(transaction.getDescription())
                 .transactionDate(transaction.getTransactionDate())
+                .recurringId(transaction.getRecurringId())
                 .createdAt(transaction.getCreatedAt())
                 .build();
     }
@@ -1,5 +1,6 @@
 package com.pm.expenseservice.service;
 
+import com.pm.expenseservice.client.AuthServiceClient;
 import com.pm.expenseservice.dto.request.ChangePasswordDto;
 import com.pm.expenseservice.dto.request.UpdateProfileDto;
 import com.pm.expenseservice.dto.request.UpdatePreferencesDto;
@@ -9,19 +10,17 @@ import com.pm.expenseservice.entity.User;
 import com.pm.expenseservice.entity.UserPreferences;
 import com.pm.expenseservice.exception.BadRequestException;
 import com.pm.expenseservice.exception.ResourceNotFoundException;
+import com.pm.expenseservice.exception.ServiceUnavailableException;
 import com.pm.expenseservice.repository.UserPreferencesRepository;
 import com.pm.expenseservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -29,7 +28,6 @@ import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
@@ -39,13 +37,9 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserPreferencesRepository preferencesRepository;
-    private final UserSyncService userSyncService;
 
-    @Autowired
-    private RestTemplate restTemplate;
-
-    @Value("${auth.service.url:http://localhost:8084}")
-    private String authServiceUrl;
+    private final AuthServiceClient authServiceClient;
+    private final OutboxService outboxService;
 
     @Transactional(readOnly = true)
     public UserProfileDto getUserProfile(Long userId) {
@@ -63,47 +57,17 @@ public class UserService {
         user.setFirstName(dto.getFirstName());
         user.setLastName(dto.getLastName());
 
-        User updated = userRepository.save(user);
+        // Replicated to auth-service by OutboxRelay after commit
+        outboxService.recordProfileChange(user);
 
-        // Sync with auth-service
-        try {
-            syncProfileWithAuthService(dto);
-        } catch (Exception e) {
-            log.warn("Failed to sync profile with auth-service: {}", e.getMessage());
-            // Continue even if sync fails - local update is already saved
-        }
+        User updated = userRepository.save(user);
 
         log.info("Updated profile for user: {}", userId);
 
         return mapToProfileDto(updated);
     }
 
-    private void syncProfileWithAuthService(UpdateProfileDto dto) {
-        try {
-            String url = authServiceUrl + "/api/v1/auth/profile";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(getCurrentUserToken());
-
-            Map<String, String> request = new HashMap<>();
-            request.put("firstName", dto.getFirstName());
-            request.put("lastName", dto.getLastName());
-
-            HttpEntity<Map<String, String>> entity = new HttpEntity<>(request, headers);
-
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.PUT, entity, Map.class);
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                log.info("Successfully synced profile with auth-service");
-            }
-        } catch (Exception e) {
-            log.error("Failed to sync with auth-service", e);
-            throw e;
-        }
-    }
-
-    @Transactional
+    // Not transactional: nothing is written locally, and a DB connection must not be held across the remote call
     public void changePassword(Long userId, ChangePasswordDto dto) {
         // Verify user exists
         if (!userRepository.existsById(userId)) {
@@ -111,30 +75,7 @@ public class UserService {
         }
 
         try {
-            String url = authServiceUrl + "/api/v1/auth/change-password";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(getCurrentUserToken());
-
-            Map<String, String> request = new HashMap<>();
-            request.put("currentPassword", dto.getCurrentPassword());
-            request.put("newPassword", dto.getNewPassword());
-
-            HttpEntity<Map<String, String>> entity = new HttpEntity<>(request, headers);
-
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.PUT,
-                    entity,
-                    Map.class
-            );
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                Map<String, Object> body = response.getBody();
-                String message = body != null ? (String) body.get("message") : "Failed to change password";
-                throw new BadRequestException(message);
-            }
+            authServiceClient.changePassword(getCurrentUserToken(), dto.getCurrentPassword(), dto.getNewPassword());
 
             log.info("Password changed for user: {}", userId);
 
@@ -154,6 +95,8 @@ public class UserService {
             }
 
             throw new BadRequestException("Failed to change password: " + e.getMessage());
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error changing password for user: {}", userId, e);
             throw new BadRequestException("Failed to change password. Please try again later.");
@@ -205,15 +148,9 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public UserPreferencesDto getUserPreferences(Long userId) {
-        // Ensure user exists in expense-service
+        // The users row is provisioned by UserSyncFilter on the user's first request
         if (!userRepository.existsById(userId)) {
-            // Try to sync user from auth service first
-            try {
-                syncUserFromAuthService(userId);
-            } catch (Exception e) {
-                log.error("Failed to sync user from auth service", e);
-                throw new ResourceNotFoundException("User not found");
-            }
+            throw new ResourceNotFoundException("User not found");
         }
 
         UserPreferences preferences = preferencesRepository.findByUserId(userId)
@@ -312,39 +249,4 @@ public class UserService {
 
         throw new IllegalStateException("No authentication token found");
     }
-
-    /**
-     * Sync user data from auth service
-     */
-    private void syncUserFromAuthService(Long userId) {
-        try {
-            String url = authServiceUrl + "/api/v1/auth/profile";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(getCurrentUserToken());
-
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    Map.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> data = (Map<String, Object>) response.getBody().get("data");
-                if (data != null) {
-                    String email = (String) data.get("email");
-                    String firstName = (String) data.get("firstName");
-                    String lastName = (String) data.get("lastName");
-
-                    userSyncService.syncUser(userId, email, firstName, lastName);
-                }
-            }
-        } catch (Exception e) {
-            log.error("Failed to sync user from auth service", e);
-            throw e;
-        }
-    }
 }
\ No newline at end of file
@@ -29,30 +29,75 @@ public class UserSyncService {
                     .build();
 
             log.info("Creating new user in expense-service: {}", email);
-        } else {
-            // Update existing user
-            boolean hasChanges = false;
+            return userRepository.save(user);
+        }
 
-            if (!email.equals(user.getEmail())) {
-                user.setEmail(email);
-                hasChanges = true;
-            }
+        // Update existing user only when something actually changed
+        boolean hasChanges = false;
 
-            if (!firstName.equals(user.getFirstName())) {
-                user.setFirstName(firstName);
-                hasChanges = true;
-            }
+        if (!email.equals(user.getEmail())) {
+            user.setEmail(email);
+            hasChanges = true;
+        }
 
-            if (!lastName.equals(user.getLastName())) {
-                user.setLastName(lastName);
-                hasChanges = true;
-            }
+        if (!firstName.equals(user.getFirstName())) {
+            user.setFirstName(firstName);
+            hasChanges = true;
+        }
+
+        if (!lastName.equals(user.getLastName())) {
+            user.setLastName(lastName);
+            hasChanges = true;
+        }
 
-            if (hasChanges) {
-                log.info("Updating user in expense-service: {}", email);
-            }
+        if (!hasChanges) {
+            return user;
         }
 
+        log.info("Updating user in expense-service: {}", email);
         return userRepository.save(user);
     }
+
+    /**
+     * Creates the users row from token claims if it does not exist yet. Returns true when the
+     * row exists afterwards (inserted now or already there).
+     */
+    @Transactional
+    public boolean provisionIfMissing(Long userId, String email, String firstName, String lastName) {
+        if (userRepository.insertIfAbsent(userId, email, firstName, lastName) > 0) {
+            log.info("Provisioned user {} in expense-service from token claims", userId);
+            return true;
+        }
+        // Conflict: either the id already exists, or the email belongs to a different id
+        return userRepository.existsById(userId);
+    }
+
+    /**
+     * Applies a replicated profile change if it is newer than the stored one.
+     * Returns false when the event is stale or a duplicate.
+     */
+    @Transactional
+    public boolean syncUser(Long userId, String email, String firstName, String lastName, long version) {
+        if (userRepository.applyProfileIfNewer(userId, email, firstName, lastName, version) > 0) {
+            log.debug("Applied profile version {} for user {}", version, userId);
+            return true;
+        }
+
+        if (userRepository.existsById(userId)) {
+            log.debug("Ignoring stale profile version {} for user {}", version, userId);
+            return false;
+        }
+
+        userRepository.save(User.builder()
+                .id(userId)
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .isActive(true)
+                .profileVersion(version)
+                .build());
+
+        log.info("Creating new user in expense-service from profile event: {}", email);
+        return true;
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.pm.expenseservice.util;
 
 import com.pm.expenseservice.enums.TransactionType;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -30,9 +31,37 @@ public class CategoryMatcher {
         INCOME_KEYWORDS.put("Business", Arrays.asList("sales", "revenue", "business", "income", "payment received"));
     }
 
+    private static final String MATCH_TIMER = "expense.category.match";
+
+    private final MetricsRecorder metrics;
+
+    // Called once per imported cell, so timers are resolved up front instead of per call
+    private final Map<TransactionType, Timer> matchedTimers = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Timer> fallbackTimers = new EnumMap<>(TransactionType.class);
+
+    public CategoryMatcher(MetricsRecorder metrics) {
+        this.metrics = metrics;
+        for (TransactionType type : TransactionType.values()) {
+            String typeTag = type.name().toLowerCase();
+            matchedTimers.put(type, metrics.timer(MATCH_TIMER, "matched", "type", typeTag));
+            fallbackTimers.put(type, metrics.timer(MATCH_TIMER, "fallback", "type", typeTag));
+        }
+    }
+
     public String matchCategory(String description, TransactionType type) {
+        Timer.Sample sample = metrics.start();
+        String bestMatch = findBestMatch(description, type);
+        if (bestMatch != null) {
+            sample.stop(matchedTimers.get(type));
+            return bestMatch;
+        }
+        sample.stop(fallbackTimers.get(type));
+        return type == TransactionType.EXPENSE ? "Other Expenses" : "Other Income";
+    }
+
+    private String findBestMatch(String description, TransactionType type) {
         if (description == null || description.trim().isEmpty()) {
-            return type == TransactionType.EXPENSE ? "Other Expenses" : "Other Income";
+            return null;
         }
 
         String descLower = description.toLowerCase();
@@ -55,10 +84,6 @@ public class CategoryMatcher {
             }
         }
 
-        if (bestMatch != null) {
-            return bestMatch;
-        }
-
-        return type == TransactionType.EXPENSE ? "Other Expenses" : "Other Income";
+        return bestMatch;
     }
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.pm.expenseservice.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -12,25 +18,65 @@ import java.nio.charset.StandardCharsets;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
+    private static final String VERIFICATION_TIMER = "jwt.verification";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
-    private SecretKey getSigningKey() {
+    private SecretKey signingKey;
+
+    @PostConstruct
+    void initSigningKey() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < 32) {
             throw new IllegalArgumentException("JWT secret key must be at least 32 characters long for HS256");
         }
-        return Keys.hmacShaKeyFor(keyBytes);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
     }
 
-    public boolean validateToken(String authToken) {
+    private SecretKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Single timed signature/expiry check behind every verification path.
+     */
+    private Jws<Claims> verify(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
         try {
-            Jwts.parser()
+            Jws<Claims> jws = Jwts.parser()
                     .verifyWith(getSigningKey())
                     .build()
-                    .parseSignedClaims(authToken);
+                    .parseSignedClaims(token);
+            outcome = "valid";
+            return jws;
+        } catch (ExpiredJwtException ex) {
+            outcome = "expired";
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(VERIFICATION_TIMER)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Verifies the signature and expiry and returns the claims in a single parse.
+     */
+    public Claims parseClaims(String token) {
+        return verify(token).getPayload();
+    }
+
+    public boolean validateToken(String authToken) {
+        try {
+            verify(authToken);
             return true;
         } catch (Exception ex) {
             log.error("Invalid JWT token: {}", ex.getMessage());
@@ -0,0 +1,46 @@
+package com.pm.expenseservice.util;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent set of user ids known to have a row in the users table. Ids are stored as bits in
+ * 4096-id chunks, so a million sequential ids take roughly 128 KB and a lookup is a map get plus
+ * a bit test. Entries are never removed; users are deactivated rather than deleted.
+ */
+@Component
+public class KnownUserIdSet {
+
+    private static final int CHUNK_BITS = 4096;
+    private static final int WORDS_PER_CHUNK = CHUNK_BITS / Long.SIZE;
+
+    private final ConcurrentMap<Long, AtomicLongArray> chunks = new ConcurrentHashMap<>();
+
+    public boolean contains(long userId) {
+        AtomicLongArray chunk = chunks.get(Math.floorDiv(userId, CHUNK_BITS));
+        if (chunk == null) {
+            return false;
+        }
+        int bit = (int) Math.floorMod(userId, (long) CHUNK_BITS);
+        return (chunk.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    public void add(long userId) {
+        AtomicLongArray chunk = chunks.computeIfAbsent(Math.floorDiv(userId, CHUNK_BITS),
+                key -> new AtomicLongArray(WORDS_PER_CHUNK));
+        int bit = (int) Math.floorMod(userId, (long) CHUNK_BITS);
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+
+        long current;
+        do {
+            current = chunk.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!chunk.compareAndSet(word, current, current | mask));
+    }
+}
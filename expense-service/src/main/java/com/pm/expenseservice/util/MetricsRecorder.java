@@ -0,0 +1,73 @@
+package com.pm.expenseservice.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Thin wrapper over Micrometer for timing service operations with an outcome tag.
+ * All timers publish percentile histograms so p95/p99 can be computed in Prometheus.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricsRecorder {
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+
+    /**
+     * Runs the operation and records its duration tagged outcome=success or outcome=error.
+     */
+    public <T> T time(String name, Supplier<T> operation, String... tags) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = ERROR;
+        try {
+            T result = operation.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            sample.stop(timer(name, outcome, tags));
+        }
+    }
+
+    public void time(String name, Runnable operation, String... tags) {
+        time(name, () -> {
+            operation.run();
+            return null;
+        }, tags);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    public void stop(Timer.Sample sample, String name, String outcome, String... tags) {
+        sample.stop(timer(name, outcome, tags));
+    }
+
+    public Timer timer(String name, String outcome, String... tags) {
+        return Timer.builder(name)
+                .tags(Tags.of(tags).and("outcome", outcome))
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public DistributionSummary summary(String name, String baseUnit, String... tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit(baseUnit)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void increment(String name, double amount, String... tags) {
+        registry.counter(name, tags).increment(amount);
+    }
+}
@@ -0,0 +1,112 @@
+package com.pm.expenseservice.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount in cents held in a primitive long, for sums and ratios on the aggregation paths.
+ * Arithmetic throws ArithmeticException on overflow instead of wrapping. Amounts enter from
+ * entities and projections with {@link #of(BigDecimal)} and leave for DTOs with
+ * {@link #toBigDecimal()}.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Amounts are stored with two decimals; anything finer is rounded half-up.
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null || amount.signum() == 0) {
+            return ZERO;
+        }
+        return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public double toDouble() {
+        return cents / 100.0;
+    }
+
+    /**
+     * part / total in ten-thousandths, rounded half-up; zero when total is not positive.
+     */
+    public static long ratioOf(Money part, Money total) {
+        if (total.cents <= 0) {
+            return 0;
+        }
+        long magnitude = Math.abs(part.cents);
+        long rounded;
+        try {
+            rounded = Math.addExact(Math.multiplyExact(magnitude, 20_000L), total.cents) / (2 * total.cents);
+        } catch (ArithmeticException e) {
+            // Beyond ~4.6e14 cents the long product overflows; take the slow path
+            rounded = BigDecimal.valueOf(magnitude).divide(BigDecimal.valueOf(total.cents), 4, RoundingMode.HALF_UP)
+                    .movePointRight(4).longValueExact();
+        }
+        return part.cents < 0 ? -rounded : rounded;
+    }
+
+    /**
+     * part / total as a percentage with the ratio rounded to 4 decimal places, e.g. 12.3500.
+     */
+    public static BigDecimal percentageOf(Money part, Money total) {
+        if (total.cents <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(ratioOf(part, total) * 100, 4);
+    }
+
+    public static double percentageValueOf(Money part, Money total) {
+        return ratioOf(part, total) / 100.0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
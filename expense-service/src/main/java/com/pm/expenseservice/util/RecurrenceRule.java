@@ -0,0 +1,225 @@
+package com.pm.expenseservice.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The subset of RFC 5545 RRULE that recurring transactions use, evaluated on dates:
+ * FREQ (DAILY, WEEKLY, MONTHLY, YEARLY), INTERVAL, BYDAY (weekly only), BYMONTHDAY (monthly only,
+ * 1..31 or -1 for the last day), COUNT and UNTIL. The template's start date plays DTSTART and
+ * supplies the weekday, day of month or anniversary when BYDAY/BYMONTHDAY are absent.
+ *
+ * Unlike RFC 5545, a day of month the month does not have (the 31st, Feb 29) falls on the month's
+ * last day instead of being skipped, which is what rent and salary schedules expect.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+    private static final int MAX_INTERVAL = 366;
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final Integer byMonthDay;
+    private final Integer count;
+    private final LocalDate until;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay, Integer byMonthDay,
+                           Integer count, LocalDate until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.byMonthDay = byMonthDay;
+        this.count = count;
+        this.until = until;
+    }
+
+    /**
+     * Parses a rule such as "FREQ=MONTHLY;BYMONTHDAY=1", with or without the "RRULE:" prefix;
+     * throws IllegalArgumentException for anything outside the supported subset.
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is required");
+        }
+        String body = rule.trim().toUpperCase(Locale.ROOT);
+        if (body.startsWith("RRULE:")) {
+            body = body.substring("RRULE:".length());
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = null;
+        Integer byMonthDay = null;
+        Integer count = null;
+        LocalDate until = null;
+        for (String part : body.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Malformed rule part: " + part);
+            }
+            String name = part.substring(0, eq);
+            String value = part.substring(eq + 1);
+            switch (name) {
+                case "FREQ" -> frequency = frequency(value);
+                case "INTERVAL" -> interval = number(name, value, 1, MAX_INTERVAL);
+                case "BYDAY" -> byDay = days(value);
+                case "BYMONTHDAY" -> {
+                    byMonthDay = number(name, value, -1, 31);
+                    if (byMonthDay == 0) {
+                        throw new IllegalArgumentException("BYMONTHDAY must be 1..31 or -1");
+                    }
+                }
+                case "COUNT" -> count = number(name, value, 1, 10_000);
+                case "UNTIL" -> until = date(value);
+                default -> throw new IllegalArgumentException("Unsupported rule part: " + name);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("FREQ is required");
+        }
+        if (byDay != null && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported with FREQ=WEEKLY");
+        }
+        if (byMonthDay != null && frequency != Frequency.MONTHLY) {
+            throw new IllegalArgumentException("BYMONTHDAY is only supported with FREQ=MONTHLY");
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT and UNTIL cannot both be set");
+        }
+        return new RecurrenceRule(frequency, interval, byDay, byMonthDay, count, until);
+    }
+
+    public Frequency frequency() {
+        return frequency;
+    }
+
+    /**
+     * True once a schedule with this rule has produced all COUNT occurrences.
+     */
+    public boolean exhausted(int occurrences) {
+        return count != null && occurrences >= count;
+    }
+
+    /**
+     * The first occurrence after previous, or the first on or after start when previous is null;
+     * null when it would fall after UNTIL. COUNT is left to the caller, see {@link #exhausted(int)}.
+     */
+    public LocalDate next(LocalDate start, LocalDate previous) {
+        LocalDate from = previous == null || previous.isBefore(start) ? start : previous.plusDays(1);
+        LocalDate next = switch (frequency) {
+            case DAILY -> nextDaily(start, from);
+            case WEEKLY -> nextWeekly(start, from);
+            case MONTHLY -> nextMonthly(start, from);
+            case YEARLY -> nextYearly(start, from);
+        };
+        return until != null && next.isAfter(until) ? null : next;
+    }
+
+    private LocalDate nextDaily(LocalDate start, LocalDate from) {
+        long offset = ChronoUnit.DAYS.between(start, from);
+        return start.plusDays(ceilToMultiple(offset, interval));
+    }
+
+    private LocalDate nextWeekly(LocalDate start, LocalDate from) {
+        Set<DayOfWeek> days = byDay != null ? byDay : EnumSet.of(start.getDayOfWeek());
+        LocalDate startWeek = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate week = startWeek.plusWeeks(ceilToMultiple(ChronoUnit.WEEKS.between(startWeek,
+                from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))), interval));
+        // The first matching week may have its listed days before from; the one after it cannot
+        while (true) {
+            for (int i = 0; i < 7; i++) {
+                LocalDate day = week.plusDays(i);
+                if (!day.isBefore(from) && days.contains(day.getDayOfWeek())) {
+                    return day;
+                }
+            }
+            week = week.plusWeeks(interval);
+        }
+    }
+
+    private LocalDate nextMonthly(LocalDate start, LocalDate from) {
+        int day = byMonthDay != null ? byMonthDay : start.getDayOfMonth();
+        YearMonth startMonth = YearMonth.from(start);
+        YearMonth month = startMonth.plusMonths(ceilToMultiple(ChronoUnit.MONTHS.between(startMonth,
+                YearMonth.from(from)), interval));
+        while (true) {
+            LocalDate candidate = day == -1 ? month.atEndOfMonth() : month.atDay(Math.min(day, month.lengthOfMonth()));
+            if (!candidate.isBefore(from)) {
+                return candidate;
+            }
+            month = month.plusMonths(interval);
+        }
+    }
+
+    private LocalDate nextYearly(LocalDate start, LocalDate from) {
+        int year = start.getYear() + (int) ceilToMultiple(Math.max(from.getYear() - start.getYear(), 0), interval);
+        while (true) {
+            YearMonth month = YearMonth.of(year, start.getMonth());
+            LocalDate candidate = month.atDay(Math.min(start.getDayOfMonth(), month.lengthOfMonth()));
+            if (!candidate.isBefore(from)) {
+                return candidate;
+            }
+            year += interval;
+        }
+    }
+
+    private static long ceilToMultiple(long value, int step) {
+        return value <= 0 ? 0 : (value + step - 1) / step * step;
+    }
+
+    private static Frequency frequency(String value) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported FREQ: " + value);
+        }
+    }
+
+    private static int number(String name, String value, int min, int max) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number < min || number > max) {
+                throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    private static Set<DayOfWeek> days(String value) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String code : value.split(",")) {
+            DayOfWeek day = DAYS.get(code);
+            if (day == null) {
+                throw new IllegalArgumentException("Unsupported BYDAY value: " + code);
+            }
+            days.add(day);
+        }
+        return days;
+    }
+
+    // Date or UTC date-time form; only the date matters here
+    private static LocalDate date(String value) {
+        try {
+            return LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value, DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("UNTIL must be a date such as 20251231");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.pm.expenseservice.util;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Counts every statement against the current request's {@link SqlStatementStats} and logs
+ * statements slower than the threshold together with the controller method that issued them.
+ */
+@Slf4j
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private final long slowQueryThresholdMs;
+
+    public SqlStatementListener(long slowQueryThresholdMs) {
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        SqlStatementStats.record(elapsed);
+
+        if (elapsed >= slowQueryThresholdMs) {
+            String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            log.warn("Slow query ({} ms, batch size {}) from {}: {}",
+                    elapsed, execInfo.getBatchSize(), currentHandler(), sql);
+        }
+    }
+
+    // DispatcherServlet exposes the resolved handler as a request attribute; outside a request
+    // (schedulers, async executors) the thread name is the best attribution available
+    private String currentHandler() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object handler = attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                    RequestAttributes.SCOPE_REQUEST);
+            if (handler instanceof HandlerMethod handlerMethod) {
+                return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+            }
+        }
+        return "thread " + Thread.currentThread().getName();
+    }
+}
@@ -0,0 +1,259 @@
+package com.pm.expenseservice.util;
+
+import com.pm.expenseservice.enums.TransactionType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Columnar file holding one user's archived transactions for one month.
+ *
+ * Layout: magic, version, row count, then a (raw length, compressed length) pair per
+ * {@link Column}, followed by each column as its own Deflate block. Rows are sorted by id and
+ * ids are delta-encoded. Readers map the file and inflate only the columns they ask for, so a
+ * sum touches the amount, type and date blocks and never decodes descriptions.
+ */
+public final class TransactionArchiveFile {
+
+    private static final int MAGIC = 0x54584131; // "TXA1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12 + Column.values().length * 8;
+
+    public enum Column {
+        ID, CATEGORY_ID, AMOUNT_CENTS, TYPE, TRANSACTION_DATE, CREATED_AT, UPDATED_AT, DESCRIPTION
+    }
+
+    public record Row(long id, long categoryId, long amountCents, TransactionType type, LocalDate transactionDate,
+                      LocalDateTime createdAt, LocalDateTime updatedAt, String description) {
+    }
+
+    private TransactionArchiveFile() {
+    }
+
+    public static void write(Path file, List<Row> unsorted) throws IOException {
+        List<Row> rows = new ArrayList<>(unsorted);
+        rows.sort(Comparator.comparingLong(Row::id));
+        int count = rows.size();
+
+        ByteBuffer[] raw = new ByteBuffer[Column.values().length];
+        raw[Column.ID.ordinal()] = ByteBuffer.allocate(count * 8);
+        raw[Column.CATEGORY_ID.ordinal()] = ByteBuffer.allocate(count * 8);
+        raw[Column.AMOUNT_CENTS.ordinal()] = ByteBuffer.allocate(count * 8);
+        raw[Column.TYPE.ordinal()] = ByteBuffer.allocate(count);
+        raw[Column.TRANSACTION_DATE.ordinal()] = ByteBuffer.allocate(count * 4);
+        raw[Column.CREATED_AT.ordinal()] = ByteBuffer.allocate(count * 8);
+        raw[Column.UPDATED_AT.ordinal()] = ByteBuffer.allocate(count * 8);
+
+        List<byte[]> descriptions = new ArrayList<>(count);
+        int descriptionBytes = 0;
+        long previousId = 0;
+        for (Row row : rows) {
+            raw[Column.ID.ordinal()].putLong(row.id() - previousId);
+            previousId = row.id();
+            raw[Column.CATEGORY_ID.ordinal()].putLong(row.categoryId());
+            raw[Column.AMOUNT_CENTS.ordinal()].putLong(row.amountCents());
+            raw[Column.TYPE.ordinal()].put((byte) row.type().ordinal());
+            raw[Column.TRANSACTION_DATE.ordinal()].putInt((int) row.transactionDate().toEpochDay());
+            raw[Column.CREATED_AT.ordinal()].putLong(toMicros(row.createdAt()));
+            raw[Column.UPDATED_AT.ordinal()].putLong(toMicros(row.updatedAt()));
+            byte[] description = row.description() != null ? row.description().getBytes(StandardCharsets.UTF_8) : null;
+            descriptions.add(description);
+            descriptionBytes += 4 + (description != null ? description.length : 0);
+        }
+        ByteBuffer text = ByteBuffer.allocate(descriptionBytes);
+        for (byte[] description : descriptions) {
+            text.putInt(description != null ? description.length : -1);
+            if (description != null) {
+                text.put(description);
+            }
+        }
+        raw[Column.DESCRIPTION.ordinal()] = text;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putInt(count);
+        byte[][] compressed = new byte[raw.length][];
+        for (int i = 0; i < raw.length; i++) {
+            compressed[i] = deflate(raw[i].array());
+            header.putInt(raw[i].capacity()).putInt(compressed[i].length);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(header.flip());
+            for (byte[] block : compressed) {
+                channel.write(ByteBuffer.wrap(block));
+            }
+            channel.force(true);
+        }
+    }
+
+    public static Reader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new Reader(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static final class Reader {
+
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private final int rowCount;
+        private final int[] rawLengths = new int[Column.values().length];
+        private final int[] offsets = new int[Column.values().length];
+        private final int[] compressedLengths = new int[Column.values().length];
+
+        private Reader(Path file, MappedByteBuffer buffer) throws IOException {
+            this.file = file;
+            this.buffer = buffer;
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a transaction archive: " + file);
+            }
+            this.rowCount = buffer.getInt(8);
+            int offset = HEADER_BYTES;
+            for (int i = 0; i < rawLengths.length; i++) {
+                rawLengths[i] = buffer.getInt(12 + i * 8);
+                compressedLengths[i] = buffer.getInt(16 + i * 8);
+                offsets[i] = offset;
+                offset += compressedLengths[i];
+            }
+        }
+
+        public int rowCount() {
+            return rowCount;
+        }
+
+        public long[] ids() throws IOException {
+            long[] ids = longs(Column.ID);
+            for (int i = 1; i < ids.length; i++) {
+                ids[i] += ids[i - 1];
+            }
+            return ids;
+        }
+
+        public long[] longs(Column column) throws IOException {
+            ByteBuffer data = inflate(column);
+            long[] values = new long[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = data.getLong();
+            }
+            return values;
+        }
+
+        public TransactionType[] types() throws IOException {
+            ByteBuffer data = inflate(Column.TYPE);
+            TransactionType[] all = TransactionType.values();
+            TransactionType[] values = new TransactionType[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = all[data.get()];
+            }
+            return values;
+        }
+
+        public LocalDate[] transactionDates() throws IOException {
+            ByteBuffer data = inflate(Column.TRANSACTION_DATE);
+            LocalDate[] values = new LocalDate[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = LocalDate.ofEpochDay(data.getInt());
+            }
+            return values;
+        }
+
+        public String[] descriptions() throws IOException {
+            ByteBuffer data = inflate(Column.DESCRIPTION);
+            String[] values = new String[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                int length = data.getInt();
+                if (length >= 0) {
+                    values[i] = new String(data.array(), data.position(), length, StandardCharsets.UTF_8);
+                    data.position(data.position() + length);
+                }
+            }
+            return values;
+        }
+
+        public List<Row> rows() throws IOException {
+            long[] ids = ids();
+            long[] categoryIds = longs(Column.CATEGORY_ID);
+            long[] amounts = longs(Column.AMOUNT_CENTS);
+            TransactionType[] types = types();
+            LocalDate[] dates = transactionDates();
+            long[] created = longs(Column.CREATED_AT);
+            long[] updated = longs(Column.UPDATED_AT);
+            String[] descriptions = descriptions();
+
+            List<Row> rows = new ArrayList<>(rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows.add(new Row(ids[i], categoryIds[i], amounts[i], types[i], dates[i],
+                        fromMicros(created[i]), fromMicros(updated[i]), descriptions[i]));
+            }
+            return rows;
+        }
+
+        private ByteBuffer inflate(Column column) throws IOException {
+            int index = column.ordinal();
+            byte[] out = new byte[rawLengths[index]];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(buffer.slice(offsets[index], compressedLengths[index]));
+                int read = 0;
+                while (read < out.length && !inflater.finished()) {
+                    int inflated = inflater.inflate(out, read, out.length - read);
+                    // Truncated input or a preset dictionary would otherwise return 0 forever
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Truncated " + column + " column in " + file);
+                    }
+                    read += inflated;
+                }
+                if (read < out.length) {
+                    throw new IOException("Short " + column + " column in " + file + ": "
+                            + read + " of " + out.length + " bytes");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt " + column + " column in " + file, e);
+            } finally {
+                inflater.end();
+            }
+            return ByteBuffer.wrap(out);
+        }
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] chunk = new byte[8192];
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static long toMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
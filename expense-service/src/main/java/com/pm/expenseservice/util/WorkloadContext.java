@@ -0,0 +1,34 @@
+package com.pm.expenseservice.util;
+
+import com.pm.expenseservice.enums.Workload;
+
+/**
+ * Per-thread workload class used to pick a connection pool. Threads are
+ * {@link Workload#INTERACTIVE} unless running inside {@link #runAs}.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.INTERACTIVE;
+    }
+
+    public static void runAs(Workload workload, Runnable task) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            task.run();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
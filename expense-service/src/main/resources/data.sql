@@ -22,4 +22,7 @@ INSERT INTO categories (id, name, type, icon, color, is_system, created_at) VALU
 ON CONFLICT (id) DO NOTHING;
 
 -- Reset sequence to avoid conflicts
-SELECT setval('categories_id_seq', (SELECT MAX(id) FROM categories) + 1);
\ No newline at end of file
+SELECT setval('categories_id_seq', (SELECT MAX(id) FROM categories) + 1);
+
+-- idx_user_type was replaced by idx_user_type_date; ddl-auto update adds indexes but never drops them
+DROP INDEX IF EXISTS idx_user_type;
@@ -0,0 +1,192 @@
+package com.pm.expenseservice.client;
+
+import com.pm.expenseservice.config.AuthServiceClientProperties;
+import com.pm.expenseservice.config.RestTemplateConfig;
+import com.pm.expenseservice.exception.ServiceUnavailableException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs {@link AuthServiceClient} against a local stub auth-service (JDK HttpServer), no Spring context.
+ */
+class AuthServiceClientTest {
+
+    private static final String PROFILE_JSON =
+            "{\"success\":true,\"data\":{\"email\":\"jane@example.com\",\"firstName\":\"Jane\",\"lastName\":\"Doe\"}}";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpComponentsClientHttpRequestFactory requestFactory;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private volatile StubBehaviour behaviour;
+
+    @FunctionalInterface
+    private interface StubBehaviour {
+        void handle(HttpExchange exchange) throws Exception;
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            try {
+                behaviour.handle(exchange);
+            } catch (Exception e) {
+                // Client gave up (timeout); nothing to do
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        if (requestFactory != null) {
+            requestFactory.destroy();
+        }
+    }
+
+    @Test
+    void returnsProfileData() {
+        behaviour = exchange -> respond(exchange, 200, PROFILE_JSON);
+
+        Map<String, Object> data = client(defaultProperties()).getProfile("token");
+
+        assertThat(data).containsEntry("email", "jane@example.com").containsEntry("firstName", "Jane");
+    }
+
+    @Test
+    void slowAuthServiceHitsResponseTimeout() {
+        behaviour = exchange -> {
+            Thread.sleep(2_000);
+            respond(exchange, 200, PROFILE_JSON);
+        };
+        AuthServiceClientProperties properties = defaultProperties();
+        properties.setResponseTimeout(Duration.ofMillis(200));
+        AuthServiceClient client = client(properties);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.getProfile("token")).isInstanceOf(ServiceUnavailableException.class);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis).isLessThan(1_500);
+    }
+
+    @Test
+    void circuitOpensAfterRepeatedFailuresAndStopsCallingAuthService() {
+        behaviour = exchange -> respond(exchange, 503, "{\"success\":false}");
+        AuthServiceClientProperties properties = defaultProperties();
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        AuthServiceClient client = client(properties);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.getProfile("token")).isNotInstanceOf(ServiceUnavailableException.class);
+        }
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        int hitsBefore = hits.get();
+        assertThatThrownBy(() -> client.getProfile("token")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(hits.get()).isEqualTo(hitsBefore);
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        behaviour = exchange -> respond(exchange, 401, "{\"success\":false,\"message\":\"Invalid password\"}");
+        AuthServiceClientProperties properties = defaultProperties();
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(2);
+        properties.getCircuitBreaker().setSlidingWindowSize(2);
+        AuthServiceClient client = client(properties);
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> client.changePassword("token", "old", "new"))
+                    .isInstanceOf(HttpClientErrorException.class);
+        }
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondConcurrencyLimitWithoutWaiting() throws Exception {
+        CountDownLatch inFlight = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        behaviour = exchange -> {
+            inFlight.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            respond(exchange, 200, PROFILE_JSON);
+        };
+        AuthServiceClientProperties properties = defaultProperties();
+        properties.getBulkhead().setMaxConcurrentCalls(2);
+        AuthServiceClient client = client(properties);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Map<String, Object>> first = callers.submit(() -> client.getProfile("token"));
+            Future<Map<String, Object>> second = callers.submit(() -> client.getProfile("token"));
+            assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> client.getProfile("token")).isInstanceOf(ServiceUnavailableException.class);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(500);
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    private AuthServiceClientProperties defaultProperties() {
+        AuthServiceClientProperties properties = new AuthServiceClientProperties();
+        properties.setResponseTimeout(Duration.ofSeconds(3));
+        properties.getCircuitBreaker().setWaitDurationInOpenState(Duration.ofMinutes(1));
+        return properties;
+    }
+
+    private AuthServiceClient client(AuthServiceClientProperties properties) {
+        requestFactory = RestTemplateConfig.createRequestFactory(properties);
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        return new AuthServiceClient(new RestTemplate(requestFactory), baseUrl,
+                RestTemplateConfig.createCircuitBreaker(properties), RestTemplateConfig.createBulkhead(properties));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.pm.expenseservice.client;
+
+import com.pm.expenseservice.config.AuthServiceClientProperties;
+import com.pm.expenseservice.config.RestTemplateConfig;
+import com.pm.expenseservice.dto.response.AuthUserInfoDto;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that concurrent lookups are coalesced into batch calls against a stub auth-service.
+ */
+class UserProfileBatchLoaderTest {
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    private HttpServer server;
+    private HttpComponentsClientHttpRequestFactory requestFactory;
+    private UserProfileBatchLoader loader;
+    private final AtomicInteger batchCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/auth/internal/users/batch", exchange -> {
+            batchCalls.incrementAndGet();
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+            // Echo every id except 999, which the stub treats as unknown
+            long[] ids = NUMBER.matcher(request).results()
+                    .mapToLong(result -> Long.parseLong(result.group()))
+                    .toArray();
+            String body = LongStream.of(ids)
+                    .filter(id -> id != 999)
+                    .mapToObj(id -> "{\"id\":" + id + ",\"email\":\"user" + id + "@example.com\",\"firstName\":\"User\",\"lastName\":\"" + id + "\"}")
+                    .collect(Collectors.joining(",", "[", "]"));
+
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+
+        AuthServiceClientProperties properties = new AuthServiceClientProperties();
+        requestFactory = RestTemplateConfig.createRequestFactory(properties);
+        AuthServiceClient client = new AuthServiceClient(new RestTemplate(requestFactory),
+                "http://127.0.0.1:" + server.getAddress().getPort(),
+                RestTemplateConfig.createCircuitBreaker(properties), RestTemplateConfig.createBulkhead(properties));
+        loader = new UserProfileBatchLoader(client, "token", 100, 20, 5000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        loader.shutdown();
+        server.stop(0);
+        requestFactory.destroy();
+    }
+
+    @Test
+    void concurrentLookupsShareOneBatchCall() {
+        List<CompletableFuture<AuthUserInfoDto>> futures = IntStream.rangeClosed(1, 50)
+                .parallel()
+                .mapToObj(i -> loader.load((long) (i % 25) + 1))
+                .toList();
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertThat(futures).allSatisfy(future -> assertThat(future.join()).isNotNull());
+        assertThat(batchCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void loadAllSplitsIntoMaxSizeBatchesAndOmitsUnknownIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 250).boxed().collect(Collectors.toList());
+        ids.add(999L);
+
+        Map<Long, AuthUserInfoDto> users = loader.loadAll(ids);
+
+        assertThat(users).hasSize(250).doesNotContainKey(999L);
+        assertThat(users.get(42L).getEmail()).isEqualTo("user42@example.com");
+        assertThat(batchCalls.get()).isBetween(3, 4);
+    }
+}
@@ -0,0 +1,51 @@
+package com.pm.expenseservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void releasesPermitOnceWhenConnectionCloses() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection physical = mock(Connection.class);
+        when(target.getConnection()).thenReturn(physical);
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(50), registry);
+
+        Connection first = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        verify(physical).close();
+        assertThat(registry.get("db.connection.permits.available").gauge().value()).isEqualTo(1);
+
+        dataSource.getConnection().close();
+        assertThat(registry.get("db.connection.permits.available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void returnsPermitWhenTargetFails() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        ConcurrencyLimitedDataSource dataSource =
+                new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(50), registry);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(registry.get("db.connection.permits.available").gauge().value()).isEqualTo(1);
+    }
+}
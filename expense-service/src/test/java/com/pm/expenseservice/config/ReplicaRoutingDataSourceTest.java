@@ -0,0 +1,78 @@
+package com.pm.expenseservice.config;
+
+import com.pm.expenseservice.security.JwtAuthenticationFilter.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            new SimpleDriverDataSource(), new SimpleDriverDataSource(),
+            Duration.ofSeconds(5), Duration.ofSeconds(1), new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserPrincipal(7L, "user@example.com"), null, List.of()));
+        routing.updateLag(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToReplica() {
+        assertThat(route(true)).isEqualTo(ReplicaRoutingDataSource.REPLICA);
+        assertThat(route(false)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaLags() {
+        routing.updateLag(6_000);
+
+        assertThat(route(true)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        routing.updateLag(200);
+        assertThat(route(true)).isEqualTo(ReplicaRoutingDataSource.REPLICA);
+    }
+
+    @Test
+    void readsOwnWritesFromPrimaryAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routing.determineCurrentLookupKey();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(route(true)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserPrincipal(8L, "other@example.com"), null, List.of()));
+        assertThat(route(true)).isEqualTo(ReplicaRoutingDataSource.REPLICA);
+    }
+
+    private Object route(boolean readOnly) {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        return routing.determineCurrentLookupKey();
+    }
+}
@@ -0,0 +1,54 @@
+package com.pm.expenseservice.config;
+
+import com.pm.expenseservice.enums.Workload;
+import com.pm.expenseservice.util.WorkloadContext;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkloadRoutingDataSourceTest {
+
+    private final HikariDataSource bulk = new HikariDataSource();
+    private final WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(new SimpleDriverDataSource(), bulk);
+
+    @AfterEach
+    void tearDown() {
+        bulk.close();
+    }
+
+    @Test
+    void routesByCurrentWorkload() {
+        AtomicReference<Object> insideBulk = new AtomicReference<>();
+        WorkloadContext.runAs(Workload.BULK, () -> insideBulk.set(routing.determineCurrentLookupKey()));
+
+        assertThat(insideBulk.get()).isEqualTo(Workload.BULK);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(Workload.INTERACTIVE);
+        assertThat(routing.getResolvedDataSources().get(Workload.BULK)).isSameAs(bulk);
+    }
+
+    @Test
+    void postProcessorClosesTheBulkPoolItCreated() throws Exception {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.url", "jdbc:postgresql://localhost:5432/unused");
+        BulkWorkloadConfig.WorkloadRoutingPostProcessor postProcessor =
+                BulkWorkloadConfig.workloadRoutingPostProcessor(environment, new StaticListableBeanFactory()
+                        .getBeanProvider(MeterRegistry.class));
+
+        Object wrapped = postProcessor.postProcessAfterInitialization(new SimpleDriverDataSource(), "dataSource");
+        HikariDataSource pool = (HikariDataSource) ((WorkloadRoutingDataSource) wrapped)
+                .getResolvedDataSources().get(Workload.BULK);
+        assertThat(pool.getPoolName()).isEqualTo("bulk");
+        assertThat(pool.isClosed()).isFalse();
+
+        postProcessor.destroy();
+        assertThat(pool.isClosed()).isTrue();
+    }
+}
@@ -0,0 +1,34 @@
+package com.pm.expenseservice.enums;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GranularityTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1); // Wednesday, ISO week 2025-W01
+
+    @Test
+    void alignsToPeriodStart() {
+        assertThat(Granularity.WEEK.periodStart(DAY)).isEqualTo(LocalDate.of(2024, 12, 30));
+        assertThat(Granularity.MONTH.periodStart(LocalDate.of(2025, 8, 17))).isEqualTo(LocalDate.of(2025, 8, 1));
+        assertThat(Granularity.QUARTER.periodStart(LocalDate.of(2025, 8, 17))).isEqualTo(LocalDate.of(2025, 7, 1));
+        assertThat(Granularity.YEAR.periodStart(LocalDate.of(2025, 8, 17))).isEqualTo(DAY);
+    }
+
+    @Test
+    void labelsUseWeekBasedYear() {
+        assertThat(Granularity.WEEK.label(Granularity.WEEK.periodStart(DAY))).isEqualTo("2025-W01");
+        assertThat(Granularity.MONTH.label(LocalDate.of(2025, 3, 1))).isEqualTo("2025-03");
+        assertThat(Granularity.QUARTER.label(LocalDate.of(2025, 10, 1))).isEqualTo("2025-Q4");
+        assertThat(Granularity.YEAR.label(DAY)).isEqualTo("2025");
+    }
+
+    @Test
+    void stepsOnePeriod() {
+        assertThat(Granularity.QUARTER.nextPeriodStart(LocalDate.of(2025, 10, 1))).isEqualTo(LocalDate.of(2026, 1, 1));
+        assertThat(Granularity.WEEK.nextPeriodStart(LocalDate.of(2024, 12, 30))).isEqualTo(LocalDate.of(2025, 1, 6));
+    }
+}
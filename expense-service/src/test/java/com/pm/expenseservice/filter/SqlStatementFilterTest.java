@@ -0,0 +1,78 @@
+package com.pm.expenseservice.filter;
+
+import com.pm.expenseservice.util.SqlStatementListener;
+import com.pm.expenseservice.util.SqlStatementStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static com.pm.expenseservice.util.SqlStatementAssertions.assertMaxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlStatementFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlStatementFilter filter = new SqlStatementFilter(registry, true);
+    private final SqlStatementListener listener = new SqlStatementListener(1_000);
+
+    @Test
+    void reportsStatementsIssuedBeforeTheBodyIsWritten() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/transactions");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/transactions");
+            executeQuery(3);
+            executeQuery(4);
+            res.getWriter().write("[]");
+            executeQuery(5);
+        };
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getHeader(SqlStatementFilter.COUNT_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(SqlStatementFilter.TIME_HEADER)).isEqualTo("7");
+        assertThat(registry.get("http.server.sql.statements").tag("uri", "/api/v1/transactions")
+                .summary().totalAmount()).isEqualTo(3);
+        assertThat(SqlStatementStats.current()).isNull();
+    }
+
+    @Test
+    void writesHeadersForEmptyResponses() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/v1/transactions/1"), response,
+                (req, res) -> executeQuery(1));
+
+        assertThat(response.getHeader(SqlStatementFilter.COUNT_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    void assertMaxStatementsFailsOverBudget() {
+        assertThat(assertMaxStatements(2, () -> {
+            executeQuery(1);
+            executeQuery(1);
+            return "ok";
+        })).isEqualTo("ok");
+
+        assertThatThrownBy(() -> assertMaxStatements(1, () -> {
+            executeQuery(1);
+            executeQuery(1);
+            return "ok";
+        })).isInstanceOf(AssertionError.class);
+    }
+
+    private void executeQuery(long elapsedMillis) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setElapsedTime(elapsedMillis);
+        QueryInfo query = new QueryInfo("SELECT 1");
+        listener.afterQuery(info, List.of(query));
+    }
+}
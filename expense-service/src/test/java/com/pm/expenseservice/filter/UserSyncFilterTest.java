@@ -0,0 +1,79 @@
+package com.pm.expenseservice.filter;
+
+import com.pm.expenseservice.client.UserProfileBatchLoader;
+import com.pm.expenseservice.dto.response.AuthUserInfoDto;
+import com.pm.expenseservice.exception.ServiceUnavailableException;
+import com.pm.expenseservice.security.JwtAuthenticationFilter.UserPrincipal;
+import com.pm.expenseservice.service.UserSyncService;
+import com.pm.expenseservice.util.KnownUserIdSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserSyncFilterTest {
+
+    private final UserSyncService userSyncService = mock(UserSyncService.class);
+    private final KnownUserIdSet knownUserIds = new KnownUserIdSet();
+    private final UserProfileBatchLoader profileLoader = mock(UserProfileBatchLoader.class);
+    private final UserSyncFilter filter = new UserSyncFilter(userSyncService, knownUserIds, profileLoader);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void emailConflictIsResolvedOnceNotOnEveryRequest() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(42L, "moved@example.com"), null, List.of()));
+        when(profileLoader.loadAll(any())).thenReturn(Map.of());
+        when(userSyncService.provisionIfMissing(anyLong(), any(), any(), any())).thenReturn(false);
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        verify(userSyncService, times(1)).provisionIfMissing(anyLong(), any(), any(), any());
+        assertThat(knownUserIds.contains(42L)).isTrue();
+    }
+
+    @Test
+    void namesMissingFromTheTokenComeFromAuthService() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(7L, "jane@example.com"), null, List.of()));
+        when(profileLoader.loadAll(List.of(7L))).thenReturn(Map.of(7L, AuthUserInfoDto.builder()
+                .id(7L).firstName("Jane").lastName("Doe").build()));
+        when(userSyncService.provisionIfMissing(anyLong(), any(), any(), any())).thenReturn(true);
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userSyncService).provisionIfMissing(7L, "jane@example.com", "Jane", "Doe");
+    }
+
+    @Test
+    void fallsBackToTheEmailWhenAuthServiceIsDown() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(8L, "sam@example.com"), null, List.of()));
+        when(profileLoader.loadAll(any())).thenThrow(new ServiceUnavailableException("down"));
+        when(userSyncService.provisionIfMissing(anyLong(), any(), any(), any())).thenReturn(true);
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(userSyncService).provisionIfMissing(8L, "sam@example.com", "sam", "");
+    }
+}
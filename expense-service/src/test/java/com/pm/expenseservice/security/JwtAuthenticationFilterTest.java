@@ -0,0 +1,73 @@
+package com.pm.expenseservice.security;
+
+import com.pm.expenseservice.security.JwtAuthenticationFilter.UserPrincipal;
+import com.pm.expenseservice.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha-signing-0123456789";
+
+    private final JwtUtil jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil);
+
+    JwtAuthenticationFilterTest() {
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "initSigningKey");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void accessTokenAuthenticatesTheRequest() throws Exception {
+        filter.doFilter(request(token("ACCESS")), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(((UserPrincipal) authentication.getPrincipal()).getUserId()).isEqualTo(42L);
+    }
+
+    @Test
+    void refreshTokenIsNotABearerCredential() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(token("REFRESH")), new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private static String token(String type) {
+        return Jwts.builder()
+                .subject("jane@example.com")
+                .claim("userId", 42L)
+                .claim("type", type)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,72 @@
+package com.pm.expenseservice.service;
+
+import com.pm.expenseservice.config.DashboardProperties;
+import com.pm.expenseservice.util.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardQueryExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void runsInlineOnceAllPermitsAreTaken() throws Exception {
+        DashboardQueryExecutor queries = parallelExecutor(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> slow = queries.submit(() -> {
+            await(release);
+            return Thread.currentThread().getName();
+        });
+        CompletableFuture<String> inline = queries.submit(() -> Thread.currentThread().getName());
+
+        assertThat(inline.get(1, TimeUnit.SECONDS)).isEqualTo(Thread.currentThread().getName());
+        release.countDown();
+        assertThat(slow.get(1, TimeUnit.SECONDS)).startsWith("Expense-Dashboard-");
+        assertThat(registry.get("expense.dashboard.fanout").tag("mode", "inline").counter().count()).isEqualTo(1);
+        assertThat(registry.get("expense.dashboard.fanout").tag("mode", "parallel").counter().count()).isEqualTo(1);
+    }
+
+    private DashboardQueryExecutor parallelExecutor(int permits) {
+        executor.setCorePoolSize(permits);
+        executor.setMaxPoolSize(permits);
+        executor.setThreadNamePrefix("Expense-Dashboard-");
+        executor.initialize();
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        DashboardProperties properties = new DashboardProperties();
+        properties.setEnabled(true);
+        properties.setMaxConcurrentQueries(permits);
+        return new DashboardQueryExecutor(executor, transactionManager,
+                new MetricsRecorder(registry), properties, 20);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
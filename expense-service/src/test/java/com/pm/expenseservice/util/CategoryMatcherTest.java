@@ -0,0 +1,54 @@
+package com.pm.expenseservice.util;
+
+import com.pm.expenseservice.enums.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryMatcherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CategoryMatcher matcher = new CategoryMatcher(new MetricsRecorder(registry));
+
+    @Test
+    void recordsMatchedAndFallbackOutcomesPerType() {
+        assertThat(matcher.matchCategory("Monthly rent payment", TransactionType.EXPENSE)).isEqualTo("Housing");
+        assertThat(matcher.matchCategory("Monthly salary", TransactionType.INCOME)).isEqualTo("Salary");
+        assertThat(matcher.matchCategory("???", TransactionType.EXPENSE)).isEqualTo("Other Expenses");
+        assertThat(matcher.matchCategory(null, TransactionType.INCOME)).isEqualTo("Other Income");
+
+        assertThat(count("matched", "expense")).isEqualTo(1);
+        assertThat(count("matched", "income")).isEqualTo(1);
+        assertThat(count("fallback", "expense")).isEqualTo(1);
+        assertThat(count("fallback", "income")).isEqualTo(1);
+    }
+
+    @Test
+    void timeTagsFailuresWithErrorOutcome() {
+        MetricsRecorder metrics = new MetricsRecorder(registry);
+
+        Supplier<String> failing = () -> {
+            throw new IllegalStateException("boom");
+        };
+        try {
+            metrics.time("test.op", failing);
+        } catch (IllegalStateException ignored) {
+            // expected
+        }
+        metrics.time("test.op", () -> "ok");
+
+        assertThat(registry.get("test.op").tag("outcome", MetricsRecorder.ERROR).timer().count()).isEqualTo(1);
+        assertThat(registry.get("test.op").tag("outcome", MetricsRecorder.SUCCESS).timer().count()).isEqualTo(1);
+    }
+
+    private long count(String outcome, String type) {
+        return registry.get("expense.category.match")
+                .tag("outcome", outcome)
+                .tag("type", type)
+                .timer()
+                .count();
+    }
+}
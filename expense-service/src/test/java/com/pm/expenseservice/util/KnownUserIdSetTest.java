@@ -0,0 +1,43 @@
+package com.pm.expenseservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KnownUserIdSetTest {
+
+    @Test
+    void tracksIdsAcrossChunkBoundaries() {
+        KnownUserIdSet set = new KnownUserIdSet();
+
+        set.add(1L);
+        set.add(4095L);
+        set.add(4096L);
+        set.add(10_000_000L);
+
+        assertThat(set.contains(1L)).isTrue();
+        assertThat(set.contains(4095L)).isTrue();
+        assertThat(set.contains(4096L)).isTrue();
+        assertThat(set.contains(10_000_000L)).isTrue();
+        assertThat(set.contains(0L)).isFalse();
+        assertThat(set.contains(2L)).isFalse();
+        assertThat(set.contains(4097L)).isFalse();
+    }
+
+    @Test
+    void concurrentAddsToSameWordAreNotLost() throws InterruptedException {
+        KnownUserIdSet set = new KnownUserIdSet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        IntStream.range(0, 64).forEach(id -> executor.submit(() -> set.add(id)));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(IntStream.range(0, 64).allMatch(set::contains)).isTrue();
+    }
+}
@@ -0,0 +1,63 @@
+package com.pm.expenseservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void convertsToAndFromBigDecimal() {
+        assertThat(Money.of(new BigDecimal("123.45")).cents()).isEqualTo(12_345);
+        assertThat(Money.of(new BigDecimal("10")).cents()).isEqualTo(1_000);
+        assertThat(Money.of(new BigDecimal("0.005")).cents()).isEqualTo(1);
+        assertThat(Money.of(null)).isEqualTo(Money.ZERO);
+        assertThat(Money.ofCents(-250).toBigDecimal()).isEqualByComparingTo("-2.50");
+        assertThat(Money.ofCents(12_345).toDouble()).isEqualTo(123.45);
+    }
+
+    @Test
+    void percentageMatchesBigDecimalRounding() {
+        SplittableRandom random = new SplittableRandom(47);
+        for (int i = 0; i < 100_000; i++) {
+            long part = random.nextLong(-5_000_000, 5_000_000);
+            long total = random.nextLong(1, 5_000_000);
+            BigDecimal expected = BigDecimal.valueOf(part, 2)
+                    .divide(BigDecimal.valueOf(total, 2), 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100));
+
+            BigDecimal actual = Money.percentageOf(Money.ofCents(part), Money.ofCents(total));
+
+            assertThat(actual).as("%d / %d", part, total).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void percentageOfNonPositiveTotalIsZero() {
+        assertThat(Money.percentageOf(Money.ofCents(100), Money.ZERO)).isEqualTo(BigDecimal.ZERO);
+        assertThat(Money.percentageValueOf(Money.ofCents(100), Money.ofCents(-100))).isZero();
+    }
+
+    @Test
+    void ratioFallsBackWhenProductOverflows() {
+        Money part = Money.ofCents(Long.MAX_VALUE / 3);
+        Money total = Money.ofCents(Long.MAX_VALUE / 2);
+
+        assertThat(Money.ratioOf(part, total)).isEqualTo(6_667);
+        assertThat(Money.ratioOf(Money.ZERO.minus(part), total)).isEqualTo(-6_667);
+    }
+
+    @Test
+    void overflowingArithmeticThrows() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> max.plus(Money.ofCents(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofCents(Long.MIN_VALUE).minus(Money.ofCents(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,77 @@
+package com.pm.expenseservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+    @Test
+    void monthlyClampsToShortMonthsAndHonoursLastDay() {
+        assertThat(occurrences("FREQ=MONTHLY", LocalDate.of(2024, 1, 31), 4)).containsExactly(
+                LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30));
+        assertThat(occurrences("RRULE:FREQ=MONTHLY;BYMONTHDAY=-1;INTERVAL=2", LocalDate.of(2024, 1, 15), 3)).containsExactly(
+                LocalDate.of(2024, 1, 31), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 5, 31));
+        // BYMONTHDAY before the start date's day starts the following month
+        assertThat(occurrences("FREQ=MONTHLY;BYMONTHDAY=1", LocalDate.of(2024, 1, 15), 2)).containsExactly(
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1));
+    }
+
+    @Test
+    void weeklyAndDailyFollowIntervalFromStart() {
+        // 2024-01-03 is a Wednesday
+        assertThat(occurrences("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,FR", LocalDate.of(2024, 1, 3), 4)).containsExactly(
+                LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 19), LocalDate.of(2024, 1, 29));
+        assertThat(occurrences("FREQ=WEEKLY", LocalDate.of(2024, 1, 3), 2)).containsExactly(
+                LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 10));
+        assertThat(occurrences("FREQ=DAILY;INTERVAL=10", LocalDate.of(2024, 2, 25), 2)).containsExactly(
+                LocalDate.of(2024, 2, 25), LocalDate.of(2024, 3, 6));
+        assertThat(occurrences("FREQ=YEARLY", LocalDate.of(2024, 2, 29), 2)).containsExactly(
+                LocalDate.of(2024, 2, 29), LocalDate.of(2025, 2, 28));
+    }
+
+    @Test
+    void nextFromArbitraryDateLandsOnSchedule() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=3;BYMONTHDAY=10");
+        LocalDate start = LocalDate.of(2023, 1, 10);
+        // Resuming after a pause: the next occurrence on or after a given day, still on the quarterly grid
+        assertThat(rule.next(start, LocalDate.of(2024, 5, 1).minusDays(1))).isEqualTo(LocalDate.of(2024, 7, 10));
+        assertThat(rule.next(start, LocalDate.of(2024, 4, 9))).isEqualTo(LocalDate.of(2024, 4, 10));
+    }
+
+    @Test
+    void countAndUntilEndTheSchedule() {
+        RecurrenceRule count = RecurrenceRule.parse("FREQ=DAILY;COUNT=3");
+        assertThat(count.exhausted(2)).isFalse();
+        assertThat(count.exhausted(3)).isTrue();
+
+        assertThat(occurrences("FREQ=WEEKLY;UNTIL=20240117T000000Z", LocalDate.of(2024, 1, 3), 5)).containsExactly(
+                LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 17));
+    }
+
+    @Test
+    void rejectsRulesOutsideTheSubset() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("INTERVAL=2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=HOURLY")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=MO")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=MONTHLY;BYSETPOS=-1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20240101")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<LocalDate> occurrences(String rule, LocalDate start, int limit) {
+        RecurrenceRule parsed = RecurrenceRule.parse(rule);
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate date = parsed.next(start, null);
+        while (date != null && dates.size() < limit) {
+            dates.add(date);
+            date = parsed.next(start, date);
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,94 @@
+package com.pm.expenseservice.util;
+
+import com.pm.expenseservice.enums.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionArchiveFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsRowsInIdOrder() throws IOException {
+        LocalDateTime created = LocalDateTime.of(2022, 3, 4, 10, 15, 30, 123_456_000);
+        List<TransactionArchiveFile.Row> rows = List.of(
+                new TransactionArchiveFile.Row(42, 3, 12_50, TransactionType.EXPENSE, LocalDate.of(2022, 3, 4),
+                        created, created.plusDays(1), "Groceries – café"),
+                new TransactionArchiveFile.Row(7, 1, 3_000_00, TransactionType.INCOME, LocalDate.of(2022, 3, 1),
+                        created, created, null));
+        Path file = directory.resolve("2022-03.v1.txa");
+
+        TransactionArchiveFile.write(file, rows);
+        TransactionArchiveFile.Reader reader = TransactionArchiveFile.open(file);
+
+        assertThat(reader.rowCount()).isEqualTo(2);
+        assertThat(reader.rows()).containsExactly(rows.get(1), rows.get(0));
+        assertThat(reader.ids()).containsExactly(7, 42);
+        assertThat(reader.longs(TransactionArchiveFile.Column.AMOUNT_CENTS)).containsExactly(3_000_00, 12_50);
+    }
+
+    @Test
+    void compressesRepetitiveColumns() throws IOException {
+        List<TransactionArchiveFile.Row> rows = new ArrayList<>();
+        LocalDateTime created = LocalDateTime.of(2022, 1, 1, 0, 0);
+        for (int i = 0; i < 1_000; i++) {
+            rows.add(new TransactionArchiveFile.Row(1_000 + i, i % 5, 1_000 + i % 7, TransactionType.EXPENSE,
+                    LocalDate.of(2022, 1, 1 + i % 28), created.plusMinutes(i), created.plusMinutes(i), "Coffee"));
+        }
+        Path file = directory.resolve("2022-01.v1.txa");
+
+        TransactionArchiveFile.write(file, rows);
+
+        // 8 columns of at least 45 raw bytes per row before compression
+        assertThat(Files.size(file)).isLessThan(rows.size() * 45L / 4);
+        assertThat(TransactionArchiveFile.open(file).rows()).isEqualTo(rows);
+    }
+
+    @Test
+    @Timeout(10)
+    void rejectsTruncatedColumn() throws IOException {
+        LocalDateTime created = LocalDateTime.of(2022, 5, 1, 0, 0);
+        List<TransactionArchiveFile.Row> rows = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rows.add(new TransactionArchiveFile.Row(i + 1, 1, 100 + i, TransactionType.EXPENSE,
+                    LocalDate.of(2022, 5, 1), created, created, "Description " + i));
+        }
+        Path file = directory.resolve("2022-05.v1.txa");
+        TransactionArchiveFile.write(file, rows);
+
+        // Halve the compressed length recorded for the last column, as a torn copy would leave it
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = 16 + TransactionArchiveFile.Column.DESCRIPTION.ordinal() * 8L;
+            ByteBuffer length = ByteBuffer.allocate(4);
+            channel.read(length, position);
+            channel.write(ByteBuffer.allocate(4).putInt(0, length.getInt(0) / 2), position);
+        }
+        TransactionArchiveFile.Reader reader = TransactionArchiveFile.open(file);
+
+        assertThat(reader.longs(TransactionArchiveFile.Column.AMOUNT_CENTS)).hasSize(200);
+        assertThatThrownBy(reader::rows).isInstanceOf(IOException.class).hasMessageContaining("DESCRIPTION");
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = Files.writeString(directory.resolve("bogus.txa"), "not an archive at all");
+
+        assertThatThrownBy(() -> TransactionArchiveFile.open(file)).isInstanceOf(IOException.class);
+    }
+}